@@ -0,0 +1,58 @@
+package dragonrockets.benchmarks;
+
+import dragonrockets.DragonRocketsApp;
+import dragonrockets.rocket.AllocationPolicy;
+import dragonrockets.rocket.RocketStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Time of staffing a mission with all of its rockets in one allocateRockets() call. Every invocation gets a fresh
+// fleet of free rockets, a third of them already flown and a sixth of them IN_REPAIR, so each policy has
+// rockets of every kind to pick from
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+@State(Scope.Thread)
+public class AllocationBenchmark {
+    @Param({"10000"})
+    public int allocatedRockets;
+
+    @Param({"FIFO", "LEAST_RECENTLY_FLOWN", "PREFER_IN_REPAIR"})
+    public AllocationPolicy policy;
+
+    private DragonRocketsApp app;
+
+    @Setup(Level.Invocation)
+    public void buildFreePool() {
+        app = new DragonRocketsApp();
+        app.addNewMission("Flown-Mission");
+        app.addNewMission("Staffed-Mission");
+        List<String> rocketNames = new ArrayList<>(allocatedRockets * 2);
+        for (int rocket = 0; rocket < allocatedRockets * 2; rocket++) {
+            rocketNames.add("Dragon-" + rocket);
+        }
+        app.addNewRockets(rocketNames);
+        List<String> flownRocketNames = new ArrayList<>();
+        for (int rocket = 0; rocket < rocketNames.size(); rocket += 3) {
+            flownRocketNames.add(rocketNames.get(rocket));
+        }
+        app.assignRocketsToMission(flownRocketNames, "Flown-Mission");
+        for (int i = 0; i < flownRocketNames.size(); i++) {
+            // Rockets grounded while in repair stay IN_REPAIR with no mission, the other ones land
+            if (i % 2 == 0) {
+                app.setRocketStatus(flownRocketNames.get(i), "Flown-Mission", RocketStatus.IN_REPAIR);
+            }
+            app.setRocketStatus(flownRocketNames.get(i), "Flown-Mission", RocketStatus.ON_GROUND);
+        }
+    }
+
+    @Benchmark
+    public List<String> allocateRockets() {
+        return app.allocateRockets("Staffed-Mission", allocatedRockets, policy);
+    }
+}
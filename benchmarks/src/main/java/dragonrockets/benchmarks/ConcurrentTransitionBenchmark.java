@@ -0,0 +1,65 @@
+package dragonrockets.benchmarks;
+
+import dragonrockets.DragonRocketsApp;
+import dragonrockets.rocket.RocketStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Throughput of transitions run by several threads at once on missions of their own. Each thread sends a rocket of
+// its mission to repair and back, which re-ranks the mission in the summary and moves the rocket in the status
+// index. Threads share no mission, so throughput not growing with the number of threads ("-t 1" against "-t 4"
+// on a machine with at least 4 cores) is contention on structures shared by all lock stripes
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ConcurrentTransitionBenchmark {
+    private static final int MISSIONS = 64;
+
+    @Param({"false", "true"})
+    public boolean snapshotReads;
+
+    private DragonRocketsApp app;
+    private final AtomicInteger threads = new AtomicInteger();
+
+    // Every mission gets a rocket staying IN_SPACE, so the mission keeps IN_PROGRESS whenever the other one is back
+    @Setup(Level.Trial)
+    public void buildMissions() {
+        app = snapshotReads
+                ? DragonRocketsApp.builder().snapshotReads().build()
+                : DragonRocketsApp.builder().concurrent().build();
+        for (int mission = 0; mission < MISSIONS; mission++) {
+            String missionName = "Mission-" + mission;
+            app.addNewMission(missionName);
+            app.addNewRocketToRepository("Anchored-" + mission);
+            app.addNewRocketToRepository("Repaired-" + mission);
+            app.assignRocketToMission("Anchored-" + mission, missionName);
+            app.assignRocketToMission("Repaired-" + mission, missionName);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadMission {
+        String missionName;
+        String rocketName;
+
+        // Missions are spread over the lock stripes by their names, a few threads may still share one
+        @Setup(Level.Trial)
+        public void pickMission(ConcurrentTransitionBenchmark benchmark) {
+            int mission = benchmark.threads.getAndIncrement() % MISSIONS;
+            missionName = "Mission-" + mission;
+            rocketName = "Repaired-" + mission;
+        }
+    }
+
+    @Benchmark
+    public void sendRocketToRepairAndBack(ThreadMission thread) {
+        app.setRocketStatus(thread.rocketName, thread.missionName, RocketStatus.IN_REPAIR);
+        app.setRocketStatus(thread.rocketName, thread.missionName, RocketStatus.IN_SPACE);
+    }
+}
@@ -0,0 +1,174 @@
+package dragonrockets.benchmarks;
+
+import dragonrockets.DragonRocketsApp;
+import dragonrockets.mission.MissionId;
+import dragonrockets.mission.MissionStatus;
+import dragonrockets.mission.MissionSummary;
+import dragonrockets.rocket.RocketId;
+import dragonrockets.rocket.RocketStatus;
+import dragonrockets.rocket.StatusChangeResult;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Throughput of every public DragonRocketsApp operation. Mutating benchmarks perform a transition and the opposite
+// one, so the fleet stays in the same shape however many invocations are run. Run with "-prof gc" to get
+// allocation rates
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class DragonRocketsAppBenchmark {
+    private int sequence;
+    private String namePrefix;
+    private PrintStream originalOut;
+    private final WritableByteChannel discardingChannel = Channels.newChannel(OutputStream.nullOutputStream());
+
+    // Mission and IN_REPAIR rocket with no mission, used to cycle the mission status
+    private String cycledMissionName;
+    private String cycledRocketName;
+    // Mission with two IN_SPACE rockets, one of them toggled between IN_SPACE and ON_GROUND. The mission stays
+    // IN_PROGRESS and keeps its place in the summary, so the steady-state transition path is measured alone
+    private String steadyMissionName;
+    private String toggledRocketName;
+    private RocketId toggledRocketId;
+    private MissionId steadyMissionId;
+    // Second mission like the steady one and a grounded rocket moved between the two
+    private String otherSteadyMissionName;
+    private String movedRocketName;
+
+    @Setup(Level.Trial)
+    public void setUp(FleetState fleet) {
+        cycledMissionName = "Cycled-Mission";
+        cycledRocketName = fleet.spareRocketNames[FleetState.SPARE_ROCKETS - 1];
+        fleet.app.addNewMission(cycledMissionName);
+        fleet.app.assignRocketToMission(cycledRocketName, cycledMissionName);
+        fleet.app.setRocketStatus(cycledRocketName, cycledMissionName, RocketStatus.IN_REPAIR);
+        // Grounding IN_REPAIR rocket unassigns it but keeps it IN_REPAIR
+        fleet.app.setRocketStatus(cycledRocketName, cycledMissionName, RocketStatus.ON_GROUND);
+
+        steadyMissionName = "Steady-Mission";
+        toggledRocketName = fleet.spareRocketNames[FleetState.SPARE_ROCKETS - 2];
+        fleet.app.addNewMission(steadyMissionName);
+        fleet.app.assignRocketToMission(toggledRocketName, steadyMissionName);
+        fleet.app.assignRocketToMission(fleet.spareRocketNames[FleetState.SPARE_ROCKETS - 3], steadyMissionName);
+        toggledRocketId = fleet.app.getRocketId(toggledRocketName);
+        steadyMissionId = fleet.app.getMissionId(steadyMissionName);
+
+        otherSteadyMissionName = "Other-Steady-Mission";
+        movedRocketName = fleet.spareRocketNames[FleetState.SPARE_ROCKETS - 6];
+        fleet.app.addNewMission(otherSteadyMissionName);
+        fleet.app.assignRocketToMission(fleet.spareRocketNames[FleetState.SPARE_ROCKETS - 4], otherSteadyMissionName);
+        fleet.app.assignRocketToMission(fleet.spareRocketNames[FleetState.SPARE_ROCKETS - 5], otherSteadyMissionName);
+
+        namePrefix = "New-" + System.identityHashCode(this) + "-";
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public List<MissionSummary> getSummary(FleetState fleet) {
+        return fleet.app.getSummary();
+    }
+
+    @Benchmark
+    public List<MissionSummary> getFirst50MissionsOfSummary(FleetState fleet) {
+        return fleet.app.getSummary(50);
+    }
+
+    @Benchmark
+    public void printMissionSummary(FleetState fleet) {
+        fleet.app.printMissionSummary();
+    }
+
+    @Benchmark
+    public void writeSummary(FleetState fleet) throws IOException {
+        fleet.app.writeSummary(discardingChannel);
+    }
+
+    @Benchmark
+    public boolean addNewRocketToRepository(FleetState fleet) {
+        return fleet.app.addNewRocketToRepository(namePrefix + "Dragon-" + sequence++);
+    }
+
+    @Benchmark
+    public boolean addNewMission(FleetState fleet) {
+        return fleet.app.addNewMission(namePrefix + "Mission-" + sequence++);
+    }
+
+    // Assigns spare rocket to a mission and grounds it again, which makes it assignable for the next round
+    @Benchmark
+    public void assignRocketToMission(FleetState fleet, Blackhole blackhole) {
+        int next = sequence++;
+        String rocketName = fleet.spareRocketNames[next % (FleetState.SPARE_ROCKETS - 6)];
+        String missionName = fleet.missionNames[next % fleet.missions];
+        blackhole.consume(fleet.app.assignRocketToMission(rocketName, missionName));
+        fleet.app.setRocketStatus(rocketName, missionName, RocketStatus.ON_GROUND);
+    }
+
+    // Moves the grounded rocket between two IN_PROGRESS missions. Run with "-prof gc": it allocates only entries
+    // of the structures the rocket moves between, i.e. both missions' summary index keys and entries (64 bytes per
+    // mission), the rocket's entry among its new mission's rockets and its entry in the repository's mission index,
+    // 200 bytes in total
+    @Benchmark
+    public void assignRocketBetweenMissions(FleetState fleet, Blackhole blackhole) {
+        String missionName = (sequence++ & 1) == 0 ? otherSteadyMissionName : steadyMissionName;
+        blackhole.consume(fleet.app.tryAssignRocketToMission(movedRocketName, missionName));
+        blackhole.consume(fleet.app.trySetRocketStatus(movedRocketName, missionName, RocketStatus.ON_GROUND));
+    }
+
+    // Sends IN_SPACE rocket to repair and back, switching its mission to PENDING and back to IN_PROGRESS. Each
+    // change of the mission's number of summary rockets re-keys it in the summary index, 64 bytes apiece, unless
+    // the mission has no summary rockets left and drops out of the summary
+    @Benchmark
+    public void setRocketStatus(FleetState fleet) {
+        int next = sequence++ % fleet.inSpaceRocketNames.length;
+        String rocketName = fleet.inSpaceRocketNames[next];
+        String missionName = fleet.inSpaceRocketMissionNames[next];
+        fleet.app.setRocketStatus(rocketName, missionName, RocketStatus.IN_REPAIR);
+        fleet.app.setRocketStatus(rocketName, missionName, RocketStatus.IN_SPACE);
+    }
+
+    // Allocates nothing: the rocket only moves between status counts of its mission, and ON_GROUND and IN_SPACE
+    // both count as summary rockets, so the mission keeps its key in the summary index
+    @Benchmark
+    public void trySetRocketStatus(FleetState fleet, Blackhole blackhole) {
+        blackhole.consume(fleet.app.trySetRocketStatus(toggledRocketName, steadyMissionName, RocketStatus.ON_GROUND));
+        blackhole.consume(fleet.app.trySetRocketStatus(toggledRocketName, steadyMissionName, RocketStatus.IN_SPACE));
+    }
+
+    // Same transitions with neither name hashed nor compared
+    @Benchmark
+    public void trySetRocketStatusByHandles(FleetState fleet, Blackhole blackhole) {
+        blackhole.consume(fleet.app.trySetRocketStatus(toggledRocketId, steadyMissionId, RocketStatus.ON_GROUND));
+        blackhole.consume(fleet.app.trySetRocketStatus(toggledRocketId, steadyMissionId, RocketStatus.IN_SPACE));
+    }
+
+    // Rejected change is reported without an exception, so it allocates nothing either
+    @Benchmark
+    public StatusChangeResult trySetRocketStatusOfUnknownRocket(FleetState fleet) {
+        return fleet.app.trySetRocketStatus("Unknown", steadyMissionName, RocketStatus.ON_GROUND);
+    }
+
+    // Assigning the IN_REPAIR rocket makes the mission PENDING, rescheduling the mission unassigns the rocket again
+    @Benchmark
+    public boolean setMissionStatus(FleetState fleet) {
+        DragonRocketsApp app = fleet.app;
+        app.assignRocketToMission(cycledRocketName, cycledMissionName);
+        return app.setMissionStatus(cycledMissionName, MissionStatus.SCHEDULED);
+    }
+}
@@ -0,0 +1,69 @@
+package dragonrockets.benchmarks;
+
+import dragonrockets.DragonRocketsApp;
+import dragonrockets.rocket.RocketStatus;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Fleet of rockets assigned round robin, rocket i to mission i % missions. Every 20th rocket (i % 20 == 1) is then
+// set IN_REPAIR and every 10th one (i % 10 == 2) lands. Both numbers of missions are multiples of 10, so a landing
+// rocket is the only one flying for its mission, which becomes SCHEDULED again and unassigns it. That leaves 85%
+// of rockets IN_SPACE and 5% IN_REPAIR, and summaries list IN_PROGRESS and SCHEDULED missions with IN_SPACE rockets.
+// Only with 10 missions is a PENDING mission listed, as Mission-1 also has IN_SPACE rockets besides IN_REPAIR ones.
+// Spare rockets stay ON_GROUND without a mission.
+// Names used by the benchmarks are prepared up front, so string concatenation is not measured
+@State(Scope.Benchmark)
+public class FleetState {
+    static final int SPARE_ROCKETS = 1024;
+
+    @Param({"1000", "100000", "1000000"})
+    public int rockets;
+
+    @Param({"10", "10000"})
+    public int missions;
+
+    public DragonRocketsApp app;
+
+    // Rockets with index divisible by 10 stay IN_SPACE, together with names of their missions
+    String[] inSpaceRocketNames;
+    String[] inSpaceRocketMissionNames;
+    String[] missionNames;
+    String[] spareRocketNames;
+
+    @Setup(Level.Trial)
+    public void buildFleet() {
+        app = new DragonRocketsApp();
+        missionNames = new String[missions];
+        for (int mission = 0; mission < missions; mission++) {
+            missionNames[mission] = "Mission-" + mission;
+            app.addNewMission(missionNames[mission]);
+        }
+
+        inSpaceRocketNames = new String[(rockets + 9) / 10];
+        inSpaceRocketMissionNames = new String[inSpaceRocketNames.length];
+        for (int rocket = 0; rocket < rockets; rocket++) {
+            String rocketName = "Dragon-" + rocket;
+            String missionName = missionNames[rocket % missions];
+            app.addNewRocketToRepository(rocketName);
+            app.assignRocketToMission(rocketName, missionName);
+            if (rocket % 10 == 0) {
+                inSpaceRocketNames[rocket / 10] = rocketName;
+                inSpaceRocketMissionNames[rocket / 10] = missionName;
+            } else if (rocket % 20 == 1) {
+                app.setRocketStatus(rocketName, missionName, RocketStatus.IN_REPAIR);
+            } else if (rocket % 10 == 2) {
+                app.setRocketStatus(rocketName, missionName, RocketStatus.ON_GROUND);
+            }
+        }
+
+        // Spare rockets are left unassigned, ready to be assigned by the benchmarks
+        spareRocketNames = new String[SPARE_ROCKETS];
+        for (int spare = 0; spare < SPARE_ROCKETS; spare++) {
+            spareRocketNames[spare] = "Spare-" + spare;
+            app.addNewRocketToRepository(spareRocketNames[spare]);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package dragonrockets.benchmarks;
+
+import dragonrockets.DragonRocketsApp;
+import dragonrockets.metrics.DragonRocketsMetrics;
+import dragonrockets.mission.MissionSummary;
+import dragonrockets.rocket.RocketStatus;
+import dragonrockets.rocket.StatusChangeResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Cost of measuring the hot paths: the same transitions and summary reads with and without metrics.
+// Run with "-jvmArgsAppend -Ddragonrockets.metrics.disabled=true" to check that metered=true then costs nothing
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MetricsOverheadBenchmark {
+    private static final int ROCKETS = 10_000;
+    private static final int MISSIONS = 100;
+
+    @Param({"false", "true"})
+    public boolean metered;
+
+    private DragonRocketsApp app;
+    private final String steadyMissionName = "Steady-Mission";
+    private final String toggledRocketName = "Toggled";
+    private boolean toggled;
+
+    @Setup(Level.Trial)
+    public void buildFleet() {
+        DragonRocketsApp.Builder builder = DragonRocketsApp.builder();
+        if (metered) {
+            builder.metrics(new DragonRocketsMetrics());
+        }
+        app = builder.build();
+        for (int mission = 0; mission < MISSIONS; mission++) {
+            app.addNewMission("Mission-" + mission);
+        }
+        for (int rocket = 0; rocket < ROCKETS; rocket++) {
+            String rocketName = "Dragon-" + rocket;
+            app.addNewRocketToRepository(rocketName);
+            app.assignRocketToMission(rocketName, "Mission-" + rocket % MISSIONS);
+        }
+
+        // Mission with two IN_SPACE rockets, one of them toggled, so the mission keeps its place in the summary
+        app.addNewMission(steadyMissionName);
+        app.addNewRocketToRepository(toggledRocketName);
+        app.addNewRocketToRepository("Companion");
+        app.assignRocketToMission(toggledRocketName, steadyMissionName);
+        app.assignRocketToMission("Companion", steadyMissionName);
+    }
+
+    @Benchmark
+    public StatusChangeResult toggleRocketStatus() {
+        toggled = !toggled;
+        return app.trySetRocketStatus(toggledRocketName, steadyMissionName,
+                toggled ? RocketStatus.ON_GROUND : RocketStatus.IN_SPACE);
+    }
+
+    @Benchmark
+    public List<MissionSummary> getFirst10MissionsOfSummary() {
+        return app.getSummary(10);
+    }
+}
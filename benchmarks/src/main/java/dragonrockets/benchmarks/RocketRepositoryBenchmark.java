@@ -0,0 +1,46 @@
+package dragonrockets.benchmarks;
+
+import dragonrockets.mission.Mission;
+import dragonrockets.rocket.Rocket;
+import dragonrockets.rocket.RocketRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RocketRepositoryBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int rockets;
+
+    @Param({"10", "10000"})
+    public int missions;
+
+    private RocketRepository repository;
+    private Mission[] missionsByIndex;
+    private int sequence;
+
+    @Setup(Level.Trial)
+    public void buildRepository() {
+        repository = new RocketRepository();
+        missionsByIndex = new Mission[missions];
+        for (int mission = 0; mission < missions; mission++) {
+            missionsByIndex[mission] = new Mission("Mission-" + mission);
+        }
+        for (int rocket = 0; rocket < rockets; rocket++) {
+            Rocket newRocket = new Rocket("Dragon-" + rocket);
+            repository.addRocket(newRocket);
+            newRocket.setLastMission(missionsByIndex[rocket % missions]);
+        }
+    }
+
+    @Benchmark
+    public List<Rocket> findRocketsByMission() {
+        return repository.findRocketsByMission(missionsByIndex[sequence++ % missions]);
+    }
+}
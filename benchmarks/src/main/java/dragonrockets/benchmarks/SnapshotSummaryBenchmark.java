@@ -0,0 +1,48 @@
+package dragonrockets.benchmarks;
+
+import dragonrockets.mission.MissionSummary;
+import dragonrockets.persistence.MappedSnapshot;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// Decoding the whole summary from a mapped snapshot, as done by an application warming up from it, with
+// the given parallelism. Parallelism 1 is the sequential baseline the speedup is measured against
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SnapshotSummaryBenchmark {
+    @Param({"1", "8", "16", "32"})
+    public int parallelism;
+
+    private Path snapshotPath;
+    private MappedSnapshot snapshot;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void exportSnapshot(FleetState fleet) throws IOException {
+        snapshotPath = Files.createTempFile("dragon-rockets-benchmark", ".bin");
+        fleet.app.exportSnapshot(snapshotPath);
+        snapshot = MappedSnapshot.open(snapshotPath);
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteSnapshot() throws IOException {
+        pool.shutdown();
+        Files.deleteIfExists(snapshotPath);
+    }
+
+    @Benchmark
+    public List<MissionSummary> getSummary() {
+        return snapshot.getSummary(pool);
+    }
+}
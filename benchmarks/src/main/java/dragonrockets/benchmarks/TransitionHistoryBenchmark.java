@@ -0,0 +1,62 @@
+package dragonrockets.benchmarks;
+
+import dragonrockets.event.TransitionEvent;
+import dragonrockets.history.MissionStatusDuration;
+import dragonrockets.history.TransitionHistory;
+import dragonrockets.mission.MissionStatus;
+import dragonrockets.rocket.RocketStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Scans of a history of millions of transitions. Divide the number of transitions by the time of a query to get
+// the scan rate
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransitionHistoryBenchmark {
+    private static final int ROCKETS = 100_000;
+    private static final int MISSIONS = 10_000;
+    private static final int TRANSITIONS = 4_000_000;
+
+    private TransitionHistory history;
+
+    @Setup(Level.Trial)
+    public void recordHistory() {
+        history = new TransitionHistory();
+        for (int mission = 0; mission < MISSIONS; mission++) {
+            history.publish(new TransitionEvent.MissionCreated("Mission-" + mission));
+        }
+        for (int rocket = 0; rocket < ROCKETS; rocket++) {
+            history.publish(new TransitionEvent.RocketCreated("Dragon-" + rocket, RocketStatus.ON_GROUND));
+            history.publish(new TransitionEvent.RocketAssigned("Dragon-" + rocket, "Mission-" + rocket % MISSIONS));
+        }
+        for (int i = 0; i < TRANSITIONS; i++) {
+            boolean repaired = i / ROCKETS % 2 == 1;
+            history.publish(new TransitionEvent.RocketStatusChanged("Dragon-" + i % ROCKETS,
+                    repaired ? RocketStatus.IN_REPAIR : RocketStatus.IN_SPACE,
+                    repaired ? RocketStatus.IN_SPACE : RocketStatus.IN_REPAIR));
+            if (i % ROCKETS < MISSIONS) {
+                history.publish(new TransitionEvent.MissionStatusChanged("Mission-" + i % ROCKETS,
+                        repaired ? MissionStatus.PENDING : MissionStatus.IN_PROGRESS,
+                        repaired ? MissionStatus.IN_PROGRESS : MissionStatus.PENDING));
+            }
+        }
+    }
+
+    @Benchmark
+    public Duration rocketTimeInRepair() {
+        return history.getRocketTimeInStatus("Dragon-42", RocketStatus.IN_REPAIR, Instant.EPOCH, Instant.now());
+    }
+
+    @Benchmark
+    public List<MissionStatusDuration> longestPendingMissions() {
+        return history.getLongestMissionsInStatus(MissionStatus.PENDING, Instant.EPOCH, Instant.now(), 10);
+    }
+}
@@ -1,25 +1,49 @@
 package dragonrockets;
 
+import dragonrockets.event.TransitionEventPublisher;
 import dragonrockets.exception.MissionNotFoundException;
 import dragonrockets.exception.RocketNotFoundException;
+import dragonrockets.history.TransitionHistory;
+import dragonrockets.metrics.DragonRocketsMetrics;
+import dragonrockets.metrics.MeteredManager;
+import dragonrockets.metrics.MeteredRepository;
 import dragonrockets.mission.*;
+import dragonrockets.persistence.MappedSnapshot;
+import dragonrockets.persistence.PersistenceOptions;
+import dragonrockets.persistence.PersistentDragonRocketsApp;
+import dragonrockets.persistence.SnapshotDragonRocketsApp;
 import dragonrockets.rocket.*;
-import dragonrockets.utils.SummaryUtils;
+import dragonrockets.utils.SummaryWriter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.function.Supplier;
 
-public class DragonRocketsApp {
+public class DragonRocketsApp implements AutoCloseable {
 
     private final Manager missionManager;
     private final Producer rocketProducer;
     private final Repository mainRepository;
 
     public DragonRocketsApp() {
-        this.rocketProducer = new RocketProducer();
-        this.mainRepository = new RocketRepository();
-        this.missionManager = new MissionManager(mainRepository);
+        this(new RocketProducer(), new RocketRepository());
+    }
+
+    private DragonRocketsApp(Producer rocketProducer, Repository mainRepository) {
+        this(rocketProducer, mainRepository, new MissionManager(mainRepository));
+    }
+
+    public DragonRocketsApp(Producer rocketProducer, Repository mainRepository, Manager missionManager) {
+        this.rocketProducer = rocketProducer;
+        this.mainRepository = mainRepository;
+        this.missionManager = missionManager;
+    }
+
+    public static Builder builder() {
+        return new Builder();
     }
 
     public boolean addNewRocketToRepository(String rocketName) {
@@ -31,63 +55,336 @@ public class DragonRocketsApp {
         return false;
     }
 
+    // Returns, for each name in iteration order, whether the rocket has been added
+    public boolean[] addNewRockets(Collection<String> rocketNames) {
+        boolean[] added = new boolean[rocketNames.size()];
+        List<Rocket> newRockets = new ArrayList<>(rocketNames.size());
+        int i = 0;
+        for (String rocketName : rocketNames) {
+            Optional<Rocket> rocketOptional = rocketProducer.createNewRocket(rocketName);
+            if (rocketOptional.isPresent()) {
+                newRockets.add(rocketOptional.get());
+                added[i] = true;
+            }
+            i++;
+        }
+
+        mainRepository.ensureCapacity(mainRepository.getNumberOfRockets() + newRockets.size());
+        for (Rocket rocket : newRockets) {
+            mainRepository.addRocket(rocket);
+        }
+        return added;
+    }
+
     public boolean addNewMission(String missionName) {
         return missionManager.addMission(missionName);
     }
 
     public boolean assignRocketToMission(String rocketName, String missionName) {
-        Optional<Rocket> rocketOptional = mainRepository.findRocket(rocketName);
-        if (rocketOptional.isPresent()) {
-            Rocket rocket = rocketOptional.get();
-            // Only ON_GROUND and IN_REPAIR (having last mission wiped out) rockets can be assigned to mission
-            if (missionManager.containsMission(missionName) &&
-                    (rocket.getStatus() == RocketStatus.ON_GROUND ||
-                            (rocket.getStatus() == RocketStatus.IN_REPAIR && rocket.getLastMission().isEmpty()))) {
-                missionManager.assignRocketToMission(rocket, missionName);
-                return true;
+        AssignmentResult result = tryAssignRocketToMission(rocketName, missionName);
+        if (result == AssignmentResult.ROCKET_NOT_FOUND) {
+            throw new RocketNotFoundException("Rocket " + rocketName + " does not exist");
+        }
+        if (result == AssignmentResult.MISSION_NOT_FOUND) {
+            throw new MissionNotFoundException("Mission " + missionName + " does not exist");
+        }
+        return result == AssignmentResult.ASSIGNED;
+    }
+
+    // Reports a missing rocket or mission by the result instead of throwing, so that neither allocates
+    public AssignmentResult tryAssignRocketToMission(String rocketName, String missionName) {
+        Rocket rocket = mainRepository.getRocket(rocketName);
+        if (rocket == null) {
+            return AssignmentResult.ROCKET_NOT_FOUND;
+        }
+        return missionManager.tryAssignRocketToMission(rocket, missionName);
+    }
+
+    // Handles are looked up once by name, operations taking them neither hash nor compare names.
+    // Null when there is no such rocket or mission, passing null handles to the operations reports it as not found
+    public RocketId getRocketId(String rocketName) {
+        return mainRepository.getRocketId(rocketName);
+    }
+
+    public MissionId getMissionId(String missionName) {
+        return missionManager.getMissionId(missionName);
+    }
+
+    public AssignmentResult tryAssignRocketToMission(RocketId rocketId, MissionId missionId) {
+        Rocket rocket = rocketId == null ? null : mainRepository.getRocket(rocketId);
+        if (rocket == null) {
+            return AssignmentResult.ROCKET_NOT_FOUND;
+        }
+        return missionManager.tryAssignRocketToMission(rocket, missionId);
+    }
+
+    // Returns the result for each rocket name in iteration order, the mission is verified once for all of them
+    public AssignmentResult[] assignRocketsToMission(Collection<String> rocketNames, String missionName) {
+        if (!missionManager.containsMission(missionName)) {
+            throw new MissionNotFoundException("Mission " + missionName + " does not exist");
+        }
+        List<Rocket> rockets = new ArrayList<>(rocketNames.size());
+        for (String rocketName : rocketNames) {
+            rockets.add(mainRepository.getRocket(rocketName));
+        }
+        return missionManager.assignRocketsToMission(rockets, missionName);
+    }
+
+    public List<String> allocateRockets(String missionName, int count) {
+        return allocateRockets(missionName, count, AllocationPolicy.FIFO);
+    }
+
+    // Assigns up to count available rockets, picked by the policy from the main repository's status index, to
+    // the mission in one batch. Returns names of the assigned rockets, fewer than count when not enough are available
+    public List<String> allocateRockets(String missionName, int count, AllocationPolicy policy) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Number of rockets must not be negative, got " + count);
+        }
+        if (!missionManager.containsMission(missionName)) {
+            throw new MissionNotFoundException("Mission " + missionName + " does not exist");
+        }
+        // Count may well be far above the number of rockets, e.g. Integer.MAX_VALUE asking for all available ones
+        List<String> allocatedRocketNames =
+                new ArrayList<>(Math.min(count, mainRepository.getNumberOfAvailableRockets()));
+        while (allocatedRocketNames.size() < count) {
+            List<Rocket> selectedRockets = mainRepository.selectAvailableRockets(count - allocatedRocketNames.size(), policy);
+            if (selectedRockets.isEmpty()) {
+                break;
+            }
+            List<String> rocketNames = new ArrayList<>(selectedRockets.size());
+            for (Rocket rocket : selectedRockets) {
+                rocketNames.add(rocket.getName());
             }
-            if (!missionManager.containsMission(missionName)) {
-                throw new MissionNotFoundException("Mission " + missionName + " does not exist");
+            AssignmentResult[] results = assignRocketsToMission(rocketNames, missionName);
+            int previouslyAllocated = allocatedRocketNames.size();
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] == AssignmentResult.ASSIGNED) {
+                    allocatedRocketNames.add(rocketNames.get(i));
+                }
             }
-            // IN_SPACE and IN_REPAIR (those still assigned to any mission) rockets cannot be re-assigned at this point
-            if (rocket.getStatus() == RocketStatus.IN_SPACE ||
-                    (rocket.getStatus() == RocketStatus.IN_REPAIR && rocket.getLastMission().isPresent())) {
-                return false;
+            // Rockets taken by concurrent assignments are replaced by the next available ones, as long as
+            // the selected rockets can be assigned at all
+            if (allocatedRocketNames.size() == previouslyAllocated) {
+                break;
             }
         }
-        throw new RocketNotFoundException("Rocket " + rocketName + " does not exist");
+        return allocatedRocketNames;
     }
 
     public void setRocketStatus(String rocketName, String missionName, RocketStatus newStatus) {
-        mainRepository.setRocketStatus(rocketName, missionName, newStatus, missionManager);
+        trySetRocketStatus(rocketName, missionName, newStatus)
+                .throwIfFailed(rocketName, missionName, mainRepository);
+    }
+
+    // Reports a rejected change by the result instead of throwing, so that neither allocates
+    public StatusChangeResult trySetRocketStatus(String rocketName, String missionName, RocketStatus newStatus) {
+        return mainRepository.trySetRocketStatus(rocketName, missionName, newStatus, missionManager);
+    }
+
+    public StatusChangeResult trySetRocketStatus(RocketId rocketId, MissionId missionId, RocketStatus newStatus) {
+        return mainRepository.trySetRocketStatus(rocketId, missionId, newStatus, missionManager);
     }
 
     public boolean setMissionStatus(String missionName, MissionStatus newStatus) {
         return missionManager.setMissionStatus(missionName, newStatus);
     }
 
+    public boolean setMissionStatus(MissionId missionId, MissionStatus newStatus) {
+        return missionManager.setMissionStatus(missionId, newStatus);
+    }
+
     public List<MissionSummary> getSummary() {
-        List<MissionSummary> inProgressAndPendingMissionSummaries = mainRepository.getRockets().stream()
-                .filter(rocket -> rocket.getStatus() != RocketStatus.IN_REPAIR)
-                .filter(rocket -> rocket.getLastMission().isPresent())
-                .collect(Collectors.groupingBy(rocket -> rocket.getLastMission().get().getName()))
-                .entrySet().stream()
-                .map(SummaryUtils::convertEntryToMissionSummary)
-                .toList();
-
-        List<MissionSummary> scheduledAndEndedMissionSummaries = missionManager.getMissions().stream()
-                .filter(mission -> mission.getStatus() == MissionStatus.SCHEDULED || mission.getStatus() == MissionStatus.ENDED)
-                .map(SummaryUtils::convertMissionToMissionSummary)
-                .toList();
-
-        return Stream.concat(inProgressAndPendingMissionSummaries.stream(), scheduledAndEndedMissionSummaries.stream())
-                .sorted(Comparator.comparing(MissionSummary::getRocketNumber).reversed()
-                        .thenComparing(Comparator.comparing(MissionSummary::name).reversed()))
-                .map(SummaryUtils::sortRockets)
-                .toList();
+        return missionManager.getSummary();
+    }
+
+    // First missions of the summary, without ordering the remaining ones
+    public List<MissionSummary> getSummary(int limit) {
+        return missionManager.getSummary(limit);
+    }
+
+    public SummaryPage getSummaryPage(int pageSize) {
+        return getSummaryPage(null, pageSize);
+    }
+
+    // Missions following the cursor returned with the previous page. Pages reflect changes made between the calls,
+    // so a mission whose position changed in the meantime may be skipped or returned again
+    public SummaryPage getSummaryPage(SummaryCursor cursor, int pageSize) {
+        return missionManager.getSummaryPage(cursor, pageSize);
     }
 
     public void printMissionSummary() {
-        getSummary().forEach(System.out::println);
+        try {
+            writeSummary(System.out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Streams the summary as printed by printMissionSummary(), without building the list of mission summaries
+    public void writeSummary(Appendable output) throws IOException {
+        new SummaryWriter(output).write(missionManager);
+    }
+
+    public void writeSummary(WritableByteChannel output) throws IOException {
+        new SummaryWriter(output).write(missionManager);
+    }
+
+    // Writes the current state to a file that SnapshotDragonRocketsApp and MappedRocketRepository can be started from.
+    // Must not run concurrently with state transitions
+    public void exportSnapshot(Path snapshotPath) {
+        try {
+            MappedSnapshot.export(snapshotPath, 0, mainRepository, missionManager);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Nothing to release when the state is kept in memory only
+    @Override
+    public void close() {
+    }
+
+    public static class Builder {
+        private static final int DEFAULT_LOCK_STRIPES = 64;
+
+        private boolean concurrent;
+        private boolean snapshotReads;
+        private boolean columnarRepository;
+        private int lockStripes = DEFAULT_LOCK_STRIPES;
+        private Supplier<RocketNameRegistry> rocketNameRegistryFactory = FingerprintRocketNameRegistry::new;
+        private PersistenceOptions persistenceOptions;
+        private TransitionEventPublisher eventPublisher = TransitionEventPublisher.NONE;
+        private Path snapshotPath;
+        private DragonRocketsMetrics metrics;
+        private TransitionHistory history;
+
+        private Builder() {
+        }
+
+        // Thread-safe mode where transitions of missions guarded by different lock stripes run in parallel
+        public Builder concurrent() {
+            this.concurrent = true;
+            return this;
+        }
+
+        public Builder concurrent(int lockStripes) {
+            this.lockStripes = lockStripes;
+            return concurrent();
+        }
+
+        // Concurrent mode where the summary is read from immutable versions published by the transitions, so reading
+        // it takes no locks and never stalls them. Transitions get slower, as each one publishes a new version
+        public Builder snapshotReads() {
+            this.snapshotReads = true;
+            return concurrent();
+        }
+
+        // Main repository keeping rockets in primitive columns, much smaller for large fleets. Not thread-safe
+        public Builder columnarRepository() {
+            this.columnarRepository = true;
+            return this;
+        }
+
+        // Exact but large registry keeping every produced name
+        public Builder hashSetRocketNameRegistry() {
+            this.rocketNameRegistryFactory = HashSetRocketNameRegistry::new;
+            return this;
+        }
+
+        // Compact registry keeping 64-bit fingerprints of produced names (the default one)
+        public Builder fingerprintRocketNameRegistry() {
+            this.rocketNameRegistryFactory = FingerprintRocketNameRegistry::new;
+            return this;
+        }
+
+        // Fingerprint registry fronted by a Bloom filter sized for the expected number of produced names
+        public Builder bloomFilterRocketNameRegistry(int expectedNames) {
+            this.rocketNameRegistryFactory = () -> new BloomFilterRocketNameRegistry(expectedNames);
+            return this;
+        }
+
+        // Publishes every state transition, e.g. to a TransitionEventRing subscribed to by the consumers
+        public Builder eventPublisher(TransitionEventPublisher eventPublisher) {
+            this.eventPublisher = eventPublisher;
+            return this;
+        }
+
+        // State recovered from and logged to the given directory, with the default persistence options
+        public Builder persistence(Path directory) {
+            return persistence(PersistenceOptions.defaults(directory));
+        }
+
+        public Builder persistence(PersistenceOptions persistenceOptions) {
+            this.persistenceOptions = persistenceOptions;
+            return this;
+        }
+
+        // Starts from a snapshot file, serving the summary from the mapped file while the state loads in the background
+        public Builder fromSnapshot(Path snapshotPath) {
+            this.snapshotPath = snapshotPath;
+            return this;
+        }
+
+        // Measures the main repository and the mission manager, and counts rockets and missions by status.
+        // Ignored when metrics are disabled
+        public Builder metrics(DragonRocketsMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        // Records the status transitions of rockets and missions with their timestamps, to be queried later
+        public Builder history(TransitionHistory history) {
+            this.history = history;
+            return this;
+        }
+
+        public DragonRocketsApp build() {
+            if (persistenceOptions != null && snapshotPath != null) {
+                throw new IllegalStateException("Persistent application recovers from its own snapshots");
+            }
+            if (concurrent && columnarRepository) {
+                throw new IllegalStateException("Columnar repository cannot be used in concurrent mode");
+            }
+            boolean metered = metrics != null && DragonRocketsMetrics.ENABLED;
+            TransitionEventPublisher eventPublisher = metered
+                    ? this.eventPublisher.andThen(metrics.getStatusCounts())
+                    : this.eventPublisher;
+            if (history != null) {
+                eventPublisher = eventPublisher.andThen(history);
+            }
+            RocketNameRegistry rocketNameRegistry = rocketNameRegistryFactory.get();
+            Producer rocketProducer;
+            Repository repository;
+            Manager missionManager;
+            if (concurrent) {
+                MissionLocks missionLocks = new MissionLocks(lockStripes);
+                rocketProducer = new RocketProducer(RocketNameRegistry.synchronizedRegistry(rocketNameRegistry));
+                repository = new ConcurrentRocketRepository(missionLocks, eventPublisher);
+                missionManager = new ConcurrentMissionManager(repository, missionLocks, eventPublisher, snapshotReads);
+            } else {
+                rocketProducer = new RocketProducer(rocketNameRegistry);
+                repository = columnarRepository
+                        ? new ColumnarRocketRepository(eventPublisher)
+                        : new RocketRepository(eventPublisher);
+                missionManager = new MissionManager(repository, eventPublisher);
+            }
+            if (metered) {
+                // The manager keeps using the bare repository, so nothing is measured twice
+                repository = new MeteredRepository(repository, metrics);
+                missionManager = new MeteredManager(missionManager, metrics);
+            }
+
+            try {
+                if (persistenceOptions != null) {
+                    return new PersistentDragonRocketsApp(rocketProducer, repository, missionManager, persistenceOptions);
+                }
+                if (snapshotPath != null) {
+                    return new SnapshotDragonRocketsApp(rocketProducer, repository, missionManager, snapshotPath);
+                }
+                return new DragonRocketsApp(rocketProducer, repository, missionManager);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
     }
 }
@@ -0,0 +1,181 @@
+package dragonrockets.command;
+
+import dragonrockets.DragonRocketsApp;
+import dragonrockets.mission.MissionLocks;
+import dragonrockets.mission.MissionStatus;
+import dragonrockets.rocket.RocketStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Supplier;
+
+// Front end accepting commands from any number of producer threads, e.g. virtual threads serving ground station
+// connections. Submitting only enqueues the command, the returned future completes once it has been executed.
+// Commands are routed by mission name into lanes, each drained by a single worker thread, so all commands of one
+// mission run one after another in submission order while different missions' commands run in parallel.
+// Lanes are picked with the MissionLocks hash, so with as many lanes as the concurrent application has lock stripes
+// every worker is the only one taking its stripe. Adding a rocket touches no mission and is routed by rocket name.
+// Lanes still share the rocket repository and rockets move between missions, so the application must be
+// a concurrent one
+public class CommandPipeline implements AutoCloseable {
+    private static final int BATCH_SIZE = 64;
+
+    private final DragonRocketsApp app;
+    private final Lane[] lanes;
+    private final int mask;
+    private volatile boolean closed;
+
+    // Lane workers are virtual threads, like the producers the pipeline is meant for
+    public CommandPipeline(DragonRocketsApp app, int laneCount) {
+        this(app, laneCount, Thread.ofVirtual().name("command-lane-", 0).factory());
+    }
+
+    // There is one worker per lane for the pipeline's lifetime, e.g. platform threads pinned to the lock stripes
+    public CommandPipeline(DragonRocketsApp app, int laneCount, ThreadFactory threadFactory) {
+        if (laneCount <= 0) {
+            throw new IllegalArgumentException("Number of lanes must be positive, got " + laneCount);
+        }
+        // Same rounding as MissionLocks, so lanes line up with lock stripes
+        int size = 1;
+        while (size < laneCount) {
+            size <<= 1;
+        }
+        this.app = app;
+        this.lanes = new Lane[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            lanes[i] = new Lane(threadFactory);
+        }
+    }
+
+    public CompletableFuture<Boolean> addNewRocketToRepository(String rocketName) {
+        return submit(rocketName, () -> app.addNewRocketToRepository(rocketName));
+    }
+
+    public CompletableFuture<Boolean> addNewMission(String missionName) {
+        return submit(missionName, () -> app.addNewMission(missionName));
+    }
+
+    public CompletableFuture<Boolean> assignRocketToMission(String rocketName, String missionName) {
+        return submit(missionName, () -> app.assignRocketToMission(rocketName, missionName));
+    }
+
+    public CompletableFuture<Void> setRocketStatus(String rocketName, String missionName, RocketStatus newStatus) {
+        return submit(missionName, () -> {
+            app.setRocketStatus(rocketName, missionName, newStatus);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Boolean> setMissionStatus(String missionName, MissionStatus newStatus) {
+        return submit(missionName, () -> app.setMissionStatus(missionName, newStatus));
+    }
+
+    // Commands submitted before closing are still executed, later ones are rejected. Waits for the lanes to finish.
+    // Only the first call stops the lanes, the following ones just wait for them as well
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (!closed) {
+                closed = true;
+                for (Lane lane : lanes) {
+                    lane.queue.add(Command.STOP);
+                }
+            }
+        }
+        for (Lane lane : lanes) {
+            try {
+                lane.worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // Dependent stages which are not async run on the lane's worker, holding up the following commands of its lane
+    private <T> CompletableFuture<T> submit(String routingName, Supplier<T> action) {
+        Command<T> command = new Command<>(action);
+        if (closed) {
+            command.reject();
+        } else {
+            lanes[MissionLocks.missionHash(routingName) & mask].submit(command);
+        }
+        return command.result;
+    }
+
+    private static class Lane implements Runnable {
+        private final BlockingQueue<Command<?>> queue = new LinkedBlockingQueue<>();
+        private final Thread worker;
+        private volatile boolean stopped;
+
+        private Lane(ThreadFactory threadFactory) {
+            this.worker = threadFactory.newThread(this);
+            worker.start();
+        }
+
+        // A command racing with the worker stopping is either drained by the worker or taken back here, never left
+        private void submit(Command<?> command) {
+            queue.add(command);
+            if (stopped && queue.remove(command)) {
+                command.reject();
+            }
+        }
+
+        @Override
+        public void run() {
+            List<Command<?>> batch = new ArrayList<>(BATCH_SIZE);
+            try {
+                while (!stopped) {
+                    batch.add(queue.take());
+                    queue.drainTo(batch, BATCH_SIZE - 1);
+                    for (Command<?> command : batch) {
+                        if (command == Command.STOP) {
+                            stopped = true;
+                        } else if (stopped) {
+                            command.reject();
+                        } else {
+                            command.run();
+                        }
+                    }
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                stopped = true;
+            }
+            Command<?> command;
+            while ((command = queue.poll()) != null) {
+                command.reject();
+            }
+        }
+    }
+
+    private static class Command<T> {
+        private static final Command<Void> STOP = new Command<>(() -> null);
+
+        private final Supplier<T> action;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private Command(Supplier<T> action) {
+            this.action = action;
+        }
+
+        // Errors fail the command as well, a worker that died on one would leave its whole lane hanging
+        private void run() {
+            try {
+                result.complete(action.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        private void reject() {
+            result.completeExceptionally(new RejectedExecutionException("Command pipeline has been closed"));
+        }
+    }
+}
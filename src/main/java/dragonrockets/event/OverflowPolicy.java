@@ -0,0 +1,11 @@
+package dragonrockets.event;
+
+// What TransitionEventRing does with an event when its slowest subscriber is a whole ring behind
+public enum OverflowPolicy {
+    // The event is lost and counted as dropped
+    DROP,
+    // Publisher waits until the slowest subscriber makes room, which holds up the transition being published
+    BLOCK,
+    // The event goes to an unbounded overflow map read by subscribers once they catch up
+    SPILL
+}
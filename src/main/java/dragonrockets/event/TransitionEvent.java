@@ -0,0 +1,28 @@
+package dragonrockets.event;
+
+import dragonrockets.mission.MissionStatus;
+import dragonrockets.rocket.RocketStatus;
+
+// State transitions published by the main repository and the mission manager, in the order they are applied
+// (per mission in concurrent mode)
+public sealed interface TransitionEvent {
+
+    record RocketCreated(String rocketName, RocketStatus status) implements TransitionEvent {
+    }
+
+    record MissionCreated(String missionName) implements TransitionEvent {
+    }
+
+    record RocketAssigned(String rocketName, String missionName) implements TransitionEvent {
+    }
+
+    // Rocket no longer has the mission as its last one
+    record RocketUnassigned(String rocketName, String missionName) implements TransitionEvent {
+    }
+
+    record RocketStatusChanged(String rocketName, RocketStatus from, RocketStatus to) implements TransitionEvent {
+    }
+
+    record MissionStatusChanged(String missionName, MissionStatus from, MissionStatus to) implements TransitionEvent {
+    }
+}
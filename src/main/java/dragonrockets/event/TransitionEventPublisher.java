@@ -0,0 +1,21 @@
+package dragonrockets.event;
+
+// Events are published while the state is being changed, so publishing must not call back into the application
+@FunctionalInterface
+public interface TransitionEventPublisher {
+    TransitionEventPublisher NONE = event -> {
+    };
+
+    void publish(TransitionEvent event);
+
+    // Publishes every event to this publisher first and to the given one second
+    default TransitionEventPublisher andThen(TransitionEventPublisher next) {
+        if (this == NONE) {
+            return next;
+        }
+        return event -> {
+            publish(event);
+            next.publish(event);
+        };
+    }
+}
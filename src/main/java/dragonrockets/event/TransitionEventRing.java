@@ -0,0 +1,169 @@
+package dragonrockets.event;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+// Lock-free multi-producer ring of transition events, read independently by any number of subscribers.
+// Every event gets the next sequence number and goes to the slot of that number, which is marked as published
+// with its sequence number afterwards. Each subscriber keeps the sequence number of the last event it has read,
+// and a slot is reused only once every subscriber has read the event in it. Subscribers see the events published
+// after they subscribed
+public class TransitionEventRing implements TransitionEventPublisher {
+    private static final int SPINS_BEFORE_PARKING = 100;
+    private static final long PARK_NANOS = 1_000;
+
+    private final int capacity;
+    private final int mask;
+    private final TransitionEvent[] events;
+    private final AtomicLongArray publishedSequences;
+    private final AtomicLong claimedSequence = new AtomicLong(-1);
+    private final OverflowPolicy overflowPolicy;
+    // Events which found their slot still in use, by sequence number (SPILL policy only)
+    private final ConcurrentSkipListMap<Long, TransitionEvent> spilledEvents;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final LongAdder droppedEvents = new LongAdder();
+    // Lower bound of the slowest subscriber's sequence, refreshed only when a publisher runs into it
+    private volatile long minimumReadSequence = -1;
+
+    public TransitionEventRing(int capacity, OverflowPolicy overflowPolicy) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two, got " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.events = new TransitionEvent[capacity];
+        this.publishedSequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            publishedSequences.set(i, -1);
+        }
+        this.overflowPolicy = overflowPolicy;
+        this.spilledEvents = overflowPolicy == OverflowPolicy.SPILL ? new ConcurrentSkipListMap<>() : null;
+    }
+
+    @Override
+    public void publish(TransitionEvent event) {
+        switch (overflowPolicy) {
+            case DROP -> publishOrDrop(event);
+            case BLOCK -> publishWhenFree(event);
+            case SPILL -> publishOrSpill(event);
+        }
+    }
+
+    // Subscription is registered with a sequence every publisher has already moved past, so it holds publishers back
+    // from the moment it is visible to them. Only then it moves on to the last claimed sequence, which publishers
+    // cannot have outrun by a whole ring in the meantime
+    public Subscription subscribe() {
+        Subscription subscription = new Subscription(minimumReadSequence);
+        subscriptions.add(subscription);
+        subscription.readSequence.set(claimedSequence.get());
+        return subscription;
+    }
+
+    public long getDroppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    private void publishOrDrop(TransitionEvent event) {
+        long sequence;
+        do {
+            sequence = claimedSequence.get() + 1;
+            if (!isSlotFree(sequence)) {
+                droppedEvents.increment();
+                return;
+            }
+        } while (!claimedSequence.compareAndSet(sequence - 1, sequence));
+        store(sequence, event);
+    }
+
+    private void publishWhenFree(TransitionEvent event) {
+        long sequence = claimedSequence.incrementAndGet();
+        for (int spins = 0; !isSlotFree(sequence); spins++) {
+            if (spins < SPINS_BEFORE_PARKING) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+        store(sequence, event);
+    }
+
+    private void publishOrSpill(TransitionEvent event) {
+        long sequence = claimedSequence.incrementAndGet();
+        if (!spilledEvents.isEmpty()) {
+            spilledEvents.headMap(readByAll(), true).clear();
+        }
+        if (isSlotFree(sequence)) {
+            store(sequence, event);
+        } else {
+            spilledEvents.put(sequence, event);
+        }
+    }
+
+    private void store(long sequence, TransitionEvent event) {
+        int index = (int) sequence & mask;
+        events[index] = event;
+        publishedSequences.setRelease(index, sequence);
+    }
+
+    // Slot of the sequence still holds the event published a whole ring before, until every subscriber reads it
+    private boolean isSlotFree(long sequence) {
+        long previousSequence = sequence - capacity;
+        return previousSequence <= minimumReadSequence || previousSequence <= readByAll();
+    }
+
+    // Claimed sequence is read before the subscriptions, so a subscription registered while they are being visited
+    // is not outrun by the result. It is also the result when there is nobody to wait for
+    private long readByAll() {
+        long minimum = claimedSequence.get();
+        for (Subscription subscription : subscriptions) {
+            minimum = Math.min(minimum, subscription.readSequence.get());
+        }
+        minimumReadSequence = minimum;
+        return minimum;
+    }
+
+    // Reads events in the order they have been published. Meant to be used by one thread at a time
+    public class Subscription implements AutoCloseable {
+        private final AtomicLong readSequence;
+
+        private Subscription(long readSequence) {
+            this.readSequence = new AtomicLong(readSequence);
+        }
+
+        // Returns null when there is no new event yet
+        public TransitionEvent poll() {
+            long sequence = readSequence.get() + 1;
+            int index = (int) sequence & mask;
+            TransitionEvent event;
+            if (publishedSequences.getAcquire(index) == sequence) {
+                event = events[index];
+            } else if (spilledEvents == null || (event = spilledEvents.get(sequence)) == null) {
+                return null;
+            }
+            readSequence.setRelease(sequence);
+            return event;
+        }
+
+        // Passes at most the given number of available events to the consumer and returns how many there were
+        public int drain(Consumer<TransitionEvent> consumer, int maxEvents) {
+            int drained = 0;
+            TransitionEvent event;
+            while (drained < maxEvents && (event = poll()) != null) {
+                consumer.accept(event);
+                drained++;
+            }
+            return drained;
+        }
+
+        @Override
+        public void close() {
+            subscriptions.remove(this);
+        }
+    }
+}
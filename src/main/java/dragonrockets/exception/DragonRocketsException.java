@@ -0,0 +1,9 @@
+package dragonrockets.exception;
+
+// Rejected requests are expected in normal operation and say what was wrong in the message, so their stack traces
+// are neither filled in nor worth the cost of filling them in
+public abstract class DragonRocketsException extends RuntimeException {
+    protected DragonRocketsException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -1,6 +1,6 @@
 package dragonrockets.exception;
 
-public class MissionNotFoundException extends RuntimeException {
+public class MissionNotFoundException extends DragonRocketsException {
     public MissionNotFoundException(String message) {
         super(message);
     }
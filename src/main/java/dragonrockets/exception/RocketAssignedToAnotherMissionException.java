@@ -1,6 +1,6 @@
 package dragonrockets.exception;
 
-public class RocketAssignedToAnotherMissionException extends RuntimeException {
+public class RocketAssignedToAnotherMissionException extends DragonRocketsException {
     public RocketAssignedToAnotherMissionException(String message) {
         super(message);
     }
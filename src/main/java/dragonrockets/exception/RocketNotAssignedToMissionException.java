@@ -1,6 +1,6 @@
 package dragonrockets.exception;
 
-public class RocketNotAssignedToMissionException extends RuntimeException {
+public class RocketNotAssignedToMissionException extends DragonRocketsException {
     public RocketNotAssignedToMissionException(String message) {
         super(message);
     }
@@ -1,6 +1,6 @@
 package dragonrockets.exception;
 
-public class RocketNotFoundException extends RuntimeException {
+public class RocketNotFoundException extends DragonRocketsException {
     public RocketNotFoundException(String message) {
         super(message);
     }
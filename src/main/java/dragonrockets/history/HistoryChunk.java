@@ -0,0 +1,140 @@
+package dragonrockets.history;
+
+import java.util.Arrays;
+
+// Up to CAPACITY transitions kept column by column. Entity and context ids are varints, statuses are ordinals
+// in single bytes and timestamps are zigzag varint deltas from the previous transition, so a transition takes
+// about 6 bytes. Chunks are appended to by their log until full, a full one is never changed again
+final class HistoryChunk {
+    static final int CAPACITY = 4096;
+    // Missing context or status, e.g. the status a rocket had before it was created
+    static final int NONE = -1;
+
+    private byte[] entities;
+    private int entitiesLength;
+    private byte[] contexts;
+    private int contextsLength;
+    private byte[] fromStatuses;
+    private byte[] toStatuses;
+    private byte[] timestamps;
+    private int timestampsLength;
+    private int count;
+    private long lastTimestamp;
+    private long minTimestamp = Long.MAX_VALUE;
+    private long maxTimestamp = Long.MIN_VALUE;
+
+    HistoryChunk() {
+        this.entities = new byte[CAPACITY * 2];
+        this.contexts = new byte[CAPACITY];
+        this.fromStatuses = new byte[CAPACITY];
+        this.toStatuses = new byte[CAPACITY];
+        this.timestamps = new byte[CAPACITY * 2];
+    }
+
+    private HistoryChunk(HistoryChunk chunk) {
+        this.entities = Arrays.copyOf(chunk.entities, chunk.entitiesLength);
+        this.entitiesLength = chunk.entitiesLength;
+        this.contexts = Arrays.copyOf(chunk.contexts, chunk.contextsLength);
+        this.contextsLength = chunk.contextsLength;
+        this.fromStatuses = Arrays.copyOf(chunk.fromStatuses, chunk.count);
+        this.toStatuses = Arrays.copyOf(chunk.toStatuses, chunk.count);
+        this.timestamps = Arrays.copyOf(chunk.timestamps, chunk.timestampsLength);
+        this.timestampsLength = chunk.timestampsLength;
+        this.count = chunk.count;
+        this.lastTimestamp = chunk.lastTimestamp;
+        this.minTimestamp = chunk.minTimestamp;
+        this.maxTimestamp = chunk.maxTimestamp;
+    }
+
+    boolean isFull() {
+        return count == CAPACITY;
+    }
+
+    int size() {
+        return count;
+    }
+
+    long getMinTimestamp() {
+        return minTimestamp;
+    }
+
+    long getMaxTimestamp() {
+        return maxTimestamp;
+    }
+
+    // Context is an id of another entity the transition happened in, e.g. the rocket's mission, or NONE
+    void append(int entity, int context, int fromStatus, int toStatus, long timestamp) {
+        entities = ensureCapacity(entities, entitiesLength);
+        entitiesLength = writeVarint(entities, entitiesLength, entity);
+        contexts = ensureCapacity(contexts, contextsLength);
+        contextsLength = writeVarint(contexts, contextsLength, context + 1);
+        fromStatuses[count] = (byte) fromStatus;
+        toStatuses[count] = (byte) toStatus;
+        timestamps = ensureCapacity(timestamps, timestampsLength);
+        long delta = count == 0 ? timestamp : timestamp - lastTimestamp;
+        timestampsLength = writeVarint(timestamps, timestampsLength, (delta << 1) ^ (delta >> 63));
+        lastTimestamp = timestamp;
+        minTimestamp = Math.min(minTimestamp, timestamp);
+        maxTimestamp = Math.max(maxTimestamp, timestamp);
+        count++;
+    }
+
+    // Trimmed copy no later append changes, to be read without holding the log's lock
+    HistoryChunk copy() {
+        return new HistoryChunk(this);
+    }
+
+    // Visits the transitions in the order they were appended. Varints are decoded inline, this is the hot loop
+    // of every history query
+    void forEach(TransitionVisitor visitor) {
+        byte[] entities = this.entities;
+        byte[] contexts = this.contexts;
+        byte[] timestamps = this.timestamps;
+        int entityPosition = 0;
+        int contextPosition = 0;
+        int timestampPosition = 0;
+        long timestamp = 0;
+        for (int i = 0; i < count; i++) {
+            int entity = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = entities[entityPosition++];
+                entity |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    break;
+                }
+            }
+            int context = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = contexts[contextPosition++];
+                context |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    break;
+                }
+            }
+            long zigzag = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = timestamps[timestampPosition++];
+                zigzag |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    break;
+                }
+            }
+            timestamp += (zigzag >>> 1) ^ -(zigzag & 1);
+            visitor.visit(entity, context - 1, fromStatuses[i], toStatuses[i], timestamp);
+        }
+    }
+
+    // Room for the longest varint, the arrays of an open chunk grow only when entities have large ids
+    private static byte[] ensureCapacity(byte[] bytes, int length) {
+        return length + 10 <= bytes.length ? bytes : Arrays.copyOf(bytes, bytes.length * 2);
+    }
+
+    private static int writeVarint(byte[] bytes, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            bytes[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[position++] = (byte) value;
+        return position;
+    }
+}
@@ -0,0 +1,6 @@
+package dragonrockets.history;
+
+import java.time.Duration;
+
+public record MissionStatusDuration(String missionName, Duration duration) {
+}
@@ -0,0 +1,9 @@
+package dragonrockets.history;
+
+import dragonrockets.mission.MissionStatus;
+
+import java.time.Instant;
+
+// From is null when the mission was created
+public record MissionTransition(String missionName, MissionStatus from, MissionStatus to, Instant time) {
+}
@@ -0,0 +1,9 @@
+package dragonrockets.history;
+
+import dragonrockets.rocket.RocketStatus;
+
+import java.time.Instant;
+
+// Mission is the one the rocket was assigned to at the time, null when none. From is null when the rocket was created
+public record RocketTransition(String rocketName, String missionName, RocketStatus from, RocketStatus to, Instant time) {
+}
@@ -0,0 +1,75 @@
+package dragonrockets.history;
+
+import java.util.Arrays;
+
+// Time entities spent in a status within a window, from their transitions replayed in the order they happened.
+// Transitions before the window only tell the status an entity had when the window started. An entity whose first
+// known transition is not its creation is taken to have had the status it left since the window started
+final class StatusDurations {
+    private static final int UNKNOWN = -2;
+
+    private final int status;
+    private final long from;
+    private final long to;
+    private int[] currentStatuses;
+    private long[] since;
+    private long[] durations;
+
+    StatusDurations(int status, long from, long to, int expectedEntities) {
+        this.status = status;
+        this.from = from;
+        this.to = to;
+        int capacity = Math.max(1, expectedEntities);
+        this.currentStatuses = new int[capacity];
+        Arrays.fill(currentStatuses, UNKNOWN);
+        this.since = new long[capacity];
+        this.durations = new long[capacity];
+    }
+
+    // Called with transitions recorded before the end of the window only
+    void transition(int entity, int fromStatus, int toStatus, long timestamp) {
+        if (entity >= currentStatuses.length) {
+            grow(entity + 1);
+        }
+        if (currentStatuses[entity] == UNKNOWN) {
+            currentStatuses[entity] = fromStatus;
+            since[entity] = Long.MIN_VALUE;
+        }
+        if (currentStatuses[entity] == status) {
+            durations[entity] += overlap(since[entity], timestamp);
+        }
+        currentStatuses[entity] = toStatus;
+        since[entity] = timestamp;
+    }
+
+    // Entities still in the status are counted until the given time, e.g. now
+    void finish(long end) {
+        for (int entity = 0; entity < currentStatuses.length; entity++) {
+            if (currentStatuses[entity] == status) {
+                durations[entity] += overlap(since[entity], end);
+                currentStatuses[entity] = UNKNOWN;
+            }
+        }
+    }
+
+    int capacity() {
+        return durations.length;
+    }
+
+    long get(int entity) {
+        return entity < durations.length ? durations[entity] : 0;
+    }
+
+    private long overlap(long start, long end) {
+        return Math.max(0, Math.min(end, to) - Math.max(start, from));
+    }
+
+    private void grow(int minCapacity) {
+        int capacity = Math.max(minCapacity, currentStatuses.length * 2);
+        int oldCapacity = currentStatuses.length;
+        currentStatuses = Arrays.copyOf(currentStatuses, capacity);
+        Arrays.fill(currentStatuses, oldCapacity, capacity, UNKNOWN);
+        since = Arrays.copyOf(since, capacity);
+        durations = Arrays.copyOf(durations, capacity);
+    }
+}
@@ -0,0 +1,227 @@
+package dragonrockets.history;
+
+import dragonrockets.event.TransitionEvent;
+import dragonrockets.event.TransitionEventPublisher;
+import dragonrockets.mission.MissionStatus;
+import dragonrockets.rocket.RocketStatus;
+import dragonrockets.utils.HandleTable;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Timestamped status transitions of rockets and missions, recorded from the transition events. Rockets and
+// missions get dense ids in the order they are first seen and their transitions are kept in columnar chunks,
+// so the history of a large fleet stays compact and queries scan it at tens of millions of transitions
+// per second. Each rocket transition also keeps the mission the rocket was assigned to at the time.
+// Time windows are half-open, from inclusive and to exclusive
+public class TransitionHistory implements TransitionEventPublisher {
+    private static final RocketStatus[] ROCKET_STATUSES = RocketStatus.values();
+    private static final MissionStatus[] MISSION_STATUSES = MissionStatus.values();
+
+    private final Clock clock;
+    private final TransitionLog rocketLog = new TransitionLog();
+    private final TransitionLog missionLog = new TransitionLog();
+    private final Map<String, Integer> rocketIds = new ConcurrentHashMap<>();
+    private final HandleTable<String> rocketNames = new HandleTable<>();
+    private final Map<String, Integer> missionIds = new ConcurrentHashMap<>();
+    private final HandleTable<String> missionNames = new HandleTable<>();
+    // Mission each rocket is assigned to, by rocket id
+    private int[] rocketMissions = new int[16];
+
+    public TransitionHistory() {
+        this(Clock.systemUTC());
+    }
+
+    public TransitionHistory(Clock clock) {
+        this.clock = clock;
+    }
+
+    // Events of missions guarded by different lock stripes arrive concurrently, they are recorded one by one
+    @Override
+    public synchronized void publish(TransitionEvent event) {
+        if (event instanceof TransitionEvent.RocketStatusChanged statusChanged) {
+            int rocket = rocketId(statusChanged.rocketName());
+            rocketLog.append(rocket, rocketMissions[rocket], statusChanged.from().ordinal(),
+                    statusChanged.to().ordinal(), clock.millis());
+        } else if (event instanceof TransitionEvent.MissionStatusChanged statusChanged) {
+            missionLog.append(missionId(statusChanged.missionName()), HistoryChunk.NONE,
+                    statusChanged.from().ordinal(), statusChanged.to().ordinal(), clock.millis());
+        } else if (event instanceof TransitionEvent.RocketAssigned assigned) {
+            rocketMissions[rocketId(assigned.rocketName())] = missionId(assigned.missionName());
+        } else if (event instanceof TransitionEvent.RocketUnassigned unassigned) {
+            rocketMissions[rocketId(unassigned.rocketName())] = HistoryChunk.NONE;
+        } else if (event instanceof TransitionEvent.RocketCreated created) {
+            rocketLog.append(rocketId(created.rocketName()), HistoryChunk.NONE, HistoryChunk.NONE,
+                    created.status().ordinal(), clock.millis());
+        } else if (event instanceof TransitionEvent.MissionCreated created) {
+            missionLog.append(missionId(created.missionName()), HistoryChunk.NONE, HistoryChunk.NONE,
+                    MissionStatus.SCHEDULED.ordinal(), clock.millis());
+        }
+    }
+
+    public long getNumberOfRocketTransitions() {
+        return rocketLog.size();
+    }
+
+    public long getNumberOfMissionTransitions() {
+        return missionLog.size();
+    }
+
+    // Transitions of the given rocket, or of all rockets when the name is null, in the order they happened
+    public List<RocketTransition> getRocketTransitions(String rocketName, Instant from, Instant to) {
+        int rocket = rocketName == null ? HistoryChunk.NONE : knownId(rocketIds, rocketName);
+        List<RocketTransition> transitions = new ArrayList<>();
+        if (rocket == Integer.MIN_VALUE) {
+            return transitions;
+        }
+        TransitionLog.scan(rocketLog.chunks(), from.toEpochMilli(), to.toEpochMilli(),
+                (entity, context, fromStatus, toStatus, timestamp) -> {
+                    if (rocket == HistoryChunk.NONE || entity == rocket) {
+                        transitions.add(toRocketTransition(entity, context, fromStatus, toStatus, timestamp));
+                    }
+                });
+        return transitions;
+    }
+
+    // Transitions of the rockets made while they were assigned to the given mission
+    public List<RocketTransition> getRocketTransitionsOfMission(String missionName, Instant from, Instant to) {
+        int mission = knownId(missionIds, missionName);
+        List<RocketTransition> transitions = new ArrayList<>();
+        if (mission == Integer.MIN_VALUE) {
+            return transitions;
+        }
+        TransitionLog.scan(rocketLog.chunks(), from.toEpochMilli(), to.toEpochMilli(),
+                (entity, context, fromStatus, toStatus, timestamp) -> {
+                    if (context == mission) {
+                        transitions.add(toRocketTransition(entity, context, fromStatus, toStatus, timestamp));
+                    }
+                });
+        return transitions;
+    }
+
+    // Transitions of the given mission, or of all missions when the name is null, in the order they happened
+    public List<MissionTransition> getMissionTransitions(String missionName, Instant from, Instant to) {
+        int mission = missionName == null ? HistoryChunk.NONE : knownId(missionIds, missionName);
+        List<MissionTransition> transitions = new ArrayList<>();
+        if (mission == Integer.MIN_VALUE) {
+            return transitions;
+        }
+        TransitionLog.scan(missionLog.chunks(), from.toEpochMilli(), to.toEpochMilli(),
+                (entity, context, fromStatus, toStatus, timestamp) -> {
+                    if (mission == HistoryChunk.NONE || entity == mission) {
+                        transitions.add(new MissionTransition(missionNames.get(entity),
+                                fromStatus == HistoryChunk.NONE ? null : MISSION_STATUSES[fromStatus],
+                                MISSION_STATUSES[toStatus], Instant.ofEpochMilli(timestamp)));
+                    }
+                });
+        return transitions;
+    }
+
+    // Time the rocket spent in the status within the window, a status it still has is counted until now
+    public Duration getRocketTimeInStatus(String rocketName, RocketStatus status, Instant from, Instant to) {
+        int rocket = knownId(rocketIds, rocketName);
+        if (rocket == Integer.MIN_VALUE) {
+            return Duration.ZERO;
+        }
+        return Duration.ofMillis(timeInStatus(rocketLog, rocket, status.ordinal(), from, to));
+    }
+
+    public Duration getMissionTimeInStatus(String missionName, MissionStatus status, Instant from, Instant to) {
+        int mission = knownId(missionIds, missionName);
+        if (mission == Integer.MIN_VALUE) {
+            return Duration.ZERO;
+        }
+        return Duration.ofMillis(timeInStatus(missionLog, mission, status.ordinal(), from, to));
+    }
+
+    // Missions which spent the most time in the status within the window, longest first, in a single scan
+    public List<MissionStatusDuration> getLongestMissionsInStatus(MissionStatus status, Instant from, Instant to,
+                                                                  int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative, got " + limit);
+        }
+        long fromMillis = from.toEpochMilli();
+        long toMillis = to.toEpochMilli();
+        StatusDurations durations = new StatusDurations(status.ordinal(), fromMillis, toMillis, missionIds.size());
+        TransitionLog.scan(missionLog.chunks(), Long.MIN_VALUE, toMillis,
+                (entity, context, fromStatus, toStatus, timestamp) ->
+                        durations.transition(entity, fromStatus, toStatus, timestamp));
+        durations.finish(clock.millis());
+
+        Integer[] missions = new Integer[durations.capacity()];
+        int listed = 0;
+        for (int mission = 0; mission < missions.length; mission++) {
+            if (durations.get(mission) > 0) {
+                missions[listed++] = mission;
+            }
+        }
+        Arrays.sort(missions, 0, listed, Comparator.comparingLong((Integer mission) -> durations.get(mission))
+                .reversed().thenComparing(missionNames::get));
+        List<MissionStatusDuration> longest = new ArrayList<>(Math.min(limit, listed));
+        for (int i = 0; i < Math.min(limit, listed); i++) {
+            longest.add(new MissionStatusDuration(missionNames.get(missions[i]),
+                    Duration.ofMillis(durations.get(missions[i]))));
+        }
+        return longest;
+    }
+
+    // Transitions before the window are replayed as well, they tell the status the entity had when it started
+    private long timeInStatus(TransitionLog log, int id, int status, Instant from, Instant to) {
+        long toMillis = to.toEpochMilli();
+        StatusDurations durations = new StatusDurations(status, from.toEpochMilli(), toMillis, 1);
+        TransitionLog.scan(log.chunks(), Long.MIN_VALUE, toMillis,
+                (entity, context, fromStatus, toStatus, timestamp) -> {
+                    if (entity == id) {
+                        durations.transition(0, fromStatus, toStatus, timestamp);
+                    }
+                });
+        durations.finish(clock.millis());
+        return durations.get(0);
+    }
+
+    private RocketTransition toRocketTransition(int rocket, int mission, int fromStatus, int toStatus,
+                                                long timestamp) {
+        return new RocketTransition(rocketNames.get(rocket),
+                mission == HistoryChunk.NONE ? null : missionNames.get(mission),
+                fromStatus == HistoryChunk.NONE ? null : ROCKET_STATUSES[fromStatus],
+                ROCKET_STATUSES[toStatus], Instant.ofEpochMilli(timestamp));
+    }
+
+    // Integer.MIN_VALUE for names never seen, which no transition has
+    private static int knownId(Map<String, Integer> ids, String name) {
+        Integer id = ids.get(name);
+        return id == null ? Integer.MIN_VALUE : id;
+    }
+
+    // Called while publishing only
+    private int rocketId(String rocketName) {
+        Integer id = rocketIds.get(rocketName);
+        if (id != null) {
+            return id;
+        }
+        int newId = rocketNames.register(rocketName);
+        rocketIds.put(rocketName, newId);
+        if (newId == rocketMissions.length) {
+            rocketMissions = Arrays.copyOf(rocketMissions, rocketMissions.length * 2);
+        }
+        rocketMissions[newId] = HistoryChunk.NONE;
+        return newId;
+    }
+
+    private int missionId(String missionName) {
+        Integer id = missionIds.get(missionName);
+        if (id != null) {
+            return id;
+        }
+        int newId = missionNames.register(missionName);
+        missionIds.put(missionName, newId);
+        return newId;
+    }
+}
@@ -0,0 +1,49 @@
+package dragonrockets.history;
+
+import java.util.Arrays;
+
+// Transitions of one kind of entity in the order they were recorded, as a sequence of chunks. Full chunks are
+// shared with the readers, which copy only the chunk still being appended to and scan without holding the lock
+final class TransitionLog {
+    private HistoryChunk[] fullChunks = new HistoryChunk[0];
+    private HistoryChunk openChunk = new HistoryChunk();
+    private long size;
+
+    synchronized void append(int entity, int context, int fromStatus, int toStatus, long timestamp) {
+        openChunk.append(entity, context, fromStatus, toStatus, timestamp);
+        size++;
+        if (openChunk.isFull()) {
+            fullChunks = Arrays.copyOf(fullChunks, fullChunks.length + 1);
+            fullChunks[fullChunks.length - 1] = openChunk.copy();
+            openChunk = new HistoryChunk();
+        }
+    }
+
+    synchronized long size() {
+        return size;
+    }
+
+    synchronized HistoryChunk[] chunks() {
+        HistoryChunk[] chunks = Arrays.copyOf(fullChunks, fullChunks.length + 1);
+        chunks[fullChunks.length] = openChunk.copy();
+        return chunks;
+    }
+
+    // Visits transitions recorded at or after from and before to. Chunks outside the window are skipped whole
+    static void scan(HistoryChunk[] chunks, long from, long to, TransitionVisitor visitor) {
+        for (HistoryChunk chunk : chunks) {
+            if (chunk.size() == 0 || chunk.getMaxTimestamp() < from || chunk.getMinTimestamp() >= to) {
+                continue;
+            }
+            if (chunk.getMinTimestamp() >= from && chunk.getMaxTimestamp() < to) {
+                chunk.forEach(visitor);
+            } else {
+                chunk.forEach((entity, context, fromStatus, toStatus, timestamp) -> {
+                    if (timestamp >= from && timestamp < to) {
+                        visitor.visit(entity, context, fromStatus, toStatus, timestamp);
+                    }
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package dragonrockets.history;
+
+// Receives decoded transitions as primitives, so scanning the history does not allocate per transition.
+// Statuses are ordinals, contexts and statuses missing are HistoryChunk.NONE
+@FunctionalInterface
+interface TransitionVisitor {
+    void visit(int entity, int context, int fromStatus, int toStatus, long timestamp);
+}
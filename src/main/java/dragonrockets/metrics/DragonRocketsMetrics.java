@@ -0,0 +1,116 @@
+package dragonrockets.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Counts and latencies of the application's operations plus the numbers of rockets and missions by status.
+// Passed to the builder, which then measures the main repository and the mission manager.
+// Java cannot compile code out, so -Ddragonrockets.metrics.disabled=true turns recording into a constant-false
+// branch the JIT removes, and the builder then wires no metrics at all
+public class DragonRocketsMetrics implements AutoCloseable {
+    public static final boolean ENABLED = !Boolean.getBoolean("dragonrockets.metrics.disabled");
+
+    private static final String MBEAN_DOMAIN = "dragonrockets";
+
+    private final OperationMetrics[] operations = new OperationMetrics[Operation.values().length];
+    private final StatusCounts statusCounts = new StatusCounts();
+    private final List<ObjectName> registeredMBeans = new ArrayList<>();
+    private ScheduledExecutorService reportingExecutor;
+
+    public DragonRocketsMetrics() {
+        for (Operation operation : Operation.values()) {
+            operations[operation.ordinal()] = new OperationMetrics();
+        }
+    }
+
+    public static long startTime() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    public void record(Operation operation, long startTime) {
+        if (ENABLED) {
+            operations[operation.ordinal()].record(System.nanoTime() - startTime);
+        }
+    }
+
+    public OperationMetrics getOperation(Operation operation) {
+        return operations[operation.ordinal()];
+    }
+
+    // Publisher to be fed with the transition events
+    public StatusCounts getStatusCounts() {
+        return statusCounts;
+    }
+
+    public MetricsSnapshot snapshot() {
+        Map<Operation, OperationStats> operationStats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            operationStats.put(operation, getOperation(operation).getStats());
+        }
+        return new MetricsSnapshot(operationStats, statusCounts.getRocketCounts(), statusCounts.getMissionCounts());
+    }
+
+    // Reports a snapshot at the given interval on a daemon thread, until closed
+    public synchronized void startReporting(MetricsReporter reporter, Duration interval) {
+        if (reportingExecutor != null) {
+            throw new IllegalStateException("Metrics are being reported already");
+        }
+        reportingExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalNanos = interval.toNanos();
+        reportingExecutor.scheduleAtFixedRate(() -> reporter.report(snapshot()),
+                intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Registers dragonrockets:type=Operation,app=<appName>,name=<operation> for each operation
+    // and dragonrockets:type=StatusCounts,app=<appName> in the platform MBean server
+    public synchronized void registerMBeans(String appName) throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (Operation operation : Operation.values()) {
+            register(server, getOperation(operation), objectName("Operation", appName) + ",name=" + operation.name());
+        }
+        register(server, statusCounts, objectName("StatusCounts", appName));
+    }
+
+    public synchronized void unregisterMBeans() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName name : registeredMBeans) {
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        }
+        registeredMBeans.clear();
+    }
+
+    @Override
+    public synchronized void close() throws JMException {
+        if (reportingExecutor != null) {
+            reportingExecutor.shutdownNow();
+            reportingExecutor = null;
+        }
+        unregisterMBeans();
+    }
+
+    private void register(MBeanServer server, Object mBean, String name) throws JMException {
+        ObjectName objectName = new ObjectName(name);
+        server.registerMBean(mBean, objectName);
+        registeredMBeans.add(objectName);
+    }
+
+    private static String objectName(String type, String appName) {
+        return MBEAN_DOMAIN + ":type=" + type + ",app=" + ObjectName.quote(appName);
+    }
+}
@@ -0,0 +1,160 @@
+package dragonrockets.metrics;
+
+import dragonrockets.mission.AssignmentResult;
+import dragonrockets.mission.Manager;
+import dragonrockets.mission.Mission;
+import dragonrockets.mission.MissionId;
+import dragonrockets.mission.MissionStatus;
+import dragonrockets.mission.MissionSummary;
+import dragonrockets.mission.SummaryCursor;
+import dragonrockets.mission.SummaryPage;
+import dragonrockets.rocket.Rocket;
+import dragonrockets.rocket.RocketStatus;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+// Mission manager measuring adding missions, assignments, mission status changes and reading the summary.
+// Rocket status changes are measured by the repository, which calls the manager for them
+public class MeteredManager implements Manager {
+    private final Manager manager;
+    private final DragonRocketsMetrics metrics;
+
+    public MeteredManager(Manager manager, DragonRocketsMetrics metrics) {
+        this.manager = manager;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public boolean addMission(String missionName) {
+        long startTime = DragonRocketsMetrics.startTime();
+        boolean added = manager.addMission(missionName);
+        metrics.record(Operation.ADD_MISSION, startTime);
+        return added;
+    }
+
+    @Override
+    public boolean containsMission(String missionName) {
+        return manager.containsMission(missionName);
+    }
+
+    @Override
+    public MissionId getMissionId(String missionName) {
+        return manager.getMissionId(missionName);
+    }
+
+    @Override
+    public Mission getMission(MissionId missionId) {
+        return manager.getMission(missionId);
+    }
+
+    @Override
+    public boolean assignRocketToMission(Rocket rocket, String missionName) {
+        long startTime = DragonRocketsMetrics.startTime();
+        boolean assigned = manager.assignRocketToMission(rocket, missionName);
+        metrics.record(Operation.ASSIGN_ROCKET, startTime);
+        return assigned;
+    }
+
+    @Override
+    public AssignmentResult tryAssignRocketToMission(Rocket rocket, String missionName) {
+        long startTime = DragonRocketsMetrics.startTime();
+        AssignmentResult result = manager.tryAssignRocketToMission(rocket, missionName);
+        metrics.record(Operation.ASSIGN_ROCKET, startTime);
+        return result;
+    }
+
+    @Override
+    public AssignmentResult tryAssignRocketToMission(Rocket rocket, MissionId missionId) {
+        long startTime = DragonRocketsMetrics.startTime();
+        AssignmentResult result = manager.tryAssignRocketToMission(rocket, missionId);
+        metrics.record(Operation.ASSIGN_ROCKET, startTime);
+        return result;
+    }
+
+    @Override
+    public AssignmentResult[] assignRocketsToMission(List<Rocket> rockets, String missionName) {
+        long startTime = DragonRocketsMetrics.startTime();
+        AssignmentResult[] results = manager.assignRocketsToMission(rockets, missionName);
+        metrics.record(Operation.ASSIGN_ROCKET, startTime);
+        return results;
+    }
+
+    @Override
+    public void setRocketStatus(Rocket rocket, String missionName, RocketStatus newStatus) {
+        manager.setRocketStatus(rocket, missionName, newStatus);
+    }
+
+    @Override
+    public void setRocketStatus(Rocket rocket, Mission mission, RocketStatus newStatus) {
+        manager.setRocketStatus(rocket, mission, newStatus);
+    }
+
+    @Override
+    public boolean setMissionStatus(String missionName, MissionStatus newStatus) {
+        long startTime = DragonRocketsMetrics.startTime();
+        boolean changed = manager.setMissionStatus(missionName, newStatus);
+        metrics.record(Operation.SET_MISSION_STATUS, startTime);
+        return changed;
+    }
+
+    @Override
+    public boolean setMissionStatus(MissionId missionId, MissionStatus newStatus) {
+        long startTime = DragonRocketsMetrics.startTime();
+        boolean changed = manager.setMissionStatus(missionId, newStatus);
+        metrics.record(Operation.SET_MISSION_STATUS, startTime);
+        return changed;
+    }
+
+    @Override
+    public List<Mission> getMissions() {
+        return manager.getMissions();
+    }
+
+    @Override
+    public void forEachMission(Consumer<Mission> action) {
+        manager.forEachMission(action);
+    }
+
+    @Override
+    public Spliterator<Mission> missionSpliterator() {
+        return manager.missionSpliterator();
+    }
+
+    @Override
+    public List<MissionSummary> getSummary() {
+        long startTime = DragonRocketsMetrics.startTime();
+        List<MissionSummary> summary = manager.getSummary();
+        metrics.record(Operation.GET_SUMMARY, startTime);
+        return summary;
+    }
+
+    @Override
+    public List<MissionSummary> getSummary(int limit) {
+        long startTime = DragonRocketsMetrics.startTime();
+        List<MissionSummary> summary = manager.getSummary(limit);
+        metrics.record(Operation.GET_SUMMARY, startTime);
+        return summary;
+    }
+
+    @Override
+    public SummaryPage getSummaryPage(SummaryCursor cursor, int pageSize) {
+        long startTime = DragonRocketsMetrics.startTime();
+        SummaryPage page = manager.getSummaryPage(cursor, pageSize);
+        metrics.record(Operation.GET_SUMMARY, startTime);
+        return page;
+    }
+
+    @Override
+    public void forEachSummaryMission(Consumer<Mission> action) {
+        long startTime = DragonRocketsMetrics.startTime();
+        manager.forEachSummaryMission(action);
+        metrics.record(Operation.GET_SUMMARY, startTime);
+    }
+
+    @Override
+    public void publishSummaries() {
+        manager.publishSummaries();
+    }
+}
@@ -0,0 +1,143 @@
+package dragonrockets.metrics;
+
+import dragonrockets.mission.Manager;
+import dragonrockets.mission.Mission;
+import dragonrockets.mission.MissionId;
+import dragonrockets.rocket.AllocationPolicy;
+import dragonrockets.rocket.Repository;
+import dragonrockets.rocket.Rocket;
+import dragonrockets.rocket.RocketId;
+import dragonrockets.rocket.RocketStatus;
+import dragonrockets.rocket.StatusChangeResult;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+// Main repository measuring adding rockets and changing their statuses. Lookups are not measured, as timing them
+// would cost about as much as the lookups themselves
+public class MeteredRepository implements Repository {
+    private final Repository repository;
+    private final DragonRocketsMetrics metrics;
+
+    public MeteredRepository(Repository repository, DragonRocketsMetrics metrics) {
+        this.repository = repository;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Rocket getRocket(String rocketName) {
+        return repository.getRocket(rocketName);
+    }
+
+    @Override
+    public RocketId getRocketId(String rocketName) {
+        return repository.getRocketId(rocketName);
+    }
+
+    @Override
+    public Rocket getRocket(RocketId rocketId) {
+        return repository.getRocket(rocketId);
+    }
+
+    @Override
+    public boolean addRocket(Rocket rocket) {
+        long startTime = DragonRocketsMetrics.startTime();
+        boolean added = repository.addRocket(rocket);
+        metrics.record(Operation.ADD_ROCKET, startTime);
+        return added;
+    }
+
+    @Override
+    public void ensureCapacity(int expectedNumberOfRockets) {
+        repository.ensureCapacity(expectedNumberOfRockets);
+    }
+
+    @Override
+    public int getNumberOfRockets() {
+        return repository.getNumberOfRockets();
+    }
+
+    @Override
+    public StatusChangeResult trySetRocketStatus(String rocketName, String missionName, RocketStatus newStatus,
+                                                 Manager missionManager) {
+        long startTime = DragonRocketsMetrics.startTime();
+        StatusChangeResult result = repository.trySetRocketStatus(rocketName, missionName, newStatus, missionManager);
+        metrics.record(Operation.SET_ROCKET_STATUS, startTime);
+        return result;
+    }
+
+    @Override
+    public StatusChangeResult trySetRocketStatus(RocketId rocketId, MissionId missionId, RocketStatus newStatus,
+                                                 Manager missionManager) {
+        long startTime = DragonRocketsMetrics.startTime();
+        StatusChangeResult result = repository.trySetRocketStatus(rocketId, missionId, newStatus, missionManager);
+        metrics.record(Operation.SET_ROCKET_STATUS, startTime);
+        return result;
+    }
+
+    @Override
+    public void removeRocket(Rocket rocket) {
+        repository.removeRocket(rocket);
+    }
+
+    @Override
+    public void unassignAndRemoveAllRockets() {
+        repository.unassignAndRemoveAllRockets();
+    }
+
+    @Override
+    public List<Rocket> getRockets() {
+        return repository.getRockets();
+    }
+
+    @Override
+    public void forEachRocket(Consumer<Rocket> action) {
+        repository.forEachRocket(action);
+    }
+
+    @Override
+    public Spliterator<Rocket> rocketSpliterator() {
+        return repository.rocketSpliterator();
+    }
+
+    @Override
+    public int getNumberOfRockets(RocketStatus status) {
+        return repository.getNumberOfRockets(status);
+    }
+
+    @Override
+    public List<Rocket> getRockets(RocketStatus status) {
+        return repository.getRockets(status);
+    }
+
+    @Override
+    public int getNumberOfAvailableRockets() {
+        return repository.getNumberOfAvailableRockets();
+    }
+
+    @Override
+    public List<Rocket> getAvailableRockets() {
+        return repository.getAvailableRockets();
+    }
+
+    @Override
+    public Rocket pollAvailable() {
+        return repository.pollAvailable();
+    }
+
+    @Override
+    public List<Rocket> selectAvailableRockets(int count, AllocationPolicy policy) {
+        return repository.selectAvailableRockets(count, policy);
+    }
+
+    @Override
+    public void wipeOutRocketsLastMission(Mission mission) {
+        repository.wipeOutRocketsLastMission(mission);
+    }
+
+    @Override
+    public List<Rocket> findRocketsByMission(Mission mission) {
+        return repository.findRocketsByMission(mission);
+    }
+}
@@ -0,0 +1,7 @@
+package dragonrockets.metrics;
+
+// Receives snapshots taken periodically, e.g. to log them or push them to a monitoring system
+@FunctionalInterface
+public interface MetricsReporter {
+    void report(MetricsSnapshot snapshot);
+}
@@ -0,0 +1,11 @@
+package dragonrockets.metrics;
+
+import dragonrockets.mission.MissionStatus;
+import dragonrockets.rocket.RocketStatus;
+
+import java.util.Map;
+
+public record MetricsSnapshot(Map<Operation, OperationStats> operations,
+                              Map<RocketStatus, Long> rocketsByStatus,
+                              Map<MissionStatus, Long> missionsByStatus) {
+}
@@ -0,0 +1,11 @@
+package dragonrockets.metrics;
+
+public enum Operation {
+    ADD_ROCKET,
+    ADD_MISSION,
+    ASSIGN_ROCKET,
+    SET_ROCKET_STATUS,
+    SET_MISSION_STATUS,
+    // Any way of reading the summary: the whole list, its first missions, a page or a visit
+    GET_SUMMARY
+}
@@ -0,0 +1,44 @@
+package dragonrockets.metrics;
+
+public class OperationMetrics implements OperationMetricsMBean {
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    void record(long nanos) {
+        latencies.record(nanos);
+    }
+
+    @Override
+    public long getCount() {
+        return latencies.getCount();
+    }
+
+    @Override
+    public long getMeanNanos() {
+        return latencies.getMean();
+    }
+
+    @Override
+    public long getP50Nanos() {
+        return latencies.getValueAtPercentile(50);
+    }
+
+    @Override
+    public long getP99Nanos() {
+        return latencies.getValueAtPercentile(99);
+    }
+
+    @Override
+    public long getP999Nanos() {
+        return latencies.getValueAtPercentile(99.9);
+    }
+
+    @Override
+    public long getMaxNanos() {
+        return latencies.getMax();
+    }
+
+    OperationStats getStats() {
+        return new OperationStats(getCount(), getMeanNanos(), getP50Nanos(), getP99Nanos(), getP999Nanos(),
+                getMaxNanos());
+    }
+}
@@ -0,0 +1,16 @@
+package dragonrockets.metrics;
+
+// Latencies in nanoseconds
+public interface OperationMetricsMBean {
+    long getCount();
+
+    long getMeanNanos();
+
+    long getP50Nanos();
+
+    long getP99Nanos();
+
+    long getP999Nanos();
+
+    long getMaxNanos();
+}
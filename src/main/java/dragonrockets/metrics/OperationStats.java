@@ -0,0 +1,6 @@
+package dragonrockets.metrics;
+
+// Latencies in nanoseconds, percentiles rounded up to the histogram precision
+public record OperationStats(long count, long meanNanos, long p50Nanos, long p99Nanos, long p999Nanos,
+                             long maxNanos) {
+}
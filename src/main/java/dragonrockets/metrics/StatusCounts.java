@@ -0,0 +1,99 @@
+package dragonrockets.metrics;
+
+import dragonrockets.event.TransitionEvent;
+import dragonrockets.event.TransitionEventPublisher;
+import dragonrockets.mission.MissionStatus;
+import dragonrockets.rocket.RocketStatus;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Numbers of rockets and missions by status, kept up to date from the transition events rather than by asking
+// the repository or the manager, so reading them takes no locks
+public class StatusCounts implements StatusCountsMBean, TransitionEventPublisher {
+    private final LongAdder[] rocketCounts = newAdders(RocketStatus.values().length);
+    private final LongAdder[] missionCounts = newAdders(MissionStatus.values().length);
+
+    @Override
+    public void publish(TransitionEvent event) {
+        if (event instanceof TransitionEvent.RocketStatusChanged statusChanged) {
+            rocketCounts[statusChanged.from().ordinal()].decrement();
+            rocketCounts[statusChanged.to().ordinal()].increment();
+        } else if (event instanceof TransitionEvent.MissionStatusChanged statusChanged) {
+            missionCounts[statusChanged.from().ordinal()].decrement();
+            missionCounts[statusChanged.to().ordinal()].increment();
+        } else if (event instanceof TransitionEvent.RocketCreated created) {
+            rocketCounts[created.status().ordinal()].increment();
+        } else if (event instanceof TransitionEvent.MissionCreated) {
+            missionCounts[MissionStatus.SCHEDULED.ordinal()].increment();
+        }
+    }
+
+    public long getRockets(RocketStatus status) {
+        return rocketCounts[status.ordinal()].sum();
+    }
+
+    public long getMissions(MissionStatus status) {
+        return missionCounts[status.ordinal()].sum();
+    }
+
+    @Override
+    public long getOnGroundRockets() {
+        return getRockets(RocketStatus.ON_GROUND);
+    }
+
+    @Override
+    public long getInSpaceRockets() {
+        return getRockets(RocketStatus.IN_SPACE);
+    }
+
+    @Override
+    public long getInRepairRockets() {
+        return getRockets(RocketStatus.IN_REPAIR);
+    }
+
+    @Override
+    public long getScheduledMissions() {
+        return getMissions(MissionStatus.SCHEDULED);
+    }
+
+    @Override
+    public long getPendingMissions() {
+        return getMissions(MissionStatus.PENDING);
+    }
+
+    @Override
+    public long getInProgressMissions() {
+        return getMissions(MissionStatus.IN_PROGRESS);
+    }
+
+    @Override
+    public long getEndedMissions() {
+        return getMissions(MissionStatus.ENDED);
+    }
+
+    Map<RocketStatus, Long> getRocketCounts() {
+        Map<RocketStatus, Long> counts = new EnumMap<>(RocketStatus.class);
+        for (RocketStatus status : RocketStatus.values()) {
+            counts.put(status, getRockets(status));
+        }
+        return counts;
+    }
+
+    Map<MissionStatus, Long> getMissionCounts() {
+        Map<MissionStatus, Long> counts = new EnumMap<>(MissionStatus.class);
+        for (MissionStatus status : MissionStatus.values()) {
+            counts.put(status, getMissions(status));
+        }
+        return counts;
+    }
+
+    private static LongAdder[] newAdders(int length) {
+        LongAdder[] adders = new LongAdder[length];
+        for (int i = 0; i < length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
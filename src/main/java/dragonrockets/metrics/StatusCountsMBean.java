@@ -0,0 +1,17 @@
+package dragonrockets.metrics;
+
+public interface StatusCountsMBean {
+    long getOnGroundRockets();
+
+    long getInSpaceRockets();
+
+    long getInRepairRockets();
+
+    long getScheduledMissions();
+
+    long getPendingMissions();
+
+    long getInProgressMissions();
+
+    long getEndedMissions();
+}
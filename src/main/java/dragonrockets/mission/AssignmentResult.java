@@ -0,0 +1,9 @@
+package dragonrockets.mission;
+
+public enum AssignmentResult {
+    ASSIGNED,
+    // IN_SPACE rocket or IN_REPAIR rocket still assigned to its mission
+    NOT_ASSIGNABLE,
+    ROCKET_NOT_FOUND,
+    MISSION_NOT_FOUND
+}
@@ -0,0 +1,211 @@
+package dragonrockets.mission;
+
+import dragonrockets.event.TransitionEventPublisher;
+import dragonrockets.rocket.Repository;
+import dragonrockets.rocket.Rocket;
+import dragonrockets.rocket.RocketStatus;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+// Thread-safe mission manager. Every transition holds the stripe lock of the mission it touches, and the summary
+// index only queues the mission on that stripe, so transitions of missions on different stripes proceed in
+// parallel. Rocket's state is only changed while holding the stripe of its last mission (and, when assigning, also
+// the one of the target mission). Reads hold all stripes and bring the summary up to date first.
+// With snapshot reads, every transition publishes a new immutable version of the summary before releasing its
+// locks, and the summary is read from the latest version without taking any lock, so reading it never stalls
+// transitions. Publishing swaps the one latest version, so transitions then do meet on that short step
+public class ConcurrentMissionManager extends MissionManager {
+    private final MissionLocks missionLocks;
+    private final boolean snapshotReads;
+
+    public ConcurrentMissionManager(Repository mainRepository, MissionLocks missionLocks) {
+        this(mainRepository, missionLocks, TransitionEventPublisher.NONE);
+    }
+
+    public ConcurrentMissionManager(Repository mainRepository, MissionLocks missionLocks,
+                                    TransitionEventPublisher eventPublisher) {
+        this(mainRepository, missionLocks, eventPublisher, false);
+    }
+
+    public ConcurrentMissionManager(Repository mainRepository, MissionLocks missionLocks,
+                                    TransitionEventPublisher eventPublisher, boolean snapshotReads) {
+        super(mainRepository, new ConcurrentHashMap<>(), eventPublisher, snapshotReads, missionLocks);
+        this.missionLocks = missionLocks;
+        this.snapshotReads = snapshotReads;
+    }
+
+    @Override
+    public boolean addMission(String missionName) {
+        missionLocks.lock(missionName);
+        try {
+            boolean added = super.addMission(missionName);
+            publishSummaries(findMission(missionName), null);
+            return added;
+        } finally {
+            missionLocks.unlock(missionName);
+        }
+    }
+
+    @Override
+    public AssignmentResult tryAssignRocketToMission(Rocket rocket, String missionName) {
+        return assignUnderLocks(rocket, missionName, null);
+    }
+
+    @Override
+    public AssignmentResult tryAssignRocketToMission(Rocket rocket, MissionId missionId) {
+        Mission mission = getMission(missionId);
+        if (mission == null) {
+            return AssignmentResult.MISSION_NOT_FOUND;
+        }
+        return assignUnderLocks(rocket, mission.getName(), missionId);
+    }
+
+    // Mission is found by its handle when there is one, by its name otherwise. Assignments pass no lambda here,
+    // so taking the locks allocates nothing
+    private AssignmentResult assignUnderLocks(Rocket rocket, String missionName, MissionId missionId) {
+        while (true) {
+            Mission lastMission = rocket.getLastMissionOrNull();
+            String lastMissionName = lastMission == null ? null : lastMission.getName();
+
+            missionLocks.lock(lastMissionName, missionName);
+            try {
+                // Rockets without last mission are not guarded by any mission stripe, concurrent assignments
+                // of the same rocket to different missions are therefore serialized on the rocket itself
+                synchronized (rocket) {
+                    if (rocket.getLastMissionOrNull() == lastMission) {
+                        AssignmentResult result = missionId == null
+                                ? super.tryAssignRocketToMission(rocket, missionName)
+                                : super.tryAssignRocketToMission(rocket, missionId);
+                        publishSummaries(lastMission, findMission(missionName));
+                        return result;
+                    }
+                }
+            } finally {
+                missionLocks.unlock(lastMissionName, missionName);
+            }
+            // Rocket's last mission changed before the locks were taken, so the right stripes have to be locked again
+        }
+    }
+
+    // Rockets are assigned one by one under the stripes of their last mission and of the target mission, since
+    // holding the target mission's stripe for the whole batch could deadlock with assignments the other way round
+    @Override
+    public AssignmentResult[] assignRocketsToMission(List<Rocket> rockets, String missionName) {
+        getExistingMission(missionName);
+        AssignmentResult[] results = new AssignmentResult[rockets.size()];
+        for (int i = 0; i < results.length; i++) {
+            Rocket rocket = rockets.get(i);
+            if (rocket == null) {
+                results[i] = AssignmentResult.ROCKET_NOT_FOUND;
+            } else {
+                results[i] = tryAssignRocketToMission(rocket, missionName);
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public void setRocketStatus(Rocket rocket, String missionName, RocketStatus newStatus) {
+        missionLocks.lock(missionName);
+        try {
+            super.setRocketStatus(rocket, missionName, newStatus);
+            publishSummaries(findMission(missionName), null);
+        } finally {
+            missionLocks.unlock(missionName);
+        }
+    }
+
+    @Override
+    public void setRocketStatus(Rocket rocket, Mission mission, RocketStatus newStatus) {
+        missionLocks.lock(mission.getName());
+        try {
+            super.setRocketStatus(rocket, mission, newStatus);
+            publishSummaries(mission, null);
+        } finally {
+            missionLocks.unlock(mission.getName());
+        }
+    }
+
+    @Override
+    public boolean setMissionStatus(String missionName, MissionStatus newStatus) {
+        missionLocks.lock(missionName);
+        try {
+            boolean changed = super.setMissionStatus(missionName, newStatus);
+            publishSummaries(findMission(missionName), null);
+            return changed;
+        } finally {
+            missionLocks.unlock(missionName);
+        }
+    }
+
+    @Override
+    public boolean setMissionStatus(MissionId missionId, MissionStatus newStatus) {
+        Mission mission = getMission(missionId);
+        if (mission == null) {
+            return super.setMissionStatus(missionId, newStatus);
+        }
+        missionLocks.lock(mission.getName());
+        try {
+            boolean changed = super.setMissionStatus(missionId, newStatus);
+            publishSummaries(mission, null);
+            return changed;
+        } finally {
+            missionLocks.unlock(mission.getName());
+        }
+    }
+
+    // Summary is read with all stripes locked (or from the latest published version), so it never shows a rocket
+    // in between two missions
+    @Override
+    public List<MissionSummary> getSummary() {
+        if (snapshotReads) {
+            return super.getSummary();
+        }
+        missionLocks.lockAll();
+        try {
+            return super.getSummary();
+        } finally {
+            missionLocks.unlockAll();
+        }
+    }
+
+    @Override
+    public List<MissionSummary> getSummary(int limit) {
+        if (snapshotReads) {
+            return super.getSummary(limit);
+        }
+        missionLocks.lockAll();
+        try {
+            return super.getSummary(limit);
+        } finally {
+            missionLocks.unlockAll();
+        }
+    }
+
+    @Override
+    public SummaryPage getSummaryPage(SummaryCursor cursor, int pageSize) {
+        if (snapshotReads) {
+            return super.getSummaryPage(cursor, pageSize);
+        }
+        missionLocks.lockAll();
+        try {
+            return super.getSummaryPage(cursor, pageSize);
+        } finally {
+            missionLocks.unlockAll();
+        }
+    }
+
+    // Missions cannot change while being visited, so the visit should be short. Missions themselves are not
+    // versioned, so they are visited with all stripes locked even with snapshot reads
+    @Override
+    public void forEachSummaryMission(Consumer<Mission> action) {
+        missionLocks.lockAll();
+        try {
+            super.forEachSummaryMission(action);
+        } finally {
+            missionLocks.unlockAll();
+        }
+    }
+}
@@ -4,17 +4,60 @@ import dragonrockets.rocket.Rocket;
 import dragonrockets.rocket.RocketStatus;
 
 import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 public interface Manager {
     boolean addMission(String missionName);
 
     boolean containsMission(String missionName);
 
-    void assignRocketToMission(Rocket rocket, String missionName);
+    // Null when there is no such mission
+    MissionId getMissionId(String missionName);
+
+    // Null for a null handle or one not given out by this manager
+    Mission getMission(MissionId missionId);
+
+    boolean assignRocketToMission(Rocket rocket, String missionName);
+
+    // Reports a missing mission by the result instead of throwing
+    AssignmentResult tryAssignRocketToMission(Rocket rocket, String missionName);
+
+    AssignmentResult tryAssignRocketToMission(Rocket rocket, MissionId missionId);
+
+    // Null rockets stand for rockets that have not been found
+    AssignmentResult[] assignRocketsToMission(List<Rocket> rockets, String missionName);
 
     void setRocketStatus(Rocket rocket, String missionName, RocketStatus newStatus);
 
+    // Mission has to be the rocket's last mission, as verified by the repository
+    void setRocketStatus(Rocket rocket, Mission mission, RocketStatus newStatus);
+
     boolean setMissionStatus(String missionName, MissionStatus newStatus);
 
+    boolean setMissionStatus(MissionId missionId, MissionStatus newStatus);
+
+    // Copy of all missions, forEachMission() and missionSpliterator() traverse them without copying
     List<Mission> getMissions();
+
+    void forEachMission(Consumer<Mission> action);
+
+    // Read-only traversal which can be split for parallel streams, weakly consistent in concurrent mode
+    Spliterator<Mission> missionSpliterator();
+
+    List<MissionSummary> getSummary();
+
+    // First missions of the summary, in the summary order
+    List<MissionSummary> getSummary(int limit);
+
+    // Missions following the cursor in the summary order, from the first one when the cursor is null
+    SummaryPage getSummaryPage(SummaryCursor cursor, int pageSize);
+
+    // Visits missions listed in the summary in the summary order, without building the summary
+    void forEachSummaryMission(Consumer<Mission> action);
+
+    // Makes missions changed directly rather than through the manager, e.g. by loading a snapshot, visible
+    // to summary reads that do not look at the missions themselves
+    default void publishSummaries() {
+    }
 }
@@ -1,28 +1,75 @@
 package dragonrockets.mission;
 
-import dragonrockets.rocket.Repository;
+import dragonrockets.event.TransitionEvent;
+import dragonrockets.event.TransitionEventPublisher;
 import dragonrockets.rocket.Rocket;
-import dragonrockets.rocket.RocketRepository;
+import dragonrockets.rocket.RocketStatus;
+import dragonrockets.rocket.RocketSummary;
+import dragonrockets.utils.PersistentSortedMap;
+import dragonrockets.utils.SummaryUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 
 public class Mission {
     private final String name;
-    private final Repository inSpaceRocketsRepository;
-    private final Repository inRepairRocketsRepository;
-    private MissionStatus status;
+    // Name folded to lower case, missions being told apart by their names case-insensitively. Repositories index
+    // rockets by it, so it is folded once rather than on every transition
+    private final String key;
+    private volatile MissionStatus status;
+
+    // Rockets having this mission as the last one, sorted by name. The summary lists ON_GROUND rockets first and
+    // IN_SPACE rockets second, so it walks them twice. Rockets are counted by status, which lets a rocket change its
+    // status without being moved anywhere
+    private final NavigableMap<String, Rocket> rockets;
+    private final int[] rocketCounts = new int[RocketStatus.values().length];
+    private final MissionSummaryIndex summaryIndex;
+    // Key of this mission in the summary index, null when not listed there
+    SummaryCursor summaryPosition;
+    // Set while the mission waits in the summary index for being repositioned by the next summary read
+    boolean repositionPending;
+    // Bumped by every change of the status or the rockets. Summary is made once per version, so missions not changed
+    // since the previous summary cost nothing to summarize again
+    private int version;
+    private MissionSummary summary;
+    private int summaryVersion;
+    private boolean batchUpdate;
+    private final TransitionEventPublisher eventPublisher;
+    // Handle given out by the mission manager
+    MissionId id;
+
+    // With a versioned summary index, summary rockets are also kept in an immutable map, so each published
+    // summary of the mission shares all but O(log n) entries with the previous one
+    private final boolean versioned;
+    private PersistentSortedMap<SummaryRocketKey, RocketSummary> summaryRockets = PersistentSortedMap.empty();
+    // Key of this mission in the last published summary version, null when not listed there
+    SummaryCursor publishedPosition;
+    boolean publishPending = true;
 
     public Mission(String name) {
+        this(name, null, TransitionEventPublisher.NONE);
+    }
+
+    Mission(String name, MissionSummaryIndex summaryIndex, TransitionEventPublisher eventPublisher) {
         this.name = name;
-        this.inSpaceRocketsRepository = new RocketRepository();
-        this.inRepairRocketsRepository = new RocketRepository();
+        this.key = name.toLowerCase(Locale.ROOT);
         this.status = MissionStatus.SCHEDULED;
+        this.rockets = new TreeMap<>();
+        this.summaryIndex = summaryIndex;
+        this.eventPublisher = eventPublisher;
+        this.versioned = summaryIndex != null && summaryIndex.isVersioned();
     }
 
     public String getName() {
         return name;
     }
 
-    public void addRegularRocket(Rocket rocket) {
-        inSpaceRocketsRepository.addRocket(rocket);
+    public String getKey() {
+        return key;
     }
 
     public MissionStatus getStatus() {
@@ -30,14 +77,136 @@ public class Mission {
     }
 
     public void setStatus(MissionStatus status) {
+        MissionStatus oldStatus = this.status;
+        if (oldStatus == status) {
+            return;
+        }
         this.status = status;
+        summaryChanged();
+        eventPublisher.publish(new TransitionEvent.MissionStatusChanged(name, oldStatus, status));
+    }
+
+    public int getNumberOfInSpaceRockets() {
+        return rocketCounts[RocketStatus.IN_SPACE.ordinal()];
+    }
+
+    public int getNumberOfInRepairRockets() {
+        return rocketCounts[RocketStatus.IN_REPAIR.ordinal()];
+    }
+
+    public List<Rocket> getInSpaceRockets() {
+        return getRockets(RocketStatus.IN_SPACE);
+    }
+
+    public List<Rocket> getInRepairRockets() {
+        return getRockets(RocketStatus.IN_REPAIR);
+    }
+
+    public void rocketAssigned(Rocket rocket) {
+        rockets.put(rocket.getName(), rocket);
+        rocketCounts[rocket.getStatus().ordinal()]++;
+        if (versioned) {
+            addSummaryRocket(rocket, rocket.getStatus());
+        }
+        summaryChanged();
+    }
+
+    public void rocketUnassigned(Rocket rocket) {
+        rockets.remove(rocket.getName());
+        rocketCounts[rocket.getStatus().ordinal()]--;
+        if (versioned) {
+            summaryRockets = summaryRockets.remove(new SummaryRocketKey(rocket.getStatus(), rocket.getName()));
+        }
+        summaryChanged();
+    }
+
+    public void rocketStatusChanged(Rocket rocket, RocketStatus oldStatus) {
+        rocketCounts[oldStatus.ordinal()]--;
+        rocketCounts[rocket.getStatus().ordinal()]++;
+        if (versioned) {
+            summaryRockets = summaryRockets.remove(new SummaryRocketKey(oldStatus, rocket.getName()));
+            addSummaryRocket(rocket, rocket.getStatus());
+        }
+        summaryChanged();
+    }
+
+    public int getSummaryRocketNumber() {
+        return rocketCounts[RocketStatus.ON_GROUND.ordinal()] + rocketCounts[RocketStatus.IN_SPACE.ordinal()];
+    }
+
+    public List<Rocket> getSummaryRockets() {
+        List<Rocket> summaryRockets = new ArrayList<>(getSummaryRocketNumber());
+        forEachSummaryRocket(summaryRockets::add);
+        return summaryRockets;
+    }
+
+    public void forEachSummaryRocket(Consumer<Rocket> action) {
+        forEachRocket(RocketStatus.ON_GROUND, action);
+        forEachRocket(RocketStatus.IN_SPACE, action);
+    }
+
+    // SCHEDULED and ENDED missions are always listed, IN_PROGRESS and PENDING ones only when they have
+    // at least one non-IN_REPAIR rocket
+    public boolean isListedInSummary() {
+        return status == MissionStatus.SCHEDULED || status == MissionStatus.ENDED || getSummaryRocketNumber() > 0;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public MissionSummary getSummary() {
+        if (summary == null || summaryVersion != version) {
+            summary = versioned
+                    ? new MissionSummary(name, status.getSummaryForm(), summaryRockets.values())
+                    : SummaryUtils.convertMissionToMissionSummary(this);
+            summaryVersion = version;
+        }
+        return summary;
+    }
+
+    private void addSummaryRocket(Rocket rocket, RocketStatus status) {
+        if (status == RocketStatus.ON_GROUND || status == RocketStatus.IN_SPACE) {
+            summaryRockets = summaryRockets.put(new SummaryRocketKey(status, rocket.getName()),
+                    rocket.getSummary());
+        }
+    }
+
+    private List<Rocket> getRockets(RocketStatus status) {
+        List<Rocket> rocketsInStatus = new ArrayList<>(rocketCounts[status.ordinal()]);
+        forEachRocket(status, rocketsInStatus::add);
+        return rocketsInStatus;
+    }
+
+    // Stops walking once all rockets in the status have been visited
+    private void forEachRocket(RocketStatus status, Consumer<Rocket> action) {
+        int remaining = rocketCounts[status.ordinal()];
+        for (Rocket rocket : rockets.values()) {
+            if (remaining == 0) {
+                return;
+            }
+            if (rocket.getStatus() == status) {
+                action.accept(rocket);
+                remaining--;
+            }
+        }
+    }
+
+    // Mission is re-positioned in the summary index once for the whole batch of changes
+    void startBatchUpdate() {
+        batchUpdate = true;
     }
 
-    public Repository getInSpaceRocketsRepository() {
-        return inSpaceRocketsRepository;
+    void finishBatchUpdate() {
+        batchUpdate = false;
+        summaryChanged();
     }
 
-    public Repository getInRepairRocketsRepository() {
-        return inRepairRocketsRepository;
+    private void summaryChanged() {
+        version++;
+        publishPending = true;
+        if (summaryIndex != null && !batchUpdate) {
+            summaryIndex.reposition(this);
+        }
     }
 }
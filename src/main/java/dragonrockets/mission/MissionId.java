@@ -0,0 +1,6 @@
+package dragonrockets.mission;
+
+// Handle of a mission given out by the mission manager, resolved by array indexing instead of hashing the name.
+// Missions are never removed, so handles stay valid for the manager's lifetime
+public record MissionId(int value) {
+}
@@ -0,0 +1,82 @@
+package dragonrockets.mission;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+// Striped locks guarding mission state. Mission names are hashed case-insensitively, so missions sharing
+// the main repository's (case-insensitive) mission index entry always share a stripe as well
+public class MissionLocks {
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public MissionLocks(int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Number of lock stripes must be positive, got " + stripeCount);
+        }
+        // Rounding up to a power of two lets the stripe be picked by masking the hash
+        int size = 1;
+        while (size < stripeCount) {
+            size <<= 1;
+        }
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    public void lock(String missionName) {
+        stripes[stripeOf(missionName)].lock();
+    }
+
+    public void unlock(String missionName) {
+        stripes[stripeOf(missionName)].unlock();
+    }
+
+    // Locks both missions' stripes in stripe order to avoid deadlocks, first mission name can be null
+    public void lock(String firstMissionName, String secondMissionName) {
+        int second = stripeOf(secondMissionName);
+        int first = firstMissionName == null ? second : stripeOf(firstMissionName);
+        stripes[Math.min(first, second)].lock();
+        if (first != second) {
+            stripes[Math.max(first, second)].lock();
+        }
+    }
+
+    public void unlock(String firstMissionName, String secondMissionName) {
+        int second = stripeOf(secondMissionName);
+        int first = firstMissionName == null ? second : stripeOf(firstMissionName);
+        if (first != second) {
+            stripes[Math.max(first, second)].unlock();
+        }
+        stripes[Math.min(first, second)].unlock();
+    }
+
+    public void lockAll() {
+        for (ReentrantLock stripe : stripes) {
+            stripe.lock();
+        }
+    }
+
+    public void unlockAll() {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            stripes[i].unlock();
+        }
+    }
+
+    // Case-insensitive mission name hash, equal for missions sharing a stripe whenever the stripe count is the same
+    public static int missionHash(String missionName) {
+        int hash = 0;
+        for (int i = 0; i < missionName.length(); i++) {
+            hash = 31 * hash + Character.toLowerCase(missionName.charAt(i));
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    public int stripeCount() {
+        return stripes.length;
+    }
+
+    public int stripeOf(String missionName) {
+        return missionHash(missionName) & mask;
+    }
+}
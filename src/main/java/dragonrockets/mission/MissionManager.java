@@ -1,28 +1,59 @@
 package dragonrockets.mission;
 
+import dragonrockets.event.TransitionEvent;
+import dragonrockets.event.TransitionEventPublisher;
 import dragonrockets.exception.MissionNotFoundException;
 import dragonrockets.rocket.Repository;
 import dragonrockets.rocket.Rocket;
 import dragonrockets.rocket.RocketStatus;
+import dragonrockets.utils.HandleTable;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 public class MissionManager implements Manager {
     private final Map<String, Mission> missions;
     private final Repository mainRepository;
+    private final MissionSummaryIndex summaryIndex;
+    private final TransitionEventPublisher eventPublisher;
+    private final HandleTable<Mission> missionsById = new HandleTable<>();
 
     public MissionManager(Repository mainRepository) {
+        this(mainRepository, TransitionEventPublisher.NONE);
+    }
+
+    public MissionManager(Repository mainRepository, TransitionEventPublisher eventPublisher) {
+        this(mainRepository, new HashMap<>(), eventPublisher);
+    }
+
+    protected MissionManager(Repository mainRepository, Map<String, Mission> missions,
+                             TransitionEventPublisher eventPublisher) {
+        this(mainRepository, missions, eventPublisher, false, null);
+    }
+
+    // Versioned summary is read without locks, each transition publishing the missions it has touched.
+    // Given the mission locks, missions are repositioned in the summary by the reads holding all of them
+    protected MissionManager(Repository mainRepository, Map<String, Mission> missions,
+                             TransitionEventPublisher eventPublisher, boolean versionedSummary,
+                             MissionLocks missionLocks) {
         this.mainRepository = mainRepository;
-        this.missions = new HashMap<>();
+        this.missions = missions;
+        this.summaryIndex = new MissionSummaryIndex(versionedSummary, missionLocks);
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     public boolean addMission(String missionName) {
         if (!missions.containsKey(missionName)) {
-            missions.put(missionName, new Mission(missionName));
+            Mission mission = new Mission(missionName, summaryIndex, eventPublisher);
+            mission.id = new MissionId(missionsById.register(mission));
+            missions.put(missionName, mission);
+            summaryIndex.reposition(mission);
+            eventPublisher.publish(new TransitionEvent.MissionCreated(missionName));
             return true;
         }
         return false;
@@ -34,75 +65,163 @@ public class MissionManager implements Manager {
     }
 
     @Override
-    public void assignRocketToMission(Rocket rocket, String missionName) {
+    public MissionId getMissionId(String missionName) {
         Mission mission = missions.get(missionName);
+        return mission == null ? null : mission.id;
+    }
+
+    @Override
+    public Mission getMission(MissionId missionId) {
+        return missionId == null ? null : missionsById.get(missionId.value());
+    }
+
+    @Override
+    public boolean assignRocketToMission(Rocket rocket, String missionName) {
+        AssignmentResult result = tryAssignRocketToMission(rocket, missionName);
+        if (result == AssignmentResult.MISSION_NOT_FOUND) {
+            throw new MissionNotFoundException("Mission " + missionName + " does not exist");
+        }
+        return result == AssignmentResult.ASSIGNED;
+    }
+
+    @Override
+    public AssignmentResult tryAssignRocketToMission(Rocket rocket, String missionName) {
+        return tryAssignRocket(rocket, missions.get(missionName));
+    }
+
+    @Override
+    public AssignmentResult tryAssignRocketToMission(Rocket rocket, MissionId missionId) {
+        return tryAssignRocket(rocket, getMission(missionId));
+    }
+
+    @Override
+    public AssignmentResult[] assignRocketsToMission(List<Rocket> rockets, String missionName) {
+        Mission mission = getExistingMission(missionName);
+        AssignmentResult[] results = new AssignmentResult[rockets.size()];
+
+        mission.startBatchUpdate();
+        try {
+            for (int i = 0; i < results.length; i++) {
+                Rocket rocket = rockets.get(i);
+                if (rocket == null) {
+                    results[i] = AssignmentResult.ROCKET_NOT_FOUND;
+                } else {
+                    results[i] = assignRocket(rocket, mission) ? AssignmentResult.ASSIGNED : AssignmentResult.NOT_ASSIGNABLE;
+                }
+            }
+        } finally {
+            mission.finishBatchUpdate();
+        }
+        return results;
+    }
+
+    // Null when there is no such mission
+    protected Mission findMission(String missionName) {
+        return missions.get(missionName);
+    }
+
+    // Called with the locks of the given missions held, either of them can be null
+    protected void publishSummaries(Mission first, Mission second) {
+        summaryIndex.publish(first, second);
+    }
+
+    @Override
+    public void publishSummaries() {
+        summaryIndex.publishAll(missions.values());
+    }
+
+    protected Mission getExistingMission(String missionName) {
+        Mission mission = missions.get(missionName);
+        if (mission == null) {
+            throw new MissionNotFoundException("Mission " + missionName + " does not exist");
+        }
+        return mission;
+    }
+
+    private AssignmentResult tryAssignRocket(Rocket rocket, Mission mission) {
+        if (mission == null) {
+            return AssignmentResult.MISSION_NOT_FOUND;
+        }
+        return assignRocket(rocket, mission) ? AssignmentResult.ASSIGNED : AssignmentResult.NOT_ASSIGNABLE;
+    }
+
+    private boolean assignRocket(Rocket rocket, Mission mission) {
+        if (!rocket.isAssignable()) {
+            return false;
+        }
 
         // Final status will depend on the original status - ON_GROUND rocket will be set to IN_SPACE,
         // IN_REPAIR rocket (only the one that was grounded after being set IN_REPAIR)
         RocketStatus desiredStatus = rocket.getStatus() == RocketStatus.ON_GROUND ? RocketStatus.IN_SPACE : RocketStatus.IN_REPAIR;
-        setRocketStatus(rocket, missionName, desiredStatus);
         rocket.setLastMission(mission);
-        mission.addRegularRocket(rocket);
+        changeRocketStatus(rocket, mission, desiredStatus);
+        return true;
     }
 
+    // Mission counts its rockets by status, so rockets are moved between the counts by changing their status first
+    // and the mission status is decided from the counts afterwards
     @Override
     public void setRocketStatus(Rocket rocket, String missionName, RocketStatus newStatus) {
+        changeRocketStatus(rocket, missions.get(missionName), newStatus);
+    }
+
+    @Override
+    public void setRocketStatus(Rocket rocket, Mission mission, RocketStatus newStatus) {
+        changeRocketStatus(rocket, mission, newStatus);
+    }
+
+    private void changeRocketStatus(Rocket rocket, Mission mission, RocketStatus newStatus) {
         RocketStatus oldStatus = rocket.getStatus();
 
-        Mission mission = missions.get(missionName);
+        if (newStatus == RocketStatus.ON_GROUND && oldStatus == RocketStatus.IN_REPAIR) {
+            // Rocket grounded while in repair leaves the mission keeping its IN_REPAIR status
+            rocket.setLastMission(null);
+            if (mission.getNumberOfInRepairRockets() == 0) {
+                mission.setStatus(MissionStatus.IN_PROGRESS);
+            }
+            return;
+        }
+
+        rocket.setStatus(newStatus);
 
         if (newStatus == RocketStatus.IN_REPAIR) {
             mission.setStatus(MissionStatus.PENDING);
-            mission.getInSpaceRocketsRepository().removeRocket(rocket);
-            mission.getInRepairRocketsRepository().addRocket(rocket);
-        } else if (newStatus == RocketStatus.IN_SPACE && oldStatus == RocketStatus.ON_GROUND) {
-            mission.getInSpaceRocketsRepository().addRocket(rocket);
-            if (mission.getInRepairRocketsRepository().getNumberOfRockets() == 0) {
-                mission.setStatus(MissionStatus.IN_PROGRESS);
-            }
-        } else if (newStatus == RocketStatus.IN_SPACE && oldStatus == RocketStatus.IN_REPAIR) {
-            mission.getInRepairRocketsRepository().removeRocket(rocket);
-            mission.getInSpaceRocketsRepository().addRocket(rocket);
-            if (mission.getInRepairRocketsRepository().getNumberOfRockets() == 0) {
+        } else if (newStatus == RocketStatus.IN_SPACE) {
+            if (mission.getNumberOfInRepairRockets() == 0) {
                 mission.setStatus(MissionStatus.IN_PROGRESS);
             }
-        } else if (newStatus == RocketStatus.ON_GROUND && oldStatus == RocketStatus.IN_REPAIR) {
-            mission.getInRepairRocketsRepository().removeRocket(rocket);
-            if (mission.getInRepairRocketsRepository().getNumberOfRockets() == 0) {
-                mission.setStatus(MissionStatus.IN_PROGRESS);
-            }
-            rocket.setLastMission(null);
-            return;
         } else if (newStatus == RocketStatus.ON_GROUND && oldStatus == RocketStatus.IN_SPACE) {
-            // This rocket must be in one of below sub-repositories, so to avoid iterative search
-            // the removal is called for both sub-repositories
-            mission.getInRepairRocketsRepository().removeRocket(rocket);
-            mission.getInSpaceRocketsRepository().removeRocket(rocket);
-
-            if (mission.getInSpaceRocketsRepository().getNumberOfRockets() == 0
-                    && mission.getInRepairRocketsRepository().getNumberOfRockets() == 0) {
-
-                setMissionStatus(missionName, MissionStatus.SCHEDULED);
-                mainRepository.wipeOutRocketsLastMission(mission);
+            if (mission.getNumberOfInSpaceRockets() == 0 && mission.getNumberOfInRepairRockets() == 0) {
+                changeMissionStatus(mission, MissionStatus.SCHEDULED);
             }
         }
-
-        rocket.setStatus(newStatus);
     }
 
     @Override
     public boolean setMissionStatus(String missionName, MissionStatus newStatus) {
 
-        if (!missions.containsKey(missionName)) {
+        Mission mission = missions.get(missionName);
+        if (mission == null) {
             throw new MissionNotFoundException("Mission '" + missionName + "' does not exist");
         }
+        return changeMissionStatus(mission, newStatus);
+    }
+
+    @Override
+    public boolean setMissionStatus(MissionId missionId, MissionStatus newStatus) {
+        Mission mission = getMission(missionId);
+        if (mission == null) {
+            throw new MissionNotFoundException("Mission " + missionId + " does not exist");
+        }
+        return changeMissionStatus(mission, newStatus);
+    }
 
+    private boolean changeMissionStatus(Mission mission, MissionStatus newStatus) {
         // Mission can turn IN_PROGRESS or PENDING only by proper rocket management scenarios
         if (newStatus == MissionStatus.IN_PROGRESS || newStatus == MissionStatus.PENDING) {
             return false;
         }
 
-        Mission mission = missions.get(missionName);
         MissionStatus oldStatus = mission.getStatus();
 
         if (oldStatus == MissionStatus.ENDED || oldStatus == newStatus) {
@@ -110,8 +229,7 @@ public class MissionManager implements Manager {
         }
 
         if (newStatus == MissionStatus.SCHEDULED || newStatus == MissionStatus.ENDED) {
-            mission.getInRepairRocketsRepository().unassignAndRemoveAllRockets();
-            mission.getInSpaceRocketsRepository().unassignAndRemoveAllRockets();
+            mainRepository.wipeOutRocketsLastMission(mission);
             mission.setStatus(newStatus);
         }
 
@@ -122,4 +240,34 @@ public class MissionManager implements Manager {
     public List<Mission> getMissions() {
         return new ArrayList<>(missions.values());
     }
+
+    @Override
+    public void forEachMission(Consumer<Mission> action) {
+        missions.values().forEach(action);
+    }
+
+    @Override
+    public Spliterator<Mission> missionSpliterator() {
+        return missions.values().spliterator();
+    }
+
+    @Override
+    public List<MissionSummary> getSummary() {
+        return summaryIndex.getSummary();
+    }
+
+    @Override
+    public List<MissionSummary> getSummary(int limit) {
+        return summaryIndex.getSummary(limit);
+    }
+
+    @Override
+    public SummaryPage getSummaryPage(SummaryCursor cursor, int pageSize) {
+        return summaryIndex.getSummaryPage(cursor, pageSize);
+    }
+
+    @Override
+    public void forEachSummaryMission(Consumer<Mission> action) {
+        summaryIndex.forEach(action);
+    }
 }
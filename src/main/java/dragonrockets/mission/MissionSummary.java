@@ -12,11 +12,9 @@ public record MissionSummary(String name, String status, List<RocketSummary> roc
 
     @Override
     public String toString() {
-        StringBuilder builder = new StringBuilder(String.format(
-                "\u2022 %s - %s - Dragons: %d%n",
-                name,
-                status,
-                getRocketNumber()));
+        StringBuilder builder = new StringBuilder()
+                .append("\u2022 ").append(name).append(" - ").append(status)
+                .append(" - Dragons: ").append(getRocketNumber()).append(System.lineSeparator());
         for (RocketSummary rocketSummary : rocketSummaries) {
             builder.append(rocketSummary.toString());
         }
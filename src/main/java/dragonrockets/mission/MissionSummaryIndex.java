@@ -0,0 +1,201 @@
+package dragonrockets.mission;
+
+import dragonrockets.utils.PersistentSortedMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+// Materialized getSummary() view. Missions re-position themselves in this index whenever their status
+// or their rockets change, so reading the summary needs neither regrouping nor re-sorting, and reading its first
+// missions or a page of it takes O(log n) plus the number of missions read. Not thread-safe by itself.
+// Given the mission locks, missions changing under different stripes do not touch any shared structure: a changed
+// mission is only queued on its own stripe, guarded by the stripe lock its transition holds, and the queued missions
+// are repositioned by the next read, which holds all stripes. Reads then also take O(missions changed since).
+// A versioned index also keeps immutable versions of the summary. The manager publishes the missions touched by
+// a transition together, at its end and still under their locks, so the summary is read from the latest version
+// without any lock and never shows a transition half-applied. Versions are swapped under the index's monitor, so
+// with snapshot reads every transition still takes one short shared lock
+class MissionSummaryIndex {
+    // Missions by the position they had in the summary order when attached
+    private final NavigableMap<SummaryCursor, Mission> listedMissions = new TreeMap<>();
+    private final boolean versioned;
+    private volatile PersistentSortedMap<SummaryCursor, MissionSummary> publishedSummaries = PersistentSortedMap.empty();
+    // Missions waiting to be repositioned, by the stripe guarding them, null when repositioned right away
+    private final MissionLocks missionLocks;
+    private final List<List<Mission>> pendingMissions;
+
+    MissionSummaryIndex() {
+        this(false, null);
+    }
+
+    MissionSummaryIndex(boolean versioned, MissionLocks missionLocks) {
+        this.versioned = versioned;
+        this.missionLocks = missionLocks;
+        if (missionLocks == null) {
+            pendingMissions = null;
+        } else {
+            pendingMissions = new ArrayList<>(missionLocks.stripeCount());
+            for (int stripe = 0; stripe < missionLocks.stripeCount(); stripe++) {
+                pendingMissions.add(new ArrayList<>());
+            }
+        }
+    }
+
+    boolean isVersioned() {
+        return versioned;
+    }
+
+    // Called after the mission's status or rockets changed, holding the mission's stripe lock if there are locks
+    void reposition(Mission mission) {
+        if (pendingMissions == null) {
+            repositionNow(mission);
+        } else if (!mission.repositionPending) {
+            mission.repositionPending = true;
+            pendingMissions.get(missionLocks.stripeOf(mission.getName())).add(mission);
+        }
+    }
+
+    // Called before reading the listed missions, holding all stripe locks if there are locks
+    private void repositionPending() {
+        if (pendingMissions == null) {
+            return;
+        }
+        for (List<Mission> missions : pendingMissions) {
+            for (Mission mission : missions) {
+                mission.repositionPending = false;
+                repositionNow(mission);
+            }
+            missions.clear();
+        }
+    }
+
+    // The mission is found by the key it has been put under, and moved only when its number of summary rockets
+    // or its listing has changed
+    private void repositionNow(Mission mission) {
+        SummaryCursor position = mission.summaryPosition;
+        boolean listed = mission.isListedInSummary();
+        if (listed && position != null && position.rocketNumber() == mission.getSummaryRocketNumber()) {
+            return;
+        }
+        if (position != null) {
+            listedMissions.remove(position);
+            mission.summaryPosition = null;
+        }
+        if (listed) {
+            mission.summaryPosition = new SummaryCursor(mission.getSummaryRocketNumber(), mission.getName());
+            listedMissions.put(mission.summaryPosition, mission);
+        }
+    }
+
+    // Called by the manager at the end of a transition, while it still holds the locks of the given missions.
+    // Either of them can be null. Missions not changed since they were published last are skipped
+    void publish(Mission first, Mission second) {
+        if (!versioned) {
+            return;
+        }
+        synchronized (this) {
+            PersistentSortedMap<SummaryCursor, MissionSummary> summaries = publishedSummaries;
+            summaries = publish(summaries, first);
+            summaries = publish(summaries, second);
+            publishedSummaries = summaries;
+        }
+    }
+
+    // Publishes missions changed while bypassing the manager, e.g. when loading a snapshot
+    synchronized void publishAll(Iterable<Mission> missions) {
+        if (!versioned) {
+            return;
+        }
+        PersistentSortedMap<SummaryCursor, MissionSummary> summaries = publishedSummaries;
+        for (Mission mission : missions) {
+            summaries = publish(summaries, mission);
+        }
+        publishedSummaries = summaries;
+    }
+
+    private static PersistentSortedMap<SummaryCursor, MissionSummary> publish(
+            PersistentSortedMap<SummaryCursor, MissionSummary> summaries, Mission mission) {
+        if (mission == null || !mission.publishPending) {
+            return summaries;
+        }
+        mission.publishPending = false;
+        if (mission.publishedPosition != null) {
+            summaries = summaries.remove(mission.publishedPosition);
+            mission.publishedPosition = null;
+        }
+        if (mission.isListedInSummary()) {
+            mission.publishedPosition = new SummaryCursor(mission.getSummaryRocketNumber(), mission.getName());
+            summaries = summaries.put(mission.publishedPosition, mission.getSummary());
+        }
+        return summaries;
+    }
+
+    // Versioned index returns a view of the latest version, which no later transition changes
+    List<MissionSummary> getSummary() {
+        if (versioned) {
+            return publishedSummaries.values();
+        }
+        repositionPending();
+        return getSummary(listedMissions, Integer.MAX_VALUE);
+    }
+
+    List<MissionSummary> getSummary(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Summary limit must not be negative, got " + limit);
+        }
+        if (versioned) {
+            return publishedSummaries.valuesAfter(null, limit);
+        }
+        repositionPending();
+        return getSummary(listedMissions, limit);
+    }
+
+    // Starts with the first mission when the cursor is null
+    SummaryPage getSummaryPage(SummaryCursor cursor, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Summary page size must be positive, got " + pageSize);
+        }
+        if (versioned) {
+            PersistentSortedMap<SummaryCursor, MissionSummary> summaries = publishedSummaries;
+            return toPage(summaries.valuesAfter(cursor, pageSize), pageSize, summaries::hasKeyAfter);
+        }
+        repositionPending();
+        NavigableMap<SummaryCursor, Mission> remainingMissions =
+                cursor == null ? listedMissions : listedMissions.tailMap(cursor, false);
+        return toPage(getSummary(remainingMissions, pageSize), pageSize,
+                lastCursor -> listedMissions.higherKey(lastCursor) != null);
+    }
+
+    private static SummaryPage toPage(List<MissionSummary> summaries, int pageSize,
+                                      Predicate<SummaryCursor> hasMissionsAfter) {
+        SummaryCursor nextCursor = null;
+        if (summaries.size() == pageSize) {
+            MissionSummary last = summaries.get(pageSize - 1);
+            SummaryCursor lastCursor = new SummaryCursor(last.getRocketNumber(), last.name());
+            if (hasMissionsAfter.test(lastCursor)) {
+                nextCursor = lastCursor;
+            }
+        }
+        return new SummaryPage(summaries, nextCursor);
+    }
+
+    void forEach(Consumer<Mission> action) {
+        repositionPending();
+        listedMissions.values().forEach(action);
+    }
+
+    private static List<MissionSummary> getSummary(NavigableMap<SummaryCursor, Mission> missions, int limit) {
+        List<MissionSummary> summaries = new ArrayList<>(Math.min(limit, missions.size()));
+        for (Mission mission : missions.values()) {
+            if (summaries.size() == limit) {
+                break;
+            }
+            summaries.add(mission.getSummary());
+        }
+        return summaries;
+    }
+}
@@ -0,0 +1,14 @@
+package dragonrockets.mission;
+
+// Position of a mission in the summary order: by number of rockets, descending, and then by name, descending.
+// Page of the summary ends with the cursor of its last mission, the next page starts right after it
+public record SummaryCursor(int rocketNumber, String missionName) implements Comparable<SummaryCursor> {
+
+    @Override
+    public int compareTo(SummaryCursor other) {
+        if (rocketNumber != other.rocketNumber) {
+            return Integer.compare(other.rocketNumber, rocketNumber);
+        }
+        return other.missionName.compareTo(missionName);
+    }
+}
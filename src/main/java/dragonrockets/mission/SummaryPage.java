@@ -0,0 +1,11 @@
+package dragonrockets.mission;
+
+import java.util.List;
+
+// Next cursor is null on the last page
+public record SummaryPage(List<MissionSummary> missionSummaries, SummaryCursor nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
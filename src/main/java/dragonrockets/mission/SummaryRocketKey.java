@@ -0,0 +1,15 @@
+package dragonrockets.mission;
+
+import dragonrockets.rocket.RocketStatus;
+
+// Order of rockets in the mission summary: ON_GROUND ones first, then IN_SPACE ones, both by name
+record SummaryRocketKey(RocketStatus status, String rocketName) implements Comparable<SummaryRocketKey> {
+
+    @Override
+    public int compareTo(SummaryRocketKey other) {
+        if (status != other.status) {
+            return status == RocketStatus.ON_GROUND ? -1 : 1;
+        }
+        return rocketName.compareTo(other.rocketName);
+    }
+}
@@ -0,0 +1,73 @@
+package dragonrockets.persistence;
+
+import dragonrockets.mission.MissionStatus;
+import dragonrockets.rocket.RocketStatus;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+// Successful state transition as written to the write-ahead log. Names not used by the record's type are null,
+// status is the ordinal of RocketStatus or MissionStatus (depending on the type) or -1 when not used
+public record LogRecord(LogRecordType type, String rocketName, String missionName, int status) {
+
+    public static LogRecord rocketAdded(String rocketName) {
+        return new LogRecord(LogRecordType.ROCKET_ADDED, rocketName, null, -1);
+    }
+
+    public static LogRecord missionAdded(String missionName) {
+        return new LogRecord(LogRecordType.MISSION_ADDED, null, missionName, -1);
+    }
+
+    public static LogRecord rocketAssigned(String rocketName, String missionName) {
+        return new LogRecord(LogRecordType.ROCKET_ASSIGNED, rocketName, missionName, -1);
+    }
+
+    public static LogRecord rocketStatusSet(String rocketName, String missionName, RocketStatus status) {
+        return new LogRecord(LogRecordType.ROCKET_STATUS_SET, rocketName, missionName, status.ordinal());
+    }
+
+    public static LogRecord missionStatusSet(String missionName, MissionStatus status) {
+        return new LogRecord(LogRecordType.MISSION_STATUS_SET, null, missionName, status.ordinal());
+    }
+
+    public RocketStatus rocketStatus() {
+        return RocketStatus.values()[status];
+    }
+
+    public MissionStatus missionStatus() {
+        return MissionStatus.values()[status];
+    }
+
+    void writeTo(DataOutput output) throws IOException {
+        output.writeByte(type.ordinal());
+        switch (type) {
+            case ROCKET_ADDED -> output.writeUTF(rocketName);
+            case MISSION_ADDED -> output.writeUTF(missionName);
+            case ROCKET_ASSIGNED -> {
+                output.writeUTF(rocketName);
+                output.writeUTF(missionName);
+            }
+            case ROCKET_STATUS_SET -> {
+                output.writeUTF(rocketName);
+                output.writeUTF(missionName);
+                output.writeByte(status);
+            }
+            case MISSION_STATUS_SET -> {
+                output.writeUTF(missionName);
+                output.writeByte(status);
+            }
+        }
+    }
+
+    static LogRecord readFrom(DataInput input) throws IOException {
+        LogRecordType type = LogRecordType.values()[input.readUnsignedByte()];
+        return switch (type) {
+            case ROCKET_ADDED -> rocketAdded(input.readUTF());
+            case MISSION_ADDED -> missionAdded(input.readUTF());
+            case ROCKET_ASSIGNED -> rocketAssigned(input.readUTF(), input.readUTF());
+            case ROCKET_STATUS_SET -> new LogRecord(type, input.readUTF(), input.readUTF(), input.readUnsignedByte());
+            case MISSION_STATUS_SET -> new LogRecord(type, null, input.readUTF(), input.readUnsignedByte());
+        };
+    }
+}
@@ -0,0 +1,9 @@
+package dragonrockets.persistence;
+
+public enum LogRecordType {
+    ROCKET_ADDED,
+    MISSION_ADDED,
+    ROCKET_ASSIGNED,
+    ROCKET_STATUS_SET,
+    MISSION_STATUS_SET
+}
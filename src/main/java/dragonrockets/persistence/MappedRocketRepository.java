@@ -0,0 +1,155 @@
+package dragonrockets.persistence;
+
+import dragonrockets.mission.Manager;
+import dragonrockets.mission.Mission;
+import dragonrockets.mission.MissionId;
+import dragonrockets.mission.MissionSummary;
+import dragonrockets.mission.SummaryCursor;
+import dragonrockets.mission.SummaryPage;
+import dragonrockets.rocket.Repository;
+import dragonrockets.rocket.Rocket;
+import dragonrockets.rocket.RocketId;
+import dragonrockets.rocket.RocketStatus;
+import dragonrockets.rocket.StatusChangeResult;
+import dragonrockets.utils.IndexSpliterator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+// Read-only repository answering straight from a mapped snapshot. Found rockets are detached copies built on demand,
+// together with a copy of their last mission, so changing them changes nothing in the snapshot
+public class MappedRocketRepository implements Repository {
+    private final MappedSnapshot snapshot;
+
+    public MappedRocketRepository(MappedSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public static MappedRocketRepository open(Path snapshotPath) throws IOException {
+        return new MappedRocketRepository(MappedSnapshot.open(snapshotPath));
+    }
+
+    @Override
+    public Rocket getRocket(String rocketName) {
+        int rocketIndex = snapshot.findRocketIndex(rocketName);
+        return rocketIndex < 0 ? null : toRocket(rocketIndex);
+    }
+
+    // Rocket indexes in the snapshot serve as handles
+    @Override
+    public RocketId getRocketId(String rocketName) {
+        int rocketIndex = snapshot.findRocketIndex(rocketName);
+        return rocketIndex < 0 ? null : new RocketId(rocketIndex);
+    }
+
+    @Override
+    public Rocket getRocket(RocketId rocketId) {
+        int rocketIndex = rocketId.value();
+        return rocketIndex >= 0 && rocketIndex < snapshot.getNumberOfRockets() ? toRocket(rocketIndex) : null;
+    }
+
+    @Override
+    public int getNumberOfRockets() {
+        return snapshot.getNumberOfRockets();
+    }
+
+    @Override
+    public List<Rocket> getRockets() {
+        List<Rocket> rockets = new ArrayList<>(snapshot.getNumberOfRockets());
+        for (int i = 0; i < snapshot.getNumberOfRockets(); i++) {
+            rockets.add(toRocket(i));
+        }
+        return rockets;
+    }
+
+    @Override
+    public void forEachRocket(Consumer<Rocket> action) {
+        for (int i = 0; i < snapshot.getNumberOfRockets(); i++) {
+            action.accept(toRocket(i));
+        }
+    }
+
+    @Override
+    public Spliterator<Rocket> rocketSpliterator() {
+        return new IndexSpliterator<>(this::toRocket, 0, snapshot.getNumberOfRockets(), true);
+    }
+
+    @Override
+    public List<Rocket> findRocketsByMission(Mission mission) {
+        int[] rocketIndexes = snapshot.findMissionRocketIndexes(mission.getName());
+        List<Rocket> rockets = new ArrayList<>(rocketIndexes.length);
+        for (int rocketIndex : rocketIndexes) {
+            rockets.add(toRocket(rocketIndex));
+        }
+        return rockets;
+    }
+
+    public List<MissionSummary> getSummary() {
+        return snapshot.getSummary();
+    }
+
+    public List<MissionSummary> getSummary(int limit) {
+        return snapshot.getSummary(limit);
+    }
+
+    public SummaryPage getSummaryPage(SummaryCursor cursor, int pageSize) {
+        return snapshot.getSummaryPage(cursor, pageSize);
+    }
+
+    @Override
+    public boolean addRocket(Rocket rocket) {
+        throw readOnly();
+    }
+
+    @Override
+    public void ensureCapacity(int expectedNumberOfRockets) {
+        throw readOnly();
+    }
+
+    @Override
+    public StatusChangeResult trySetRocketStatus(String rocketName, String missionName, RocketStatus newStatus,
+                                                 Manager missionManager) {
+        throw readOnly();
+    }
+
+    @Override
+    public StatusChangeResult trySetRocketStatus(RocketId rocketId, MissionId missionId, RocketStatus newStatus,
+                                                 Manager missionManager) {
+        throw readOnly();
+    }
+
+    @Override
+    public void removeRocket(Rocket rocket) {
+        throw readOnly();
+    }
+
+    @Override
+    public void unassignAndRemoveAllRockets() {
+        throw readOnly();
+    }
+
+    @Override
+    public void wipeOutRocketsLastMission(Mission mission) {
+        throw readOnly();
+    }
+
+    private Rocket toRocket(int rocketIndex) {
+        Rocket rocket = new Rocket(snapshot.getRocketName(rocketIndex));
+        rocket.setStatus(snapshot.getRocketStatus(rocketIndex));
+        int missionIndex = snapshot.getRocketMissionIndex(rocketIndex);
+        if (missionIndex >= 0) {
+            Mission mission = new Mission(snapshot.getMissionName(missionIndex));
+            mission.setStatus(snapshot.getMissionStatus(missionIndex));
+            rocket.setLastMission(mission);
+        }
+        return rocket;
+    }
+
+    private UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Repository of snapshot " + snapshot.getPath() + " is read-only");
+    }
+}
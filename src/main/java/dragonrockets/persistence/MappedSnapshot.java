@@ -0,0 +1,546 @@
+package dragonrockets.persistence;
+
+import dragonrockets.mission.Manager;
+import dragonrockets.mission.Mission;
+import dragonrockets.mission.MissionStatus;
+import dragonrockets.mission.MissionSummary;
+import dragonrockets.mission.SummaryCursor;
+import dragonrockets.mission.SummaryPage;
+import dragonrockets.rocket.Producer;
+import dragonrockets.rocket.Repository;
+import dragonrockets.rocket.Rocket;
+import dragonrockets.rocket.RocketStatus;
+import dragonrockets.rocket.RocketSummary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.zip.CRC32;
+
+// Snapshot file laid out as fixed-size tables, so it can be mapped into memory and queried in place.
+// Layout: header, missions table, rockets table (name, last mission, status), open-addressing hash table of rocket indexes by name,
+// open-addressing hash table of mission indexes by lower-cased name, indexes of rockets grouped by their last mission,
+// summary section (indexes of listed missions in summary order followed by indexes of their summary rockets
+// in summary order), UTF-8 names and CRC32 of everything before it.
+// The whole file is mapped as one buffer, which limits it to 2 GB
+public class MappedSnapshot {
+    private static final int MAGIC = 0x44525350;
+    private static final int VERSION = 3;
+    private static final int HEADER_BYTES = 64;
+    private static final int MISSION_BYTES = 28;
+    private static final int ROCKET_BYTES = 16;
+
+    private static final int LSN_POSITION = 8;
+    private static final int MISSION_COUNT_POSITION = 16;
+    private static final int ROCKET_COUNT_POSITION = 20;
+    private static final int LISTED_MISSION_COUNT_POSITION = 24;
+    private static final int HASH_CAPACITY_POSITION = 28;
+    private static final int MISSIONS_OFFSET_POSITION = 32;
+    private static final int ROCKETS_OFFSET_POSITION = 36;
+    private static final int HASH_OFFSET_POSITION = 40;
+    private static final int SUMMARY_OFFSET_POSITION = 44;
+    private static final int CHECKSUM_OFFSET_POSITION = 48;
+    private static final int MISSION_HASH_CAPACITY_POSITION = 52;
+    private static final int MISSION_HASH_OFFSET_POSITION = 56;
+
+    // Summaries with fewer rockets are decoded sequentially, as splitting them would cost more than it saves
+    private static final int PARALLEL_SUMMARY_ROCKETS = 1 << 15;
+    private static final int SUMMARY_PARTITION_ROCKETS = 1 << 12;
+
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final long lsn;
+    private final int missionCount;
+    private final int rocketCount;
+    private final int listedMissionCount;
+    private final int hashMask;
+    private final int missionsOffset;
+    private final int rocketsOffset;
+    private final int hashOffset;
+    private final int summaryOffset;
+    private final int checksumOffset;
+    private final int missionHashMask;
+    private final int missionHashOffset;
+    private final int summaryRocketCount;
+
+    private MappedSnapshot(Path path, ByteBuffer buffer) throws IOException {
+        this.path = path;
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Unknown snapshot format of " + path);
+        }
+        this.lsn = buffer.getLong(LSN_POSITION);
+        this.missionCount = buffer.getInt(MISSION_COUNT_POSITION);
+        this.rocketCount = buffer.getInt(ROCKET_COUNT_POSITION);
+        this.listedMissionCount = buffer.getInt(LISTED_MISSION_COUNT_POSITION);
+        this.hashMask = buffer.getInt(HASH_CAPACITY_POSITION) - 1;
+        this.missionsOffset = buffer.getInt(MISSIONS_OFFSET_POSITION);
+        this.rocketsOffset = buffer.getInt(ROCKETS_OFFSET_POSITION);
+        this.hashOffset = buffer.getInt(HASH_OFFSET_POSITION);
+        this.summaryOffset = buffer.getInt(SUMMARY_OFFSET_POSITION);
+        this.checksumOffset = buffer.getInt(CHECKSUM_OFFSET_POSITION);
+        this.missionHashMask = buffer.getInt(MISSION_HASH_CAPACITY_POSITION) - 1;
+        this.missionHashOffset = buffer.getInt(MISSION_HASH_OFFSET_POSITION);
+        if (checksumOffset + Long.BYTES != buffer.capacity()) {
+            throw new IOException("Truncated snapshot " + path);
+        }
+        this.summaryRocketCount = listedMissionCount == 0 ? 0
+                : getSummaryRocketOffset(listedMissionCount - 1) + getListedMissionRocketNumber(listedMissionCount - 1);
+    }
+
+    // Maps the file without reading it, the checksum is verified only by verifyChecksum()
+    public static MappedSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot " + path + " is too large to be mapped");
+            }
+            return new MappedSnapshot(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public static void export(Path path, long lsn, Repository repository, Manager missionManager) throws IOException {
+        List<Mission> missions = missionManager.getMissions();
+        List<Rocket> rockets = repository.getRockets();
+
+        Map<String, Integer> missionIndexes = new HashMap<>(missions.size() * 2);
+        Map<Rocket, Integer> rocketIndexes = new IdentityHashMap<>(rockets.size());
+        for (Mission mission : missions) {
+            missionIndexes.put(mission.getName(), missionIndexes.size());
+        }
+        for (Rocket rocket : rockets) {
+            rocketIndexes.put(rocket, rocketIndexes.size());
+        }
+
+        // Rockets are grouped by their last mission, each mission's group starting where the previous one ends
+        int[] missionRocketIndexes = new int[rockets.size()];
+        int[] missionRocketStarts = new int[missions.size() + 1];
+        int[] rocketMissionIndexes = new int[rockets.size()];
+        for (int i = 0; i < rockets.size(); i++) {
+            Mission lastMission = rockets.get(i).getLastMissionOrNull();
+            rocketMissionIndexes[i] = lastMission == null ? -1 : missionIndexes.get(lastMission.getName());
+            if (lastMission != null) {
+                missionRocketStarts[rocketMissionIndexes[i] + 1]++;
+            }
+        }
+        for (int i = 0; i < missions.size(); i++) {
+            missionRocketStarts[i + 1] += missionRocketStarts[i];
+        }
+        int[] missionRocketEnds = Arrays.copyOf(missionRocketStarts, missions.size());
+        for (int i = 0; i < rockets.size(); i++) {
+            if (rocketMissionIndexes[i] >= 0) {
+                missionRocketIndexes[missionRocketEnds[rocketMissionIndexes[i]]++] = i;
+            }
+        }
+        int missionRocketCount = missionRocketStarts[missions.size()];
+
+        List<Mission> listedMissions = new ArrayList<>();
+        List<List<Rocket>> summaryRockets = new ArrayList<>();
+        long summaryRocketCount = 0;
+        for (MissionSummary missionSummary : missionManager.getSummary()) {
+            Mission mission = missions.get(missionIndexes.get(missionSummary.name()));
+            listedMissions.add(mission);
+            summaryRockets.add(mission.getSummaryRockets());
+            summaryRocketCount += summaryRockets.get(summaryRockets.size() - 1).size();
+        }
+
+        byte[][] missionNames = new byte[missions.size()][];
+        byte[][] rocketNames = new byte[rockets.size()][];
+        long namesBytes = 0;
+        for (int i = 0; i < missionNames.length; i++) {
+            missionNames[i] = missions.get(i).getName().getBytes(StandardCharsets.UTF_8);
+            namesBytes += missionNames[i].length;
+        }
+        for (int i = 0; i < rocketNames.length; i++) {
+            rocketNames[i] = rockets.get(i).getName().getBytes(StandardCharsets.UTF_8);
+            namesBytes += rocketNames[i].length;
+        }
+
+        int hashCapacity = hashCapacity(rockets.size());
+        int missionHashCapacity = hashCapacity(missions.size());
+
+        long missionsOffset = HEADER_BYTES;
+        long rocketsOffset = missionsOffset + (long) missions.size() * MISSION_BYTES;
+        long hashOffset = rocketsOffset + (long) rockets.size() * ROCKET_BYTES;
+        long missionHashOffset = hashOffset + (long) hashCapacity * Integer.BYTES;
+        long missionRocketsOffset = missionHashOffset + (long) missionHashCapacity * Integer.BYTES;
+        long summaryOffset = missionRocketsOffset + (long) missionRocketCount * Integer.BYTES;
+        long namesOffset = summaryOffset + (listedMissions.size() + summaryRocketCount) * Integer.BYTES;
+        long checksumOffset = namesOffset + namesBytes;
+        if (checksumOffset + Long.BYTES > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot of " + rockets.size() + " rockets is too large to be mapped");
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer output = channel.map(FileChannel.MapMode.READ_WRITE, 0, checksumOffset + Long.BYTES);
+            output.putInt(0, MAGIC);
+            output.putInt(4, VERSION);
+            output.putLong(LSN_POSITION, lsn);
+            output.putInt(MISSION_COUNT_POSITION, missions.size());
+            output.putInt(ROCKET_COUNT_POSITION, rockets.size());
+            output.putInt(LISTED_MISSION_COUNT_POSITION, listedMissions.size());
+            output.putInt(HASH_CAPACITY_POSITION, hashCapacity);
+            output.putInt(MISSIONS_OFFSET_POSITION, (int) missionsOffset);
+            output.putInt(ROCKETS_OFFSET_POSITION, (int) rocketsOffset);
+            output.putInt(HASH_OFFSET_POSITION, (int) hashOffset);
+            output.putInt(SUMMARY_OFFSET_POSITION, (int) summaryOffset);
+            output.putInt(CHECKSUM_OFFSET_POSITION, (int) checksumOffset);
+            output.putInt(MISSION_HASH_CAPACITY_POSITION, missionHashCapacity);
+            output.putInt(MISSION_HASH_OFFSET_POSITION, (int) missionHashOffset);
+
+            int nameOffset = (int) namesOffset;
+            int summaryRocketPosition = (int) summaryOffset + listedMissions.size() * Integer.BYTES;
+            Map<Mission, Integer> summaryRocketStarts = new IdentityHashMap<>(listedMissions.size());
+            for (int i = 0; i < listedMissions.size(); i++) {
+                Mission mission = listedMissions.get(i);
+                output.putInt((int) summaryOffset + i * Integer.BYTES, missionIndexes.get(mission.getName()));
+                summaryRocketStarts.put(mission, summaryRocketPosition);
+                for (Rocket rocket : summaryRockets.get(i)) {
+                    output.putInt(summaryRocketPosition, rocketIndexes.get(rocket));
+                    summaryRocketPosition += Integer.BYTES;
+                }
+            }
+
+            for (int i = 0; i < missions.size(); i++) {
+                Mission mission = missions.get(i);
+                int position = (int) missionsOffset + i * MISSION_BYTES;
+                output.put(nameOffset, missionNames[i]);
+                output.putInt(position, nameOffset);
+                output.putInt(position + 4, missionNames[i].length);
+                output.putInt(position + 8, mission.getStatus().ordinal());
+                output.putInt(position + 12, summaryRocketStarts.getOrDefault(mission, 0));
+                output.putInt(position + 16, summaryRocketStarts.containsKey(mission) ? mission.getSummaryRocketNumber() : 0);
+                output.putInt(position + 20, (int) missionRocketsOffset + missionRocketStarts[i] * Integer.BYTES);
+                output.putInt(position + 24, missionRocketStarts[i + 1] - missionRocketStarts[i]);
+                nameOffset += missionNames[i].length;
+
+                // Missions are hashed by their keys, so they are found by names differing in case only
+                int slot = hash(mission.getKey()) & (missionHashCapacity - 1);
+                while (output.getInt((int) missionHashOffset + slot * Integer.BYTES) != 0) {
+                    slot = (slot + 1) & (missionHashCapacity - 1);
+                }
+                output.putInt((int) missionHashOffset + slot * Integer.BYTES, i + 1);
+            }
+            for (int i = 0; i < missionRocketCount; i++) {
+                output.putInt((int) missionRocketsOffset + i * Integer.BYTES, missionRocketIndexes[i]);
+            }
+
+            for (int i = 0; i < rockets.size(); i++) {
+                Rocket rocket = rockets.get(i);
+                int position = (int) rocketsOffset + i * ROCKET_BYTES;
+                output.put(nameOffset, rocketNames[i]);
+                output.putInt(position, nameOffset);
+                output.putInt(position + 4, rocketNames[i].length);
+                output.putInt(position + 8, rocketMissionIndexes[i]);
+                output.put(position + 12, (byte) rocket.getStatus().ordinal());
+                nameOffset += rocketNames[i].length;
+
+                // Hash slots keep rocket index + 1, so zero marks an empty slot
+                int slot = hash(rocket.getName()) & (hashCapacity - 1);
+                while (output.getInt((int) hashOffset + slot * Integer.BYTES) != 0) {
+                    slot = (slot + 1) & (hashCapacity - 1);
+                }
+                output.putInt((int) hashOffset + slot * Integer.BYTES, i + 1);
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(output.slice(0, (int) checksumOffset));
+            output.putLong((int) checksumOffset, crc.getValue());
+            output.force();
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getLsn() {
+        return lsn;
+    }
+
+    public int getNumberOfMissions() {
+        return missionCount;
+    }
+
+    public int getNumberOfRockets() {
+        return rocketCount;
+    }
+
+    public void verifyChecksum() throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(0, checksumOffset));
+        if (buffer.getLong(checksumOffset) != crc.getValue()) {
+            throw new IOException("Corrupted snapshot " + path);
+        }
+    }
+
+    // Returns -1 when there is no such rocket
+    public int findRocketIndex(String rocketName) {
+        byte[] name = rocketName.getBytes(StandardCharsets.UTF_8);
+        int slot = hash(rocketName) & hashMask;
+        int rocketIndexPlusOne;
+        while ((rocketIndexPlusOne = buffer.getInt(hashOffset + slot * Integer.BYTES)) != 0) {
+            int position = rocketsOffset + (rocketIndexPlusOne - 1) * ROCKET_BYTES;
+            if (nameEquals(buffer.getInt(position), buffer.getInt(position + 4), name)) {
+                return rocketIndexPlusOne - 1;
+            }
+            slot = (slot + 1) & hashMask;
+        }
+        return -1;
+    }
+
+    // Indexes of the rockets whose last mission is named like the given one. Names are matched by their lower-cased
+    // keys, like in the repositories' index of rockets by mission, so rockets of every mission differing in case
+    // only are returned
+    public int[] findMissionRocketIndexes(String missionName) {
+        String missionKey = missionName.toLowerCase(Locale.ROOT);
+        int[] rocketIndexes = new int[0];
+        int slot = hash(missionKey) & missionHashMask;
+        int missionIndexPlusOne;
+        while ((missionIndexPlusOne = buffer.getInt(missionHashOffset + slot * Integer.BYTES)) != 0) {
+            int missionIndex = missionIndexPlusOne - 1;
+            if (getMissionName(missionIndex).toLowerCase(Locale.ROOT).equals(missionKey)) {
+                int position = missionsOffset + missionIndex * MISSION_BYTES;
+                int missionRocketStart = buffer.getInt(position + 20);
+                int missionRocketNumber = buffer.getInt(position + 24);
+                int found = rocketIndexes.length;
+                rocketIndexes = Arrays.copyOf(rocketIndexes, found + missionRocketNumber);
+                for (int j = 0; j < missionRocketNumber; j++) {
+                    rocketIndexes[found + j] = buffer.getInt(missionRocketStart + j * Integer.BYTES);
+                }
+            }
+            slot = (slot + 1) & missionHashMask;
+        }
+        return rocketIndexes;
+    }
+
+    public String getRocketName(int rocketIndex) {
+        int position = rocketsOffset + rocketIndex * ROCKET_BYTES;
+        return readName(buffer.getInt(position), buffer.getInt(position + 4));
+    }
+
+    public RocketStatus getRocketStatus(int rocketIndex) {
+        return RocketStatus.values()[buffer.get(rocketsOffset + rocketIndex * ROCKET_BYTES + 12)];
+    }
+
+    // Returns -1 when the rocket has no last mission
+    public int getRocketMissionIndex(int rocketIndex) {
+        return buffer.getInt(rocketsOffset + rocketIndex * ROCKET_BYTES + 8);
+    }
+
+    public String getMissionName(int missionIndex) {
+        int position = missionsOffset + missionIndex * MISSION_BYTES;
+        return readName(buffer.getInt(position), buffer.getInt(position + 4));
+    }
+
+    public MissionStatus getMissionStatus(int missionIndex) {
+        return MissionStatus.values()[buffer.getInt(missionsOffset + missionIndex * MISSION_BYTES + 8)];
+    }
+
+    public List<MissionSummary> getSummary() {
+        return getSummary(0, listedMissionCount);
+    }
+
+    // Whole summary decoded in the given pool, which decides the parallelism
+    public List<MissionSummary> getSummary(ForkJoinPool pool) {
+        return getSummary(0, listedMissionCount, pool);
+    }
+
+    public List<MissionSummary> getSummary(int limit) {
+        return getSummary(0, Math.min(limit, listedMissionCount));
+    }
+
+    // Listed missions are stored in the summary order, so the page start is found by binary search
+    public SummaryPage getSummaryPage(SummaryCursor cursor, int pageSize) {
+        int from = 0;
+        if (cursor != null) {
+            int to = listedMissionCount;
+            while (from < to) {
+                int middle = (from + to) >>> 1;
+                if (getListedMissionCursor(middle).compareTo(cursor) <= 0) {
+                    from = middle + 1;
+                } else {
+                    to = middle;
+                }
+            }
+        }
+        int to = (int) Math.min((long) from + pageSize, listedMissionCount);
+        SummaryCursor nextCursor = to < listedMissionCount && to > from ? getListedMissionCursor(to - 1) : null;
+        return new SummaryPage(getSummary(from, to), nextCursor);
+    }
+
+    private SummaryCursor getListedMissionCursor(int listedPosition) {
+        int missionIndex = buffer.getInt(summaryOffset + listedPosition * Integer.BYTES);
+        return new SummaryCursor(buffer.getInt(missionsOffset + missionIndex * MISSION_BYTES + 16),
+                getMissionName(missionIndex));
+    }
+
+    private List<MissionSummary> getSummary(int fromListedPosition, int toListedPosition) {
+        return getSummary(fromListedPosition, toListedPosition, ForkJoinPool.commonPool());
+    }
+
+    // Decoding names dominates, so large summaries are partitioned by mission into ranges of similar numbers
+    // of rockets, decoded in parallel into their slots of the result. Absolute reads leave the buffer untouched,
+    // so the partitions share it safely
+    private List<MissionSummary> getSummary(int fromListedPosition, int toListedPosition, ForkJoinPool pool) {
+        MissionSummary[] summaries = new MissionSummary[toListedPosition - fromListedPosition];
+        if (pool.getParallelism() > 1
+                && countSummaryRockets(fromListedPosition, toListedPosition) >= PARALLEL_SUMMARY_ROCKETS) {
+            pool.invoke(new SummaryPartition(summaries, fromListedPosition, fromListedPosition, toListedPosition));
+        } else {
+            for (int i = fromListedPosition; i < toListedPosition; i++) {
+                summaries[i - fromListedPosition] = getListedMissionSummary(i);
+            }
+        }
+        return new ArrayList<>(Arrays.asList(summaries));
+    }
+
+    private MissionSummary getListedMissionSummary(int listedPosition) {
+        int missionIndex = buffer.getInt(summaryOffset + listedPosition * Integer.BYTES);
+        int position = missionsOffset + missionIndex * MISSION_BYTES;
+        int summaryRocketStart = buffer.getInt(position + 12);
+        int summaryRocketNumber = buffer.getInt(position + 16);
+        List<RocketSummary> rocketSummaries = new ArrayList<>(summaryRocketNumber);
+        for (int j = 0; j < summaryRocketNumber; j++) {
+            int rocketIndex = buffer.getInt(summaryRocketStart + j * Integer.BYTES);
+            rocketSummaries.add(new RocketSummary(getRocketName(rocketIndex),
+                    getRocketStatus(rocketIndex).getSummaryForm()));
+        }
+        return new MissionSummary(getMissionName(missionIndex),
+                getMissionStatus(missionIndex).getSummaryForm(), rocketSummaries);
+    }
+
+    private int getListedMissionRocketNumber(int listedPosition) {
+        int missionIndex = buffer.getInt(summaryOffset + listedPosition * Integer.BYTES);
+        return buffer.getInt(missionsOffset + missionIndex * MISSION_BYTES + 16);
+    }
+
+    // Summary rockets of listed missions are stored one mission after another in the summary order, so where
+    // a listed mission's rockets start tells how many rockets are listed before it
+    private int getSummaryRocketOffset(int listedPosition) {
+        if (listedPosition == listedMissionCount) {
+            return summaryRocketCount;
+        }
+        int missionIndex = buffer.getInt(summaryOffset + listedPosition * Integer.BYTES);
+        int summaryRocketStart = buffer.getInt(missionsOffset + missionIndex * MISSION_BYTES + 12);
+        return (summaryRocketStart - summaryOffset) / Integer.BYTES - listedMissionCount;
+    }
+
+    private int countSummaryRockets(int fromListedPosition, int toListedPosition) {
+        return getSummaryRocketOffset(toListedPosition) - getSummaryRocketOffset(fromListedPosition);
+    }
+
+    // Rebuilds the heap structures in the given empty components. Missions group their rockets by status themselves,
+    // so setting status and last mission of every rocket restores them completely
+    public void loadInto(Producer rocketProducer, Repository repository, Manager missionManager) throws IOException {
+        Map<String, Mission> missionsByName = new HashMap<>(missionCount * 2);
+        for (int i = 0; i < missionCount; i++) {
+            missionManager.addMission(getMissionName(i));
+        }
+        missionManager.forEachMission(mission -> missionsByName.put(mission.getName(), mission));
+        Mission[] missions = new Mission[missionCount];
+        for (int i = 0; i < missionCount; i++) {
+            missions[i] = missionsByName.get(getMissionName(i));
+            missions[i].setStatus(getMissionStatus(i));
+        }
+
+        repository.ensureCapacity(rocketCount);
+        for (int i = 0; i < rocketCount; i++) {
+            String rocketName = getRocketName(i);
+            Rocket rocket = rocketProducer.createNewRocket(rocketName)
+                    .orElseThrow(() -> new IOException("Rocket " + rocketName + " found twice in " + path));
+            repository.addRocket(rocket);
+            rocket.setStatus(getRocketStatus(i));
+            int missionIndex = getRocketMissionIndex(i);
+            if (missionIndex >= 0) {
+                rocket.setLastMission(missions[missionIndex]);
+            }
+        }
+        missionManager.publishSummaries();
+    }
+
+    private boolean nameEquals(int offset, int length, byte[] name) {
+        if (length != name.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(offset + i) != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String readName(int offset, int length) {
+        byte[] name = new byte[length];
+        buffer.get(offset, name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    // Load factor of at most 0.5 keeps probe sequences short
+    private static int hashCapacity(int entries) {
+        int capacity = 2;
+        while (capacity < entries * 2L) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    // String.hashCode() is specified, so the hash is stable across JVMs. Higher bits are spread like in HashMap
+    private static int hash(String name) {
+        int h = name.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    // Listed missions [from, to) decoded into their slots of the summary starting at the given listed position.
+    // Ranges are halved by rockets rather than by missions, so one large mission does not leave one task with
+    // nearly all the work. The split is binary searched among the rocket offsets of listed missions.
+    // Tasks are never serialized, RecursiveAction is Serializable only by inheritance
+    private class SummaryPartition extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient MissionSummary[] summaries;
+        private final int firstListedPosition;
+        private final int from;
+        private final int to;
+
+        private SummaryPartition(MissionSummary[] summaries, int firstListedPosition, int from, int to) {
+            this.summaries = summaries;
+            this.firstListedPosition = firstListedPosition;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            int fromOffset = getSummaryRocketOffset(from);
+            int rockets = getSummaryRocketOffset(to) - fromOffset;
+            if (to - from == 1 || rockets <= SUMMARY_PARTITION_ROCKETS) {
+                for (int i = from; i < to; i++) {
+                    summaries[i - firstListedPosition] = getListedMissionSummary(i);
+                }
+                return;
+            }
+            // First position in (from, to - 1] with at least half of the rockets listed before it
+            int split = from + 1;
+            int last = to - 1;
+            while (split < last) {
+                int middle = (split + last) >>> 1;
+                if (getSummaryRocketOffset(middle) - fromOffset >= rockets / 2) {
+                    last = middle;
+                } else {
+                    split = middle + 1;
+                }
+            }
+            invokeAll(new SummaryPartition(summaries, firstListedPosition, from, split),
+                    new SummaryPartition(summaries, firstListedPosition, split, to));
+        }
+    }
+}
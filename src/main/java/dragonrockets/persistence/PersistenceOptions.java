@@ -0,0 +1,32 @@
+package dragonrockets.persistence;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+public record PersistenceOptions(Path directory,
+                                 SyncMode syncMode,
+                                 Duration asyncSyncInterval,
+                                 long snapshotEveryRecords) {
+
+    private static final Duration DEFAULT_ASYNC_SYNC_INTERVAL = Duration.ofMillis(100);
+    private static final long DEFAULT_SNAPSHOT_EVERY_RECORDS = 1_000_000;
+
+    public PersistenceOptions {
+        if (snapshotEveryRecords <= 0) {
+            throw new IllegalArgumentException("Snapshot interval must be positive, got " + snapshotEveryRecords);
+        }
+    }
+
+    public static PersistenceOptions defaults(Path directory) {
+        return new PersistenceOptions(directory, SyncMode.GROUP_COMMIT, DEFAULT_ASYNC_SYNC_INTERVAL,
+                DEFAULT_SNAPSHOT_EVERY_RECORDS);
+    }
+
+    public PersistenceOptions withSyncMode(SyncMode syncMode) {
+        return new PersistenceOptions(directory, syncMode, asyncSyncInterval, snapshotEveryRecords);
+    }
+
+    public PersistenceOptions withSnapshotEveryRecords(long snapshotEveryRecords) {
+        return new PersistenceOptions(directory, syncMode, asyncSyncInterval, snapshotEveryRecords);
+    }
+}
@@ -0,0 +1,288 @@
+package dragonrockets.persistence;
+
+import dragonrockets.DragonRocketsApp;
+import dragonrockets.mission.AssignmentResult;
+import dragonrockets.mission.Manager;
+import dragonrockets.mission.Mission;
+import dragonrockets.mission.MissionId;
+import dragonrockets.mission.MissionStatus;
+import dragonrockets.rocket.Producer;
+import dragonrockets.rocket.Repository;
+import dragonrockets.rocket.Rocket;
+import dragonrockets.rocket.RocketId;
+import dragonrockets.rocket.RocketStatus;
+import dragonrockets.rocket.StatusChangeResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Application recording every successful state transition in the write-ahead log before acknowledging it.
+// On start the state is rebuilt from the latest snapshot plus the log records written after it.
+// Transitions are applied and logged under one write lock, so the log order is the order they have been applied in,
+// while waiting for the fsync happens outside of it, so concurrent writers share one fsync
+public class PersistentDragonRocketsApp extends DragonRocketsApp {
+    private final Repository mainRepository;
+    private final Manager missionManager;
+    private final PersistenceOptions options;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final WriteAheadLog writeAheadLog;
+    private long recordsSinceSnapshot;
+
+    // Components must be empty, they get the recovered state
+    public PersistentDragonRocketsApp(Producer rocketProducer, Repository mainRepository, Manager missionManager,
+                                      PersistenceOptions options) throws IOException {
+        super(rocketProducer, mainRepository, missionManager);
+        this.mainRepository = mainRepository;
+        this.missionManager = missionManager;
+        this.options = options;
+
+        Files.createDirectories(options.directory());
+        long snapshotLsn = SnapshotFile.loadLatest(options.directory(), rocketProducer, mainRepository, missionManager);
+        long lastLsn = WriteAheadLog.replay(options.directory(), snapshotLsn, this::apply);
+        this.recordsSinceSnapshot = lastLsn - snapshotLsn;
+        this.writeAheadLog = new WriteAheadLog(options.directory(), lastLsn, options.syncMode(),
+                options.asyncSyncInterval().toMillis());
+    }
+
+    @Override
+    public boolean addNewRocketToRepository(String rocketName) {
+        long lsn = 0;
+        writeLock.lock();
+        try {
+            if (super.addNewRocketToRepository(rocketName)) {
+                lsn = log(LogRecord.rocketAdded(rocketName));
+            }
+            snapshotIfDue();
+        } finally {
+            writeLock.unlock();
+        }
+        awaitDurable(lsn);
+        return lsn > 0;
+    }
+
+    @Override
+    public boolean[] addNewRockets(Collection<String> rocketNames) {
+        long lsn = 0;
+        boolean[] added;
+        writeLock.lock();
+        try {
+            added = super.addNewRockets(rocketNames);
+            int i = 0;
+            for (String rocketName : rocketNames) {
+                if (added[i++]) {
+                    lsn = log(LogRecord.rocketAdded(rocketName));
+                }
+            }
+            snapshotIfDue();
+        } finally {
+            writeLock.unlock();
+        }
+        awaitDurable(lsn);
+        return added;
+    }
+
+    @Override
+    public boolean addNewMission(String missionName) {
+        long lsn = 0;
+        writeLock.lock();
+        try {
+            if (super.addNewMission(missionName)) {
+                lsn = log(LogRecord.missionAdded(missionName));
+            }
+            snapshotIfDue();
+        } finally {
+            writeLock.unlock();
+        }
+        awaitDurable(lsn);
+        return lsn > 0;
+    }
+
+    @Override
+    public AssignmentResult tryAssignRocketToMission(String rocketName, String missionName) {
+        long lsn = 0;
+        AssignmentResult result;
+        writeLock.lock();
+        try {
+            result = super.tryAssignRocketToMission(rocketName, missionName);
+            if (result == AssignmentResult.ASSIGNED) {
+                lsn = log(LogRecord.rocketAssigned(rocketName, missionName));
+            }
+            snapshotIfDue();
+        } finally {
+            writeLock.unlock();
+        }
+        awaitDurable(lsn);
+        return result;
+    }
+
+    // Log records name the rocket and the mission, so handles are resolved back to the names
+    @Override
+    public AssignmentResult tryAssignRocketToMission(RocketId rocketId, MissionId missionId) {
+        Rocket rocket = rocketId == null ? null : mainRepository.getRocket(rocketId);
+        if (rocket == null) {
+            return AssignmentResult.ROCKET_NOT_FOUND;
+        }
+        Mission mission = missionManager.getMission(missionId);
+        if (mission == null) {
+            return AssignmentResult.MISSION_NOT_FOUND;
+        }
+        return tryAssignRocketToMission(rocket.getName(), mission.getName());
+    }
+
+    @Override
+    public AssignmentResult[] assignRocketsToMission(Collection<String> rocketNames, String missionName) {
+        long lsn = 0;
+        AssignmentResult[] results;
+        writeLock.lock();
+        try {
+            results = super.assignRocketsToMission(rocketNames, missionName);
+            int i = 0;
+            for (String rocketName : rocketNames) {
+                if (results[i++] == AssignmentResult.ASSIGNED) {
+                    lsn = log(LogRecord.rocketAssigned(rocketName, missionName));
+                }
+            }
+            snapshotIfDue();
+        } finally {
+            writeLock.unlock();
+        }
+        awaitDurable(lsn);
+        return results;
+    }
+
+    @Override
+    public StatusChangeResult trySetRocketStatus(String rocketName, String missionName, RocketStatus newStatus) {
+        long lsn = 0;
+        StatusChangeResult result;
+        writeLock.lock();
+        try {
+            result = super.trySetRocketStatus(rocketName, missionName, newStatus);
+            if (result == StatusChangeResult.CHANGED) {
+                lsn = log(LogRecord.rocketStatusSet(rocketName, missionName, newStatus));
+            }
+            snapshotIfDue();
+        } finally {
+            writeLock.unlock();
+        }
+        awaitDurable(lsn);
+        return result;
+    }
+
+    @Override
+    public StatusChangeResult trySetRocketStatus(RocketId rocketId, MissionId missionId, RocketStatus newStatus) {
+        Mission mission = missionManager.getMission(missionId);
+        if (mission == null) {
+            return StatusChangeResult.MISSION_NOT_FOUND;
+        }
+        Rocket rocket = rocketId == null ? null : mainRepository.getRocket(rocketId);
+        if (rocket == null) {
+            return StatusChangeResult.ROCKET_NOT_FOUND;
+        }
+        return trySetRocketStatus(rocket.getName(), mission.getName(), newStatus);
+    }
+
+    @Override
+    public boolean setMissionStatus(MissionId missionId, MissionStatus newStatus) {
+        Mission mission = missionManager.getMission(missionId);
+        if (mission == null) {
+            return super.setMissionStatus(missionId, newStatus);
+        }
+        return setMissionStatus(mission.getName(), newStatus);
+    }
+
+    @Override
+    public boolean setMissionStatus(String missionName, MissionStatus newStatus) {
+        long lsn = 0;
+        writeLock.lock();
+        try {
+            if (super.setMissionStatus(missionName, newStatus)) {
+                lsn = log(LogRecord.missionStatusSet(missionName, newStatus));
+            }
+            snapshotIfDue();
+        } finally {
+            writeLock.unlock();
+        }
+        awaitDurable(lsn);
+        return lsn > 0;
+    }
+
+    // Writes the current state to a new snapshot and drops the log segments and snapshots it makes obsolete
+    public void snapshot() {
+        writeLock.lock();
+        try {
+            long lsn = writeAheadLog.getLastAppendedLsn();
+            Path snapshotPath = SnapshotFile.write(options.directory(), lsn, mainRepository, missionManager);
+            writeAheadLog.rotate();
+            writeAheadLog.deleteOldSegments();
+            SnapshotFile.deleteAllBut(options.directory(), snapshotPath);
+            recordsSinceSnapshot = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void exportSnapshot(Path snapshotPath) {
+        writeLock.lock();
+        try {
+            MappedSnapshot.export(snapshotPath, writeAheadLog.getLastAppendedLsn(), mainRepository, missionManager);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        writeLock.lock();
+        try {
+            writeAheadLog.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Replayed records are applied without being logged again
+    private void apply(LogRecord record) {
+        switch (record.type()) {
+            case ROCKET_ADDED -> super.addNewRocketToRepository(record.rocketName());
+            case MISSION_ADDED -> super.addNewMission(record.missionName());
+            case ROCKET_ASSIGNED -> super.tryAssignRocketToMission(record.rocketName(), record.missionName());
+            case ROCKET_STATUS_SET ->
+                    super.trySetRocketStatus(record.rocketName(), record.missionName(), record.rocketStatus());
+            case MISSION_STATUS_SET -> super.setMissionStatus(record.missionName(), record.missionStatus());
+        }
+    }
+
+    private long log(LogRecord record) {
+        recordsSinceSnapshot++;
+        return writeAheadLog.append(record);
+    }
+
+    // Checked once the whole operation has been logged, a snapshot must not fall in the middle of a batch
+    private void snapshotIfDue() {
+        if (recordsSinceSnapshot >= options.snapshotEveryRecords()) {
+            snapshot();
+        }
+    }
+
+    private void awaitDurable(long lsn) {
+        if (lsn == 0 || options.syncMode() != SyncMode.GROUP_COMMIT) {
+            return;
+        }
+        try {
+            writeAheadLog.awaitDurable(lsn);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
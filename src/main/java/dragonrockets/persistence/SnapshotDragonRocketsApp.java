@@ -0,0 +1,182 @@
+package dragonrockets.persistence;
+
+import dragonrockets.DragonRocketsApp;
+import dragonrockets.mission.AssignmentResult;
+import dragonrockets.mission.Manager;
+import dragonrockets.mission.MissionId;
+import dragonrockets.mission.MissionStatus;
+import dragonrockets.mission.MissionSummary;
+import dragonrockets.mission.SummaryCursor;
+import dragonrockets.mission.SummaryPage;
+import dragonrockets.rocket.AllocationPolicy;
+import dragonrockets.rocket.Producer;
+import dragonrockets.rocket.Repository;
+import dragonrockets.rocket.RocketId;
+import dragonrockets.rocket.RocketStatus;
+import dragonrockets.rocket.StatusChangeResult;
+import dragonrockets.utils.SummaryWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// Application started from a mapped snapshot. Until the heap structures are loaded by a background thread,
+// the summary is read straight from the snapshot, while state transitions wait for the loading to finish
+public class SnapshotDragonRocketsApp extends DragonRocketsApp {
+    private final MappedRocketRepository snapshotRepository;
+    private final CompletableFuture<Void> warmUp = new CompletableFuture<>();
+
+    // Components must be empty, they get the snapshot state
+    public SnapshotDragonRocketsApp(Producer rocketProducer, Repository mainRepository, Manager missionManager,
+                                    Path snapshotPath) throws IOException {
+        super(rocketProducer, mainRepository, missionManager);
+        MappedSnapshot snapshot = MappedSnapshot.open(snapshotPath);
+        this.snapshotRepository = new MappedRocketRepository(snapshot);
+
+        Thread warmUpThread = new Thread(() -> {
+            try {
+                snapshot.verifyChecksum();
+                snapshot.loadInto(rocketProducer, mainRepository, missionManager);
+                warmUp.complete(null);
+            } catch (Throwable e) {
+                warmUp.completeExceptionally(e);
+            }
+        }, "snapshot-warm-up");
+        warmUpThread.setDaemon(true);
+        warmUpThread.start();
+    }
+
+    // Read-only view of the snapshot the application has been started from
+    public MappedRocketRepository getSnapshotRepository() {
+        return snapshotRepository;
+    }
+
+    public boolean isWarmedUp() {
+        return warmUp.isDone() && !warmUp.isCompletedExceptionally();
+    }
+
+    public void awaitWarmUp() {
+        try {
+            warmUp.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw new UncheckedIOException(ioException);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void exportSnapshot(Path snapshotPath) {
+        awaitWarmUp();
+        super.exportSnapshot(snapshotPath);
+    }
+
+    @Override
+    public List<MissionSummary> getSummary() {
+        if (isWarmedUp()) {
+            return super.getSummary();
+        }
+        return snapshotRepository.getSummary();
+    }
+
+    @Override
+    public List<MissionSummary> getSummary(int limit) {
+        if (isWarmedUp()) {
+            return super.getSummary(limit);
+        }
+        return snapshotRepository.getSummary(limit);
+    }
+
+    @Override
+    public SummaryPage getSummaryPage(SummaryCursor cursor, int pageSize) {
+        if (isWarmedUp()) {
+            return super.getSummaryPage(cursor, pageSize);
+        }
+        return snapshotRepository.getSummaryPage(cursor, pageSize);
+    }
+
+    @Override
+    public void writeSummary(Appendable output) throws IOException {
+        if (isWarmedUp()) {
+            super.writeSummary(output);
+        } else {
+            new SummaryWriter(output).write(snapshotRepository.getSummary());
+        }
+    }
+
+    @Override
+    public void writeSummary(WritableByteChannel output) throws IOException {
+        if (isWarmedUp()) {
+            super.writeSummary(output);
+        } else {
+            new SummaryWriter(output).write(snapshotRepository.getSummary());
+        }
+    }
+
+    @Override
+    public boolean addNewRocketToRepository(String rocketName) {
+        awaitWarmUp();
+        return super.addNewRocketToRepository(rocketName);
+    }
+
+    @Override
+    public boolean[] addNewRockets(Collection<String> rocketNames) {
+        awaitWarmUp();
+        return super.addNewRockets(rocketNames);
+    }
+
+    @Override
+    public boolean addNewMission(String missionName) {
+        awaitWarmUp();
+        return super.addNewMission(missionName);
+    }
+
+    @Override
+    public AssignmentResult tryAssignRocketToMission(String rocketName, String missionName) {
+        awaitWarmUp();
+        return super.tryAssignRocketToMission(rocketName, missionName);
+    }
+
+    @Override
+    public AssignmentResult[] assignRocketsToMission(Collection<String> rocketNames, String missionName) {
+        awaitWarmUp();
+        return super.assignRocketsToMission(rocketNames, missionName);
+    }
+
+    @Override
+    public List<String> allocateRockets(String missionName, int count, AllocationPolicy policy) {
+        awaitWarmUp();
+        return super.allocateRockets(missionName, count, policy);
+    }
+
+    @Override
+    public StatusChangeResult trySetRocketStatus(String rocketName, String missionName, RocketStatus newStatus) {
+        awaitWarmUp();
+        return super.trySetRocketStatus(rocketName, missionName, newStatus);
+    }
+
+    // Operations taking handles need no waiting, as handles come from the loaded state only
+    @Override
+    public RocketId getRocketId(String rocketName) {
+        awaitWarmUp();
+        return super.getRocketId(rocketName);
+    }
+
+    @Override
+    public MissionId getMissionId(String missionName) {
+        awaitWarmUp();
+        return super.getMissionId(missionName);
+    }
+
+    @Override
+    public boolean setMissionStatus(String missionName, MissionStatus newStatus) {
+        awaitWarmUp();
+        return super.setMissionStatus(missionName, newStatus);
+    }
+}
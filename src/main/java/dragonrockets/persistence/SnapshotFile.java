@@ -0,0 +1,69 @@
+package dragonrockets.persistence;
+
+import dragonrockets.mission.Manager;
+import dragonrockets.rocket.Producer;
+import dragonrockets.rocket.Repository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Snapshot files of the persistence directory, in the MappedSnapshot format and named after the LSN of the last
+// log record they include
+public class SnapshotFile {
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+
+    // Written to a temporary file first and moved into place, so a crash never leaves a half-written snapshot
+    public static Path write(Path directory, long lsn, Repository repository, Manager missionManager) throws IOException {
+        Path snapshotPath = directory.resolve(snapshotName(lsn));
+        Path temporaryPath = directory.resolve(snapshotName(lsn) + ".tmp");
+        MappedSnapshot.export(temporaryPath, lsn, repository, missionManager);
+        Files.move(temporaryPath, snapshotPath, StandardCopyOption.ATOMIC_MOVE);
+        return snapshotPath;
+    }
+
+    public static Optional<Path> findLatest(Path directory) throws IOException {
+        List<Path> snapshots = snapshots(directory);
+        return snapshots.isEmpty() ? Optional.empty() : Optional.of(snapshots.get(snapshots.size() - 1));
+    }
+
+    // Loads the newest snapshot into empty components and returns its LSN, or 0 when there is no snapshot
+    public static long loadLatest(Path directory, Producer rocketProducer, Repository repository,
+                                  Manager missionManager) throws IOException {
+        Optional<Path> snapshotPath = findLatest(directory);
+        if (snapshotPath.isEmpty()) {
+            return 0;
+        }
+        MappedSnapshot snapshot = MappedSnapshot.open(snapshotPath.get());
+        snapshot.verifyChecksum();
+        snapshot.loadInto(rocketProducer, repository, missionManager);
+        return snapshot.getLsn();
+    }
+
+    public static void deleteAllBut(Path directory, Path snapshotToKeep) throws IOException {
+        for (Path snapshot : snapshots(directory)) {
+            if (!snapshot.equals(snapshotToKeep)) {
+                Files.delete(snapshot);
+            }
+        }
+    }
+
+    private static List<Path> snapshots(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> path.getFileName().toString().startsWith(SNAPSHOT_PREFIX))
+                    .filter(path -> path.getFileName().toString().endsWith(SNAPSHOT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static String snapshotName(long lsn) {
+        return String.format("%s%020d%s", SNAPSHOT_PREFIX, lsn, SNAPSHOT_SUFFIX);
+    }
+}
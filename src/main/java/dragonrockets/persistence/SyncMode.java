@@ -0,0 +1,8 @@
+package dragonrockets.persistence;
+
+public enum SyncMode {
+    // Every mutating call returns once its log record is on disk, concurrent callers share one fsync
+    GROUP_COMMIT,
+    // Calls return right after appending, the log is synced periodically in the background
+    ASYNC
+}
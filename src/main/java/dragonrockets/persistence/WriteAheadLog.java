@@ -0,0 +1,295 @@
+package dragonrockets.persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// Append-only binary log split into segments named after the sequence number (LSN) of their first record.
+// Record layout: payload length (int), CRC32 of LSN and payload (int), LSN (long), payload.
+// Appending only fills an in-memory buffer. Whoever needs its record on disk first becomes the leader, which writes
+// and fsyncs everything buffered so far, while other threads wait for it and get their records synced by the same
+// fsync (group commit)
+public class WriteAheadLog implements Closeable {
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int RECORD_HEADER_BYTES = Integer.BYTES + Integer.BYTES + Long.BYTES;
+    private static final int MAX_PAYLOAD_BYTES = 1 << 20;
+    private static final int INITIAL_BUFFER_BYTES = 64 * 1024;
+    private static final long SYNCER_STOP_TIMEOUT_SECONDS = 60;
+
+    private final Path directory;
+    private final ScheduledExecutorService asyncSyncer;
+    private final ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream();
+    private final DataOutputStream payloadOutput = new DataOutputStream(payloadBytes);
+    private final CRC32 crc = new CRC32();
+
+    private FileChannel segment;
+    private long segmentFirstLsn;
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+    private ByteBuffer spare = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+    private long lastAppendedLsn;
+    private long durableLsn;
+    private boolean flushing;
+    // Records lost by a failed write can never be reported as durable, so the log stays failed from then on.
+    // In ASYNC mode nobody waits for the syncer, so its failure is thrown by the next append, awaitDurable or close
+    private IOException failure;
+
+    // Opens a new segment following the given last LSN, any records replayed before are left untouched
+    public WriteAheadLog(Path directory, long lastLsn, SyncMode syncMode, long asyncSyncIntervalMillis) throws IOException {
+        this.directory = directory;
+        this.lastAppendedLsn = lastLsn;
+        this.durableLsn = lastLsn;
+        openSegment(lastLsn + 1);
+        if (syncMode == SyncMode.ASYNC) {
+            asyncSyncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "wal-syncer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            asyncSyncer.scheduleWithFixedDelay(this::syncQuietly,
+                    asyncSyncIntervalMillis, asyncSyncIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            asyncSyncer = null;
+        }
+    }
+
+    // Passes records with LSN greater than the given one to the consumer, in order, and returns the last LSN read.
+    // Reading a segment stops at its first torn or corrupted record, as nothing after it has ever been acknowledged
+    public static long replay(Path directory, long afterLsn, Consumer<LogRecord> consumer) throws IOException {
+        long lastLsn = afterLsn;
+        for (Path segmentPath : segments(directory)) {
+            ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(segmentPath));
+            CRC32 checksum = new CRC32();
+            while (content.remaining() >= RECORD_HEADER_BYTES) {
+                int payloadLength = content.getInt();
+                int recordCrc = content.getInt();
+                long lsn = content.getLong();
+                if (payloadLength < 0 || payloadLength > MAX_PAYLOAD_BYTES || payloadLength > content.remaining()) {
+                    break;
+                }
+                byte[] payload = new byte[payloadLength];
+                content.get(payload);
+                checksum.reset();
+                checksum.update(ByteBuffer.allocate(Long.BYTES).putLong(0, lsn));
+                checksum.update(payload);
+                if ((int) checksum.getValue() != recordCrc || (lsn > afterLsn && lsn != lastLsn + 1)) {
+                    break;
+                }
+                if (lsn > afterLsn) {
+                    consumer.accept(LogRecord.readFrom(new DataInputStream(new ByteArrayInputStream(payload))));
+                    lastLsn = lsn;
+                }
+            }
+        }
+        return lastLsn;
+    }
+
+    public synchronized long append(LogRecord record) {
+        if (failure != null) {
+            throw new UncheckedIOException(failedBefore());
+        }
+        payloadBytes.reset();
+        try {
+            record.writeTo(payloadOutput);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        long lsn = ++lastAppendedLsn;
+        byte[] payload = payloadBytes.toByteArray();
+        crc.reset();
+        crc.update(ByteBuffer.allocate(Long.BYTES).putLong(0, lsn));
+        crc.update(payload);
+
+        ensurePendingCapacity(RECORD_HEADER_BYTES + payload.length);
+        pending.putInt(payload.length);
+        pending.putInt((int) crc.getValue());
+        pending.putLong(lsn);
+        pending.put(payload);
+        return lsn;
+    }
+
+    public synchronized long getLastAppendedLsn() {
+        return lastAppendedLsn;
+    }
+
+    public void awaitDurable(long lsn) throws IOException {
+        ByteBuffer toWrite;
+        long lastLsnToWrite;
+        synchronized (this) {
+            while (durableLsn < lsn && flushing) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while waiting for log record " + lsn + " to be synced", e);
+                }
+            }
+            if (durableLsn >= lsn) {
+                return;
+            }
+            if (failure != null) {
+                throw failedBefore();
+            }
+            // This thread becomes the leader syncing everything appended so far
+            flushing = true;
+            toWrite = pending;
+            pending = spare;
+            lastLsnToWrite = lastAppendedLsn;
+        }
+
+        boolean synced = false;
+        try {
+            toWrite.flip();
+            while (toWrite.hasRemaining()) {
+                segment.write(toWrite);
+            }
+            segment.force(false);
+            synced = true;
+        } catch (IOException e) {
+            synchronized (this) {
+                failure = e;
+            }
+            throw e;
+        } finally {
+            synchronized (this) {
+                toWrite.clear();
+                spare = toWrite;
+                flushing = false;
+                if (synced) {
+                    durableLsn = lastLsnToWrite;
+                }
+                notifyAll();
+            }
+        }
+    }
+
+    // Syncs the current segment and starts a new one, so segments before it can be dropped after a snapshot
+    public synchronized void rotate() throws IOException {
+        awaitDurableLocked();
+        segment.close();
+        openSegment(lastAppendedLsn + 1);
+    }
+
+    // Deletes all segments preceding the current one
+    public synchronized void deleteOldSegments() throws IOException {
+        for (Path segmentPath : segments(directory)) {
+            if (firstLsnOf(segmentPath) < segmentFirstLsn) {
+                Files.delete(segmentPath);
+            }
+        }
+    }
+
+    // The syncer is never interrupted, as an interrupted write or force closes the segment channel
+    @Override
+    public void close() throws IOException {
+        if (asyncSyncer != null) {
+            asyncSyncer.shutdown();
+            try {
+                if (!asyncSyncer.awaitTermination(SYNCER_STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    throw new IOException("Write-ahead log syncer did not stop within "
+                            + SYNCER_STOP_TIMEOUT_SECONDS + " seconds");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for the write-ahead log syncer to stop", e);
+            }
+        }
+        synchronized (this) {
+            try {
+                awaitDurableLocked();
+            } finally {
+                segment.close();
+            }
+        }
+    }
+
+    // Called while holding the monitor, so no new leader can start. Waits for the running one and syncs the rest
+    private void awaitDurableLocked() throws IOException {
+        while (flushing) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for the log to be synced", e);
+            }
+        }
+        if (failure != null) {
+            throw failedBefore();
+        }
+        try {
+            pending.flip();
+            while (pending.hasRemaining()) {
+                segment.write(pending);
+            }
+            pending.clear();
+            segment.force(false);
+        } catch (IOException e) {
+            failure = e;
+            throw e;
+        }
+        durableLsn = lastAppendedLsn;
+    }
+
+    // awaitDurable records the failure, so there is nothing left to retry
+    private void syncQuietly() {
+        try {
+            awaitDurable(getLastAppendedLsn());
+        } catch (IOException e) {
+            asyncSyncer.shutdown();
+        }
+    }
+
+    private IOException failedBefore() {
+        return new IOException("Write-ahead log failed before", failure);
+    }
+
+    private void ensurePendingCapacity(int bytes) {
+        if (pending.remaining() < bytes) {
+            ByteBuffer bigger = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + bytes));
+            pending.flip();
+            bigger.put(pending);
+            pending = bigger;
+        }
+    }
+
+    private void openSegment(long firstLsn) throws IOException {
+        segmentFirstLsn = firstLsn;
+        segment = FileChannel.open(directory.resolve(segmentName(firstLsn)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static String segmentName(long firstLsn) {
+        return String.format("%s%020d%s", SEGMENT_PREFIX, firstLsn, SEGMENT_SUFFIX);
+    }
+
+    private static long firstLsnOf(Path segmentPath) {
+        String fileName = segmentPath.getFileName().toString();
+        return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+}
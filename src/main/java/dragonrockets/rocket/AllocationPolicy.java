@@ -0,0 +1,13 @@
+package dragonrockets.rocket;
+
+// Which available rockets allocateRockets() picks first. Only ON_GROUND rockets and IN_REPAIR ones without
+// a last mission are available
+public enum AllocationPolicy {
+    // Rockets which have been available for the longest time, ON_GROUND ones before IN_REPAIR ones
+    FIFO,
+    // ON_GROUND rockets which have never flown, then the ones which landed the longest time ago,
+    // IN_REPAIR ones last
+    LEAST_RECENTLY_FLOWN,
+    // IN_REPAIR rockets first, as they are not going to fly before being repaired anyway, then ON_GROUND ones
+    PREFER_IN_REPAIR
+}
@@ -0,0 +1,70 @@
+package dragonrockets.rocket;
+
+// Fingerprint registry fronted by a fixed-size Bloom filter. A name the filter has never seen is known to be new,
+// so the fingerprint table is neither searched on contains() nor compared against while registering the name.
+// The filter is sized for the expected number of names, going beyond it only raises its false positive rate
+public class BloomFilterRocketNameRegistry implements RocketNameRegistry {
+    private static final int HASH_FUNCTIONS = 7;
+    // Bits per expected name giving about 1% false positives with 7 hash functions
+    private static final int BITS_PER_NAME = 10;
+
+    private final FingerprintRocketNameRegistry fingerprints;
+    private final long[] bits;
+    private final long bitMask;
+
+    public BloomFilterRocketNameRegistry(int expectedNames) {
+        this.fingerprints = new FingerprintRocketNameRegistry(expectedNames);
+        long bitCount = Long.highestOneBit(Math.max(64L, (long) expectedNames * BITS_PER_NAME) - 1) << 1;
+        this.bits = new long[(int) (bitCount >>> 6)];
+        this.bitMask = bitCount - 1;
+    }
+
+    @Override
+    public boolean register(String rocketName) {
+        long fingerprint = FingerprintRocketNameRegistry.fingerprint(rocketName);
+        if (!mightContain(fingerprint)) {
+            addToFilter(fingerprint);
+            fingerprints.registerAbsent(fingerprint);
+            return true;
+        }
+        return fingerprints.register(fingerprint);
+    }
+
+    @Override
+    public boolean contains(String rocketName) {
+        long fingerprint = FingerprintRocketNameRegistry.fingerprint(rocketName);
+        return mightContain(fingerprint) && fingerprints.contains(fingerprint);
+    }
+
+    @Override
+    public long size() {
+        return fingerprints.size();
+    }
+
+    @Override
+    public long memoryFootprint() {
+        return fingerprints.memoryFootprint() + 16 + (long) bits.length * Long.BYTES;
+    }
+
+    // Kirsch-Mitzenmacher double hashing, both hashes are halves of the already well mixed fingerprint
+    private boolean mightContain(long fingerprint) {
+        long firstHash = fingerprint;
+        long secondHash = fingerprint >>> 32 | 1;
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            long bit = (firstHash + i * secondHash) & bitMask;
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addToFilter(long fingerprint) {
+        long firstHash = fingerprint;
+        long secondHash = fingerprint >>> 32 | 1;
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            long bit = (firstHash + i * secondHash) & bitMask;
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+}
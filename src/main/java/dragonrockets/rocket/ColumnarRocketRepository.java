@@ -0,0 +1,511 @@
+package dragonrockets.rocket;
+
+import dragonrockets.event.TransitionEvent;
+import dragonrockets.event.TransitionEventPublisher;
+import dragonrockets.mission.Mission;
+import dragonrockets.utils.IndexSpliterator;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Consumer;
+
+// Main repository keeping rockets as int ids with their data in primitive columns instead of a map of Rocket objects.
+// Rocket objects are kept only for rockets having a last mission, as that mission references them anyway. Rockets
+// without a last mission are built from the columns when looked up and kept weakly, so a rocket is handed out
+// as the same instance for as long as anyone holds it, and otherwise takes its UTF-8 name plus about thirty bytes.
+// Rockets are listened to and carry their id, the columns follow every change made to the handed out instances.
+// Like RocketRepository, it is not thread-safe
+public class ColumnarRocketRepository implements Repository, RocketListener {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int NO_ROCKET = -1;
+    private static final int NO_MISSION = -1;
+    private static final byte REMOVED = -1;
+
+    // UTF-8 names one after another, name of rocket id spans from nameOffsets[id] to nameOffsets[id + 1].
+    // Names of removed rockets are not reclaimed
+    private byte[] names = new byte[INITIAL_CAPACITY * 8];
+    private int[] nameOffsets = new int[INITIAL_CAPACITY + 1];
+    private byte[] statuses = new byte[INITIAL_CAPACITY];
+    private int[] missionIds = new int[INITIAL_CAPACITY];
+    // Rockets of one mission form a doubly linked list, so they are found without scanning all rockets
+    private int[] nextInMission = new int[INITIAL_CAPACITY];
+    private int[] previousInMission = new int[INITIAL_CAPACITY];
+    // Rocket of an attached rocket, or a HandedOutRocket for a rocket without a last mission that has been handed out
+    private Object[] rocketObjects = new Object[INITIAL_CAPACITY];
+    private final ReferenceQueue<Rocket> releasedRockets = new ReferenceQueue<>();
+    private int rocketIds;
+    private int numberOfRockets;
+
+    // Open addressing table of rocket id + 1 by name hash (zero marks an empty slot), at most half full
+    private int[] idTable = new int[INITIAL_CAPACITY * 2];
+    // Names looked up are encoded here instead of into a new array on every lookup
+    private byte[] nameBuffer = new byte[64];
+
+    // Missions are keyed by lower-cased name, as mission names are matched case-insensitively
+    private final Map<String, Integer> missionIdsByKey = new HashMap<>();
+    private int[] missionHeads = new int[INITIAL_CAPACITY];
+    // Rocket ids by status and the ids of available rockets
+    private final RocketStatusIndex statusIndex = new RocketStatusIndex();
+    private final TransitionEventPublisher eventPublisher;
+
+    public ColumnarRocketRepository() {
+        this(TransitionEventPublisher.NONE);
+    }
+
+    public ColumnarRocketRepository(TransitionEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public Rocket getRocket(String rocketName) {
+        int rocketId = findRocketId(rocketName);
+        return rocketId == NO_ROCKET ? null : toRocket(rocketId);
+    }
+
+    // Rocket ids are handles already. They are not reused until all rockets are removed at once
+    @Override
+    public RocketId getRocketId(String rocketName) {
+        int rocketId = findRocketId(rocketName);
+        return rocketId == NO_ROCKET ? null : new RocketId(rocketId);
+    }
+
+    @Override
+    public Rocket getRocket(RocketId rocketId) {
+        int id = rocketId.value();
+        return id >= 0 && id < rocketIds && statuses[id] != REMOVED ? toRocket(id) : null;
+    }
+
+    @Override
+    public boolean addRocket(Rocket rocket) {
+        int nameLength = encodeName(rocket.getName());
+        if (findRocketId(nameLength) != NO_ROCKET) {
+            return false;
+        }
+        boolean listening = rocket.getListener() == null;
+        if (listening) {
+            rocket.setListener(this);
+        }
+
+        releaseCollectedRockets();
+        ensureCapacity(numberOfRockets + 1);
+        int rocketId = rocketIds++;
+        int nameOffset = nameOffsets[rocketId];
+        if (nameOffset + nameLength > names.length) {
+            names = Arrays.copyOf(names, Math.max(names.length * 2, nameOffset + nameLength));
+        }
+        System.arraycopy(nameBuffer, 0, names, nameOffset, nameLength);
+        nameOffsets[rocketId + 1] = nameOffset + nameLength;
+        statuses[rocketId] = (byte) rocket.getStatus().ordinal();
+        missionIds[rocketId] = NO_MISSION;
+        insertId(rocketId);
+        numberOfRockets++;
+        statusIndex.add(rocketId, rocket);
+        // Rocket listened to by another repository is not followed, so it is not handed out either
+        if (listening) {
+            rocket.setId(new RocketId(rocketId));
+            rocketObjects[rocketId] = new HandedOutRocket(rocket, rocketId, releasedRockets);
+        }
+
+        eventPublisher.publish(new TransitionEvent.RocketCreated(rocket.getName(), rocket.getStatus()));
+        Mission mission = rocket.getLastMissionOrNull();
+        if (mission != null) {
+            attach(rocketId, rocket, mission);
+        }
+        return true;
+    }
+
+    @Override
+    public void ensureCapacity(int expectedNumberOfRockets) {
+        int requiredIds = rocketIds + Math.max(0, expectedNumberOfRockets - numberOfRockets);
+        if (requiredIds > statuses.length) {
+            int capacity = Math.max(requiredIds, statuses.length + (statuses.length >> 1));
+            nameOffsets = Arrays.copyOf(nameOffsets, capacity + 1);
+            statuses = Arrays.copyOf(statuses, capacity);
+            missionIds = Arrays.copyOf(missionIds, capacity);
+            nextInMission = Arrays.copyOf(nextInMission, capacity);
+            previousInMission = Arrays.copyOf(previousInMission, capacity);
+            rocketObjects = Arrays.copyOf(rocketObjects, capacity);
+            statusIndex.ensureCapacity(capacity);
+        }
+        if (expectedNumberOfRockets * 2L > idTable.length) {
+            int tableCapacity = idTable.length;
+            while (expectedNumberOfRockets * 2L > tableCapacity) {
+                tableCapacity <<= 1;
+            }
+            rehash(tableCapacity);
+        }
+    }
+
+    @Override
+    public int getNumberOfRockets() {
+        return numberOfRockets;
+    }
+
+    @Override
+    public void removeRocket(Rocket rocket) {
+        int rocketId = findRocketId(rocket.getName());
+        if (rocketId == NO_ROCKET) {
+            return;
+        }
+        // Rocket may be removed by an equal instance, the one handed out must not change the columns any more either
+        Rocket handedOutRocket = rocketObjects[rocketId] instanceof Rocket attachedRocket
+                ? attachedRocket : handedOutRocket(rocketId);
+        stopListening(rocket);
+        if (handedOutRocket != null) {
+            stopListening(handedOutRocket);
+        }
+        if (missionIds[rocketId] != NO_MISSION) {
+            detach(rocketId);
+        }
+        rocketObjects[rocketId] = null;
+        deleteId(rocketId);
+        statusIndex.remove(rocketId);
+        statuses[rocketId] = REMOVED;
+        numberOfRockets--;
+    }
+
+    @Override
+    public void unassignAndRemoveAllRockets() {
+        for (int rocketId = 0; rocketId < rocketIds; rocketId++) {
+            if (statuses[rocketId] != REMOVED && rocketObjects[rocketId] instanceof Rocket rocket) {
+                rocket.setLastMission(null);
+            }
+        }
+        // Every attached rocket has just been detached, so only the rocket columns have to be reset.
+        // Rockets still held elsewhere keep their ids, but they are not listened to any more
+        for (int rocketId = 0; rocketId < rocketIds; rocketId++) {
+            Rocket rocket = handedOutRocket(rocketId);
+            if (rocket != null) {
+                stopListening(rocket);
+            }
+        }
+        Arrays.fill(rocketObjects, 0, rocketIds, null);
+        Arrays.fill(idTable, 0);
+        statusIndex.clear();
+        rocketIds = 0;
+        numberOfRockets = 0;
+    }
+
+    @Override
+    public List<Rocket> getRockets() {
+        List<Rocket> rockets = new ArrayList<>(numberOfRockets);
+        for (int rocketId = 0; rocketId < rocketIds; rocketId++) {
+            if (statuses[rocketId] != REMOVED) {
+                rockets.add(toRocket(rocketId));
+            }
+        }
+        return rockets;
+    }
+
+    // Rockets kept in columns only are materialized one at a time, as they are visited
+    @Override
+    public void forEachRocket(Consumer<Rocket> action) {
+        for (int rocketId = 0; rocketId < rocketIds; rocketId++) {
+            if (statuses[rocketId] != REMOVED) {
+                action.accept(toRocket(rocketId));
+            }
+        }
+    }
+
+    // Rocket ids of removed rockets are skipped, so the size is exact only when none has been removed
+    @Override
+    public Spliterator<Rocket> rocketSpliterator() {
+        return new IndexSpliterator<>(rocketId -> statuses[rocketId] != REMOVED ? toRocket(rocketId) : null,
+                0, rocketIds, numberOfRockets == rocketIds);
+    }
+
+    @Override
+    public int getNumberOfRockets(RocketStatus status) {
+        return statusIndex.count(status);
+    }
+
+    @Override
+    public List<Rocket> getRockets(RocketStatus status) {
+        return toRockets(statusIndex.rocketIds(status));
+    }
+
+    @Override
+    public int getNumberOfAvailableRockets() {
+        return statusIndex.countAvailable();
+    }
+
+    @Override
+    public List<Rocket> getAvailableRockets() {
+        return toRockets(statusIndex.availableRocketIds());
+    }
+
+    @Override
+    public List<Rocket> selectAvailableRockets(int count, AllocationPolicy policy) {
+        return toRockets(statusIndex.selectAvailable(count, policy));
+    }
+
+    @Override
+    public Rocket pollAvailable() {
+        int rocketId = statusIndex.firstAvailable();
+        return rocketId < 0 ? null : toRocket(rocketId);
+    }
+
+    @Override
+    public void wipeOutRocketsLastMission(Mission mission) {
+        findRocketsByMission(mission).forEach(rocket -> rocket.setLastMission(null));
+    }
+
+    @Override
+    public List<Rocket> findRocketsByMission(Mission mission) {
+        Integer missionId = missionIdsByKey.get(mission.getKey());
+        if (missionId == null) {
+            return List.of();
+        }
+        List<Rocket> rockets = new ArrayList<>();
+        for (int rocketId = missionHeads[missionId]; rocketId != NO_ROCKET; rocketId = nextInMission[rocketId]) {
+            rockets.add((Rocket) rocketObjects[rocketId]);
+        }
+        return rockets;
+    }
+
+    // Estimated number of heap bytes retained by the columns, not counting the Rocket objects
+    public long memoryFootprint() {
+        return names.length + nameBuffer.length
+                + (long) Integer.BYTES * (nameOffsets.length + missionIds.length + nextInMission.length
+                + previousInMission.length + rocketObjects.length + idTable.length + missionHeads.length)
+                + statuses.length + statusIndex.memoryFootprint();
+    }
+
+    @Override
+    public void lastMissionChanged(Rocket rocket, Mission oldMission) {
+        RocketId rocketId = rocket.getId();
+        if (rocketId == null) {
+            return;
+        }
+        int id = rocketId.value();
+        if (missionIds[id] != NO_MISSION) {
+            detach(id);
+        }
+        if (oldMission != null) {
+            eventPublisher.publish(new TransitionEvent.RocketUnassigned(rocket.getName(), oldMission.getName()));
+        }
+        Mission mission = rocket.getLastMissionOrNull();
+        if (mission != null) {
+            attach(id, rocket, mission);
+            eventPublisher.publish(new TransitionEvent.RocketAssigned(rocket.getName(), mission.getName()));
+        } else {
+            rocketObjects[id] = new HandedOutRocket(rocket, id, releasedRockets);
+        }
+        statusIndex.update(id, rocket);
+    }
+
+    @Override
+    public void statusChanged(Rocket rocket, RocketStatus oldStatus) {
+        RocketId rocketId = rocket.getId();
+        if (rocketId == null) {
+            return;
+        }
+        statuses[rocketId.value()] = (byte) rocket.getStatus().ordinal();
+        statusIndex.update(rocketId.value(), rocket);
+        eventPublisher.publish(new TransitionEvent.RocketStatusChanged(rocket.getName(), oldStatus, rocket.getStatus()));
+    }
+
+    private Rocket toRocket(int rocketId) {
+        if (rocketObjects[rocketId] instanceof Rocket rocket) {
+            return rocket;
+        }
+        Rocket handedOutRocket = handedOutRocket(rocketId);
+        if (handedOutRocket != null) {
+            return handedOutRocket;
+        }
+        releaseCollectedRockets();
+        Rocket rocket = new Rocket(new String(names, nameOffsets[rocketId],
+                nameOffsets[rocketId + 1] - nameOffsets[rocketId], StandardCharsets.UTF_8));
+        rocket.setStatus(RocketStatus.values()[statuses[rocketId]]);
+        rocket.setId(new RocketId(rocketId));
+        rocket.setListener(this);
+        rocketObjects[rocketId] = new HandedOutRocket(rocket, rocketId, releasedRockets);
+        return rocket;
+    }
+
+    private void stopListening(Rocket rocket) {
+        if (rocket.getListener() == this) {
+            rocket.setListener(null);
+            rocket.setId(null);
+        }
+    }
+
+    private Rocket handedOutRocket(int rocketId) {
+        return rocketObjects[rocketId] instanceof HandedOutRocket handedOutRocket ? handedOutRocket.get() : null;
+    }
+
+    // Drops references to rockets nobody holds any more. A slot may have been taken by a newer reference meanwhile
+    private void releaseCollectedRockets() {
+        for (Object released = releasedRockets.poll(); released != null; released = releasedRockets.poll()) {
+            HandedOutRocket handedOutRocket = (HandedOutRocket) released;
+            if (handedOutRocket.rocketId < rocketObjects.length
+                    && rocketObjects[handedOutRocket.rocketId] == handedOutRocket) {
+                rocketObjects[handedOutRocket.rocketId] = null;
+            }
+        }
+    }
+
+    private List<Rocket> toRockets(int[] rocketIds) {
+        List<Rocket> rockets = new ArrayList<>(rocketIds.length);
+        for (int rocketId : rocketIds) {
+            rockets.add(toRocket(rocketId));
+        }
+        return rockets;
+    }
+
+    private void attach(int rocketId, Rocket rocket, Mission mission) {
+        Integer knownMissionId = missionIdsByKey.get(mission.getKey());
+        int missionId;
+        if (knownMissionId == null) {
+            missionId = newMissionId();
+            missionIdsByKey.put(mission.getKey(), missionId);
+        } else {
+            missionId = knownMissionId;
+        }
+        missionIds[rocketId] = missionId;
+        rocketObjects[rocketId] = rocket;
+
+        previousInMission[rocketId] = NO_ROCKET;
+        nextInMission[rocketId] = missionHeads[missionId];
+        if (missionHeads[missionId] != NO_ROCKET) {
+            previousInMission[missionHeads[missionId]] = rocketId;
+        }
+        missionHeads[missionId] = rocketId;
+    }
+
+    // The rocket object is left in place, whoever detaches the rocket decides what becomes of it
+    private void detach(int rocketId) {
+        int missionId = missionIds[rocketId];
+        missionIds[rocketId] = NO_MISSION;
+
+        int previous = previousInMission[rocketId];
+        int next = nextInMission[rocketId];
+        if (previous == NO_ROCKET) {
+            missionHeads[missionId] = next;
+        } else {
+            nextInMission[previous] = next;
+        }
+        if (next != NO_ROCKET) {
+            previousInMission[next] = previous;
+        }
+    }
+
+    private int newMissionId() {
+        int missionId = missionIdsByKey.size();
+        if (missionId == missionHeads.length) {
+            missionHeads = Arrays.copyOf(missionHeads, missionId * 2);
+        }
+        missionHeads[missionId] = NO_ROCKET;
+        return missionId;
+    }
+
+    private int findRocketId(String rocketName) {
+        return findRocketId(encodeName(rocketName));
+    }
+
+    // Looks up the name of the given length held by the name buffer
+    private int findRocketId(int nameLength) {
+        int mask = idTable.length - 1;
+        for (int slot = hash(nameBuffer, 0, nameLength) & mask; idTable[slot] != 0; slot = (slot + 1) & mask) {
+            int rocketId = idTable[slot] - 1;
+            if (nameEquals(rocketId, nameLength)) {
+                return rocketId;
+            }
+        }
+        return NO_ROCKET;
+    }
+
+    // Encodes the name into the name buffer the way String.getBytes(UTF_8) does, unpaired surrogates becoming '?'.
+    // Returns the number of bytes
+    private int encodeName(String name) {
+        if (name.length() * 3 > nameBuffer.length) {
+            nameBuffer = new byte[name.length() * 3];
+        }
+        int length = 0;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c < 0x80) {
+                nameBuffer[length++] = (byte) c;
+            } else if (c < 0x800) {
+                nameBuffer[length++] = (byte) (0xC0 | c >> 6);
+                nameBuffer[length++] = (byte) (0x80 | c & 0x3F);
+            } else if (!Character.isSurrogate(c)) {
+                nameBuffer[length++] = (byte) (0xE0 | c >> 12);
+                nameBuffer[length++] = (byte) (0x80 | c >> 6 & 0x3F);
+                nameBuffer[length++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < name.length()
+                    && Character.isLowSurrogate(name.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, name.charAt(++i));
+                nameBuffer[length++] = (byte) (0xF0 | codePoint >> 18);
+                nameBuffer[length++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                nameBuffer[length++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                nameBuffer[length++] = (byte) (0x80 | codePoint & 0x3F);
+            } else {
+                nameBuffer[length++] = '?';
+            }
+        }
+        return length;
+    }
+
+    private void insertId(int rocketId) {
+        int mask = idTable.length - 1;
+        int slot = hashOf(rocketId) & mask;
+        while (idTable[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        idTable[slot] = rocketId + 1;
+    }
+
+    // Entries following the deleted one are shifted back, so no probe sequence gets broken by an empty slot
+    private void deleteId(int rocketId) {
+        int mask = idTable.length - 1;
+        int slot = hashOf(rocketId) & mask;
+        while (idTable[slot] != rocketId + 1) {
+            slot = (slot + 1) & mask;
+        }
+        idTable[slot] = 0;
+        for (int next = (slot + 1) & mask; idTable[next] != 0; next = (next + 1) & mask) {
+            int movedId = idTable[next] - 1;
+            idTable[next] = 0;
+            insertId(movedId);
+        }
+    }
+
+    private void rehash(int tableCapacity) {
+        idTable = new int[tableCapacity];
+        for (int rocketId = 0; rocketId < rocketIds; rocketId++) {
+            if (statuses[rocketId] != REMOVED) {
+                insertId(rocketId);
+            }
+        }
+    }
+
+    private boolean nameEquals(int rocketId, int nameLength) {
+        return Arrays.equals(names, nameOffsets[rocketId], nameOffsets[rocketId + 1], nameBuffer, 0, nameLength);
+    }
+
+    private int hashOf(int rocketId) {
+        return hash(names, nameOffsets[rocketId], nameOffsets[rocketId + 1]);
+    }
+
+    // FNV-1a over the UTF-8 bytes, so stored names are hashed without being decoded
+    private static int hash(byte[] bytes, int from, int to) {
+        int h = 0x811C9DC5;
+        for (int i = from; i < to; i++) {
+            h = (h ^ (bytes[i] & 0xFF)) * 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    // Weak reference to a rocket without a last mission, dropped from its slot once the rocket is collected
+    private static final class HandedOutRocket extends WeakReference<Rocket> {
+        private final int rocketId;
+
+        private HandedOutRocket(Rocket rocket, int rocketId, ReferenceQueue<Rocket> queue) {
+            super(rocket, queue);
+            this.rocketId = rocketId;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package dragonrockets.rocket;
+
+import dragonrockets.event.TransitionEventPublisher;
+import dragonrockets.mission.Manager;
+import dragonrockets.mission.Mission;
+import dragonrockets.mission.MissionId;
+import dragonrockets.mission.MissionLocks;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+// Thread-safe main repository meant to be used together with ConcurrentMissionManager sharing the same locks.
+// Rocket status changes are verified and applied while holding the stripe lock of the given mission.
+// The status index is striped by rocket id, so it does not tie the mission stripes together again
+public class ConcurrentRocketRepository extends RocketRepository {
+    private final MissionLocks missionLocks;
+
+    public ConcurrentRocketRepository(MissionLocks missionLocks) {
+        this(missionLocks, TransitionEventPublisher.NONE);
+    }
+
+    public ConcurrentRocketRepository(MissionLocks missionLocks, TransitionEventPublisher eventPublisher) {
+        super(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), ConcurrentHashMap::newKeySet,
+                new StripedRocketStatusIndex(), eventPublisher);
+        this.missionLocks = missionLocks;
+    }
+
+    // ConcurrentHashMap resizes itself concurrently, it cannot be swapped for a bigger one while being used
+    @Override
+    public void ensureCapacity(int expectedNumberOfRockets) {
+    }
+
+    @Override
+    public StatusChangeResult trySetRocketStatus(RocketId rocketId, MissionId missionId, RocketStatus newStatus,
+                                                 Manager missionManager) {
+        Mission mission = missionManager.getMission(missionId);
+        if (mission == null) {
+            return StatusChangeResult.MISSION_NOT_FOUND;
+        }
+        missionLocks.lock(mission.getName());
+        try {
+            return super.trySetRocketStatus(rocketId, missionId, newStatus, missionManager);
+        } finally {
+            missionLocks.unlock(mission.getName());
+        }
+    }
+
+    @Override
+    public StatusChangeResult trySetRocketStatus(String rocketName, String missionName, RocketStatus newStatus,
+                                                 Manager missionManager) {
+        missionLocks.lock(missionName);
+        try {
+            return super.trySetRocketStatus(rocketName, missionName, newStatus, missionManager);
+        } finally {
+            missionLocks.unlock(missionName);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package dragonrockets.rocket;
+
+// Open-addressing hash set of 64-bit name fingerprints kept in a single long[] (linear probing), which costs
+// about 11 bytes per name regardless of the name length. Two different names are mistaken for one only when
+// their fingerprints collide, i.e. with probability of about n^2 / 2^65 for n registered names
+public class FingerprintRocketNameRegistry implements RocketNameRegistry {
+    private static final int DEFAULT_EXPECTED_NAMES = 1024;
+    private static final long EMPTY = 0L;
+    // Fingerprint equal to EMPTY is stored under this one
+    private static final long EMPTY_SUBSTITUTE = 1L;
+    private static final double MAX_LOAD_FACTOR = 0.75;
+
+    private long[] table;
+    private int size;
+    private int resizeThreshold;
+
+    public FingerprintRocketNameRegistry() {
+        this(DEFAULT_EXPECTED_NAMES);
+    }
+
+    public FingerprintRocketNameRegistry(int expectedNames) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedNames / MAX_LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    @Override
+    public boolean register(String rocketName) {
+        return register(fingerprint(rocketName));
+    }
+
+    @Override
+    public boolean contains(String rocketName) {
+        return contains(fingerprint(rocketName));
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public long memoryFootprint() {
+        return 16 + (long) table.length * Long.BYTES;
+    }
+
+    boolean register(long fingerprint) {
+        long storedFingerprint = fingerprint == EMPTY ? EMPTY_SUBSTITUTE : fingerprint;
+        int mask = table.length - 1;
+        int slot = slotOf(storedFingerprint, mask);
+        while (table[slot] != EMPTY) {
+            if (table[slot] == storedFingerprint) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        insertAt(slot, storedFingerprint);
+        return true;
+    }
+
+    // Registers a fingerprint already known to be absent, so no comparisons are needed while probing
+    void registerAbsent(long fingerprint) {
+        long storedFingerprint = fingerprint == EMPTY ? EMPTY_SUBSTITUTE : fingerprint;
+        int mask = table.length - 1;
+        int slot = slotOf(storedFingerprint, mask);
+        while (table[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        insertAt(slot, storedFingerprint);
+    }
+
+    boolean contains(long fingerprint) {
+        long storedFingerprint = fingerprint == EMPTY ? EMPTY_SUBSTITUTE : fingerprint;
+        int mask = table.length - 1;
+        int slot = slotOf(storedFingerprint, mask);
+        while (table[slot] != EMPTY) {
+            if (table[slot] == storedFingerprint) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    // 64-bit FNV-1a over name's chars, finished with MurmurHash3 mixing so that all bits are well distributed
+    static long fingerprint(String rocketName) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < rocketName.length(); i++) {
+            hash ^= rocketName.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private void insertAt(int slot, long storedFingerprint) {
+        table[slot] = storedFingerprint;
+        if (++size > resizeThreshold) {
+            resize();
+        }
+    }
+
+    private void resize() {
+        long[] oldTable = table;
+        allocate(oldTable.length << 1);
+        int mask = table.length - 1;
+        for (long storedFingerprint : oldTable) {
+            if (storedFingerprint != EMPTY) {
+                int slot = slotOf(storedFingerprint, mask);
+                while (table[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = storedFingerprint;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        table = new long[capacity];
+        resizeThreshold = (int) (capacity * MAX_LOAD_FACTOR);
+    }
+
+    private static int slotOf(long storedFingerprint, int mask) {
+        return (int) storedFingerprint & mask;
+    }
+}
@@ -0,0 +1,46 @@
+package dragonrockets.rocket;
+
+import java.util.HashSet;
+import java.util.Set;
+
+// Keeps the names themselves, so it never mistakes a new name for an already produced one,
+// at the cost of a set entry and the name's String retained per produced rocket
+public class HashSetRocketNameRegistry implements RocketNameRegistry {
+    // HashMap.Node, table slot and String header with its array header (compressed oops)
+    private static final int ENTRY_OVERHEAD_BYTES = 32 + 8 + 24 + 16;
+
+    private final Set<String> names;
+    private long namesLength;
+
+    public HashSetRocketNameRegistry() {
+        this(new HashSet<>());
+    }
+
+    public HashSetRocketNameRegistry(Set<String> names) {
+        this.names = names;
+    }
+
+    @Override
+    public boolean register(String rocketName) {
+        if (names.add(rocketName)) {
+            namesLength += rocketName.length();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(String rocketName) {
+        return names.contains(rocketName);
+    }
+
+    @Override
+    public long size() {
+        return names.size();
+    }
+
+    @Override
+    public long memoryFootprint() {
+        return names.size() * (long) ENTRY_OVERHEAD_BYTES + namesLength;
+    }
+}
@@ -2,25 +2,177 @@ package dragonrockets.rocket;
 
 import dragonrockets.mission.Manager;
 import dragonrockets.mission.Mission;
+import dragonrockets.mission.MissionId;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 public interface Repository {
-    Optional<Rocket> findRocket(String rocketName);
+    default Optional<Rocket> findRocket(String rocketName) {
+        return Optional.ofNullable(getRocket(rocketName));
+    }
+
+    // Null when there is no such rocket, for lookups that should not allocate
+    Rocket getRocket(String rocketName);
+
+    // Null when there is no such rocket
+    RocketId getRocketId(String rocketName);
+
+    // Null when the rocket has been removed
+    Rocket getRocket(RocketId rocketId);
 
     boolean addRocket(Rocket rocket);
 
+    void ensureCapacity(int expectedNumberOfRockets);
+
     int getNumberOfRockets();
 
-    void setRocketStatus(String rocketName, String missionName, RocketStatus newStatus, Manager missionManager);
+    default void setRocketStatus(String rocketName, String missionName, RocketStatus newStatus, Manager missionManager) {
+        trySetRocketStatus(rocketName, missionName, newStatus, missionManager)
+                .throwIfFailed(rocketName, missionName, this);
+    }
+
+    // Reports rejected changes by the result instead of throwing, so neither succeeding nor failing allocates
+    default StatusChangeResult trySetRocketStatus(String rocketName, String missionName, RocketStatus newStatus,
+                                                  Manager missionManager) {
+        if (!missionManager.containsMission(missionName)) {
+            return StatusChangeResult.MISSION_NOT_FOUND;
+        }
+        Rocket rocket = getRocket(rocketName);
+        if (rocket == null) {
+            return StatusChangeResult.ROCKET_NOT_FOUND;
+        }
+        Mission lastMission = rocket.getLastMissionOrNull();
+        if (lastMission == null) {
+            return StatusChangeResult.ROCKET_NOT_ASSIGNED;
+        }
+        if (!lastMission.getName().equalsIgnoreCase(missionName)) {
+            return StatusChangeResult.ROCKET_ASSIGNED_TO_ANOTHER_MISSION;
+        }
+
+        // Ignoring attempt to set the exact same status as it was before
+        if (rocket.getStatus() == newStatus) {
+            return StatusChangeResult.UNCHANGED;
+        }
+
+        missionManager.setRocketStatus(rocket, missionName, newStatus);
+        return StatusChangeResult.CHANGED;
+    }
+
+    // Handles identify the mission itself, so neither name is hashed or compared
+    default StatusChangeResult trySetRocketStatus(RocketId rocketId, MissionId missionId, RocketStatus newStatus,
+                                                  Manager missionManager) {
+        Mission mission = missionManager.getMission(missionId);
+        if (mission == null) {
+            return StatusChangeResult.MISSION_NOT_FOUND;
+        }
+        Rocket rocket = rocketId == null ? null : getRocket(rocketId);
+        if (rocket == null) {
+            return StatusChangeResult.ROCKET_NOT_FOUND;
+        }
+        Mission lastMission = rocket.getLastMissionOrNull();
+        if (lastMission == null) {
+            return StatusChangeResult.ROCKET_NOT_ASSIGNED;
+        }
+        if (lastMission != mission) {
+            return StatusChangeResult.ROCKET_ASSIGNED_TO_ANOTHER_MISSION;
+        }
+        if (rocket.getStatus() == newStatus) {
+            return StatusChangeResult.UNCHANGED;
+        }
+
+        missionManager.setRocketStatus(rocket, mission, newStatus);
+        return StatusChangeResult.CHANGED;
+    }
 
     void removeRocket(Rocket rocket);
 
     void unassignAndRemoveAllRockets();
 
+    // Copy of all rockets, forEachRocket() and rocketSpliterator() traverse them without copying
     List<Rocket> getRockets();
 
+    void forEachRocket(Consumer<Rocket> action);
+
+    // Read-only traversal which can be split for parallel streams. Concurrent repositories' spliterators are
+    // weakly consistent, the other ones must not be modified while being traversed
+    Spliterator<Rocket> rocketSpliterator();
+
+    // Scans all rockets, repositories indexing their rockets by status count them in O(1)
+    default int getNumberOfRockets(RocketStatus status) {
+        int[] count = new int[1];
+        forEachRocket(rocket -> {
+            if (rocket.getStatus() == status) {
+                count[0]++;
+            }
+        });
+        return count[0];
+    }
+
+    default List<Rocket> getRockets(RocketStatus status) {
+        List<Rocket> rockets = new ArrayList<>();
+        forEachRocket(rocket -> {
+            if (rocket.getStatus() == status) {
+                rockets.add(rocket);
+            }
+        });
+        return rockets;
+    }
+
+    // Available rockets are the ones which can be assigned to a mission, see Rocket.isAssignable()
+    default int getNumberOfAvailableRockets() {
+        int[] count = new int[1];
+        forEachRocket(rocket -> {
+            if (rocket.isAssignable()) {
+                count[0]++;
+            }
+        });
+        return count[0];
+    }
+
+    default List<Rocket> getAvailableRockets() {
+        List<Rocket> rockets = new ArrayList<>();
+        forEachRocket(rocket -> {
+            if (rocket.isAssignable()) {
+                rockets.add(rocket);
+            }
+        });
+        return rockets;
+    }
+
+    // Available rocket, null when there is none. Indexed repositories prefer ON_GROUND rockets to IN_REPAIR ones and,
+    // of the same status, the one available for the longest time. The rocket is not taken out of the repository,
+    // it stops being available once assigned to a mission
+    default Rocket pollAvailable() {
+        Rocket[] available = new Rocket[1];
+        forEachRocket(rocket -> {
+            if (available[0] == null && rocket.isAssignable()) {
+                available[0] = rocket;
+            }
+        });
+        return available[0];
+    }
+
+    // At most count available rockets, in the order the policy prefers them. Scans all rockets, telling neither
+    // how long rockets have been available nor whether they have flown, indexed repositories walk their index only
+    default List<Rocket> selectAvailableRockets(int count, AllocationPolicy policy) {
+        List<Rocket> selected = new ArrayList<>();
+        List<RocketStatus> statusOrder = policy == AllocationPolicy.PREFER_IN_REPAIR
+                ? List.of(RocketStatus.IN_REPAIR, RocketStatus.ON_GROUND)
+                : List.of(RocketStatus.ON_GROUND, RocketStatus.IN_REPAIR);
+        for (RocketStatus status : statusOrder) {
+            forEachRocket(rocket -> {
+                if (selected.size() < count && rocket.getStatus() == status && rocket.isAssignable()) {
+                    selected.add(rocket);
+                }
+            });
+        }
+        return selected;
+    }
+
     void wipeOutRocketsLastMission(Mission mission);
 
     List<Rocket> findRocketsByMission(Mission mission);
@@ -6,8 +6,15 @@ import java.util.Optional;
 
 public class Rocket {
     private final String name;
-    private RocketStatus status;
-    private Mission lastMission;
+    private volatile RocketStatus status;
+    private volatile Mission lastMission;
+    private volatile RocketListener listener;
+    private volatile RocketId id;
+    // Bumped by every change of the status or the last mission, after the change is made. Rockets are changed
+    // under their missions' locks
+    private volatile int version;
+    // Summary and its rendered line, reused for as long as the version they were made at is the current one
+    private volatile CachedSummary cachedSummary;
 
     public Rocket(String name) {
         this.name = name;
@@ -23,21 +30,106 @@ public class Rocket {
     }
 
     public void setStatus(RocketStatus status) {
+        RocketStatus oldStatus = this.status;
         this.status = status;
+        if (oldStatus != status) {
+            version++;
+        }
+        // The last mission keeps its summary view up to date with the statuses of its rockets
+        if (lastMission != null && oldStatus != status) {
+            lastMission.rocketStatusChanged(this, oldStatus);
+        }
+        if (listener != null && oldStatus != status) {
+            listener.statusChanged(this, oldStatus);
+        }
     }
 
     public Optional<Mission> getLastMission() {
-        if (lastMission == null) {
-            return Optional.empty();
-        }
-        return Optional.of(lastMission);
+        return Optional.ofNullable(lastMission);
+    }
+
+    // Null when the rocket has no mission, for hot paths that should not allocate
+    public Mission getLastMissionOrNull() {
+        return lastMission;
+    }
+
+    // Only ON_GROUND rockets and IN_REPAIR ones having their last mission wiped out can be assigned to a mission.
+    // IN_SPACE rockets and IN_REPAIR ones still assigned to a mission cannot be re-assigned
+    public boolean isAssignable() {
+        RocketStatus status = this.status;
+        return status == RocketStatus.ON_GROUND || (status == RocketStatus.IN_REPAIR && lastMission == null);
     }
 
     public void setLastMission(Mission lastMission) {
+        Mission oldMission = this.lastMission;
+        if (oldMission == lastMission) {
+            return;
+        }
         this.lastMission = lastMission;
+        version++;
+        if (oldMission != null) {
+            oldMission.rocketUnassigned(this);
+        }
+        if (lastMission != null) {
+            lastMission.rocketAssigned(this);
+        }
+        if (listener != null) {
+            listener.lastMissionChanged(this, oldMission);
+        }
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public RocketSummary getSummary() {
+        return getCachedSummary().summary();
+    }
+
+    // Line of the rocket in the printed summary
+    public String getSummaryLine() {
+        CachedSummary cachedSummary = getCachedSummary();
+        if (cachedSummary.line() == null) {
+            cachedSummary = new CachedSummary(cachedSummary.version(), cachedSummary.summary(),
+                    cachedSummary.summary().toString());
+            this.cachedSummary = cachedSummary;
+        }
+        return cachedSummary.line();
+    }
+
+    // Version is read before the status, so a summary made while the status changes is kept with the version
+    // preceding the change and is not reused after it
+    private CachedSummary getCachedSummary() {
+        int version = this.version;
+        CachedSummary cachedSummary = this.cachedSummary;
+        if (cachedSummary == null || cachedSummary.version() != version) {
+            cachedSummary = new CachedSummary(version, new RocketSummary(name, status.getSummaryForm()), null);
+            this.cachedSummary = cachedSummary;
+        }
+        return cachedSummary;
+    }
+
+    RocketId getId() {
+        return id;
+    }
+
+    void setId(RocketId id) {
+        this.id = id;
+    }
+
+    RocketListener getListener() {
+        return listener;
+    }
+
+    void setListener(RocketListener listener) {
+        this.listener = listener;
     }
 
     public static RocketSummary convertToRocketSummary(Rocket rocket) {
-        return new RocketSummary(rocket.getName(), rocket.getStatus().getSummaryForm());
+        return rocket.getSummary();
+    }
+
+    // Line is rendered only when the rocket is first written
+    private record CachedSummary(int version, RocketSummary summary, String line) {
     }
 }
@@ -0,0 +1,6 @@
+package dragonrockets.rocket;
+
+// Handle of a rocket given out by the repository holding it, resolved by array indexing instead of hashing the name.
+// Handles stay valid until the rocket is removed and are meant to be looked up once and kept by the caller
+public record RocketId(int value) {
+}
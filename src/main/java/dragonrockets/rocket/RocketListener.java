@@ -0,0 +1,9 @@
+package dragonrockets.rocket;
+
+import dragonrockets.mission.Mission;
+
+interface RocketListener {
+    void lastMissionChanged(Rocket rocket, Mission oldMission);
+
+    void statusChanged(Rocket rocket, RocketStatus oldStatus);
+}
@@ -0,0 +1,22 @@
+package dragonrockets.rocket;
+
+// Names of all rockets ever produced, used by RocketProducer to guarantee name uniqueness
+public interface RocketNameRegistry {
+    // Returns true when the name has not been registered before
+    boolean register(String rocketName);
+
+    boolean contains(String rocketName);
+
+    long size();
+
+    // Estimated number of heap bytes retained by the registry
+    long memoryFootprint();
+
+    default double bytesPerName() {
+        return size() == 0 ? 0 : (double) memoryFootprint() / size();
+    }
+
+    static RocketNameRegistry synchronizedRegistry(RocketNameRegistry registry) {
+        return new SynchronizedRocketNameRegistry(registry);
+    }
+}
@@ -1,19 +1,30 @@
 package dragonrockets.rocket;
 
-import java.util.HashSet;
 import java.util.Optional;
-import java.util.Set;
 
 public class RocketProducer implements Producer {
-    private final Set<String> producedRocketsHistory = new HashSet<>();
+    private final RocketNameRegistry producedRocketsHistory;
+
+    public RocketProducer() {
+        this(new FingerprintRocketNameRegistry());
+    }
+
+    // Registry has to be thread-safe when the producer is used by many threads, as the name check
+    // and registration is a single register() call
+    public RocketProducer(RocketNameRegistry producedRocketsHistory) {
+        this.producedRocketsHistory = producedRocketsHistory;
+    }
 
     @Override
     public Optional<Rocket> createNewRocket(String rocketName) {
-        if (!producedRocketsHistory.contains(rocketName)) {
-            producedRocketsHistory.add(rocketName);
+        if (producedRocketsHistory.register(rocketName)) {
             return Optional.of(new Rocket(rocketName));
         } else {
             return Optional.empty();
         }
     }
+
+    public double getBytesPerProducedName() {
+        return producedRocketsHistory.bytesPerName();
+    }
 }
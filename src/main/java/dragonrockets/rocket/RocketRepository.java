@@ -1,93 +1,128 @@
 package dragonrockets.rocket;
 
-import dragonrockets.exception.MissionNotFoundException;
-import dragonrockets.exception.RocketAssignedToAnotherMissionException;
-import dragonrockets.exception.RocketNotAssignedToMissionException;
-import dragonrockets.exception.RocketNotFoundException;
-import dragonrockets.mission.Manager;
+import dragonrockets.event.TransitionEvent;
+import dragonrockets.event.TransitionEventPublisher;
 import dragonrockets.mission.Mission;
+import dragonrockets.utils.HandleTable;
 
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
-public class RocketRepository implements Repository {
-    private final Map<String, Rocket> rockets = new HashMap<>();
+public class RocketRepository implements Repository, RocketListener {
+    private static final float HASH_MAP_LOAD_FACTOR = 0.75f;
 
-    @Override
-    public Optional<Rocket> findRocket(String rocketName) {
-        if (rockets.containsKey(rocketName)) {
-            return Optional.of(rockets.get(rocketName));
-        }
-        return Optional.empty();
+    private Map<String, Rocket> rockets;
+    // Rockets by their last mission, keyed by lower-cased mission name (mission names are matched case-insensitively)
+    private final Map<String, Set<Rocket>> rocketsByMission;
+    private final Supplier<Set<Rocket>> missionRocketsFactory;
+    private final TransitionEventPublisher eventPublisher;
+    private final HandleTable<Rocket> rocketsById = new HandleTable<>();
+    private final StatusIndex statusIndex;
+
+    public RocketRepository() {
+        this(TransitionEventPublisher.NONE);
     }
 
-    @Override
-    public boolean addRocket(Rocket rocket) {
-        if (!rockets.containsKey(rocket.getName())) {
-            rockets.put(rocket.getName(), rocket);
-            return true;
-        }
+    public RocketRepository(TransitionEventPublisher eventPublisher) {
+        this(new HashMap<>(), new HashMap<>(), HashSet::new, new RocketStatusIndex(), eventPublisher);
+    }
 
-        return false;
+    RocketRepository(Map<String, Rocket> rockets,
+                     Map<String, Set<Rocket>> rocketsByMission,
+                     Supplier<Set<Rocket>> missionRocketsFactory,
+                     StatusIndex statusIndex,
+                     TransitionEventPublisher eventPublisher) {
+        this.rockets = rockets;
+        this.rocketsByMission = rocketsByMission;
+        this.missionRocketsFactory = missionRocketsFactory;
+        this.statusIndex = statusIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
-    public int getNumberOfRockets() {
-        return rockets.size();
+    public Rocket getRocket(String rocketName) {
+        return rockets.get(rocketName);
     }
 
     @Override
-    public void setRocketStatus(String rocketName, String missionName, RocketStatus newStatus, Manager missionManager) {
-
-        Rocket rocket = getRocketVerifiedByRocketNameAndByMissionName(rocketName, missionName, missionManager);
-
-        // Ignoring attempt to set the exact same status as it was before
-        if (rocket.getStatus() == newStatus) {
-            return;
-        }
-
-        missionManager.setRocketStatus(rocket, missionName, newStatus);
+    public RocketId getRocketId(String rocketName) {
+        Rocket rocket = rockets.get(rocketName);
+        return rocket == null ? null : rocket.getId();
     }
 
-    private Rocket getRocketVerifiedByRocketNameAndByMissionName(String rocketName,
-                                                                 String missionName,
-                                                                 Manager missionManager) {
+    @Override
+    public Rocket getRocket(RocketId rocketId) {
+        return rocketsById.get(rocketId.value());
+    }
 
-        if (!missionManager.containsMission(missionName)) {
-            throw new MissionNotFoundException("Mission " + missionName + " does not exist");
+    @Override
+    public boolean addRocket(Rocket rocket) {
+        // The rocket is listened to before it becomes visible to other threads through this repository
+        boolean listening = rocket.getListener() == null;
+        if (listening) {
+            rocket.setListener(this);
         }
 
-        Optional<Rocket> rocketOptional = findRocket(rocketName);
-        if (rocketOptional.isEmpty()) {
-            throw new RocketNotFoundException("Rocket " + rocketName + " does not exist");
+        if (rockets.putIfAbsent(rocket.getName(), rocket) != null) {
+            if (listening) {
+                rocket.setListener(null);
+            }
+            return false;
         }
 
-        Rocket rocket = rocketOptional.get();
-        Optional<Mission> lastMissionOptional = rocket.getLastMission();
-        if (lastMissionOptional.isEmpty()) {
-            throw new RocketNotAssignedToMissionException("Rocket " + rocketName + " not assigned to any mission");
+        int rocketId = rocketsById.register(rocket);
+        rocket.setId(new RocketId(rocketId));
+        statusIndex.add(rocketId, rocket);
+        eventPublisher.publish(new TransitionEvent.RocketCreated(rocket.getName(), rocket.getStatus()));
+        Mission mission = rocket.getLastMissionOrNull();
+        if (mission != null) {
+            indexRocket(rocket, mission);
         }
-        Mission lastMission = lastMissionOptional.get();
-        if (!lastMission.getName().equalsIgnoreCase(missionName)) {
-            throw new RocketAssignedToAnotherMissionException(
-                    String.format("Rocket %s assigned to mission '%s', not to mission '%s'",
-                            rocketName,
-                            lastMission.getName(),
-                            missionName)
-            );
+        return true;
+    }
+
+    // Resizes the map once up front instead of letting it rehash repeatedly while many rockets are added.
+    // Current table capacity is not known, so the map is rebuilt only when it is going to at least double
+    @Override
+    public void ensureCapacity(int expectedNumberOfRockets) {
+        if (expectedNumberOfRockets > 2 * rockets.size()) {
+            Map<String, Rocket> resizedRockets = new HashMap<>((int) (expectedNumberOfRockets / HASH_MAP_LOAD_FACTOR) + 1);
+            resizedRockets.putAll(rockets);
+            rockets = resizedRockets;
         }
+    }
 
-        return rocket;
+    @Override
+    public int getNumberOfRockets() {
+        return rockets.size();
     }
 
     @Override
     public void removeRocket(Rocket rocket) {
-        rockets.remove(rocket.getName());
+        Rocket removedRocket = rockets.remove(rocket.getName());
+        if (removedRocket != null) {
+            rocket.setListener(null);
+            unindexStatus(removedRocket);
+            clearId(removedRocket);
+            Mission mission = rocket.getLastMissionOrNull();
+            if (mission != null) {
+                unindexRocket(rocket, mission);
+            }
+        }
     }
 
     @Override
     public void unassignAndRemoveAllRockets() {
-        rockets.forEach((k, v) -> v.setLastMission(null));
+        // Rockets are unassigned while still listened to, so they leave the mission index and publish it.
+        // Once removed, they call back no more and can be added to another repository
+        rockets.forEach((k, v) -> {
+            v.setLastMission(null);
+            v.setListener(null);
+            clearId(v);
+        });
         rockets.clear();
+        statusIndex.clear();
     }
 
     @Override
@@ -95,16 +130,144 @@ public class RocketRepository implements Repository {
         return new ArrayList<>(rockets.values());
     }
 
+    @Override
+    public void forEachRocket(Consumer<Rocket> action) {
+        rockets.values().forEach(action);
+    }
+
+    @Override
+    public Spliterator<Rocket> rocketSpliterator() {
+        return rockets.values().spliterator();
+    }
+
+    @Override
+    public int getNumberOfRockets(RocketStatus status) {
+        return statusIndex.count(status);
+    }
+
+    @Override
+    public List<Rocket> getRockets(RocketStatus status) {
+        return toRockets(statusIndex.rocketIds(status));
+    }
+
+    @Override
+    public int getNumberOfAvailableRockets() {
+        return statusIndex.countAvailable();
+    }
+
+    @Override
+    public List<Rocket> getAvailableRockets() {
+        return toRockets(statusIndex.availableRocketIds());
+    }
+
+    @Override
+    public List<Rocket> selectAvailableRockets(int count, AllocationPolicy policy) {
+        return toRockets(statusIndex.selectAvailable(count, policy));
+    }
+
+    // Rocket removed concurrently after its id was read is skipped, the next available one is read instead
+    @Override
+    public Rocket pollAvailable() {
+        while (true) {
+            int rocketId = statusIndex.firstAvailable();
+            if (rocketId < 0) {
+                return null;
+            }
+            Rocket rocket = rocketsById.get(rocketId);
+            if (rocket != null) {
+                return rocket;
+            }
+        }
+    }
+
     @Override
     public void wipeOutRocketsLastMission(Mission mission) {
-        findRocketsByMission(mission).forEach(rocket -> rocket.setLastMission(null));
+        // Rockets are detached from the index up front, so their callbacks have nothing left to remove
+        Set<Rocket> missionRockets = rocketsByMission.remove(mission.getKey());
+        if (missionRockets != null) {
+            missionRockets.forEach(rocket -> rocket.setLastMission(null));
+        }
     }
 
     @Override
     public List<Rocket> findRocketsByMission(Mission mission) {
-        return rockets.values().stream()
-                .filter(rocket -> rocket.getLastMission().isPresent())
-                .filter(rocket -> rocket.getLastMission().get().getName().equalsIgnoreCase(mission.getName()))
-                .toList();
+        Set<Rocket> missionRockets = rocketsByMission.get(mission.getKey());
+        return missionRockets == null ? List.of() : List.copyOf(missionRockets);
+    }
+
+    @Override
+    public void lastMissionChanged(Rocket rocket, Mission oldMission) {
+        if (oldMission != null) {
+            unindexRocket(rocket, oldMission);
+            eventPublisher.publish(new TransitionEvent.RocketUnassigned(rocket.getName(), oldMission.getName()));
+        }
+        Mission mission = rocket.getLastMissionOrNull();
+        if (mission != null) {
+            indexRocket(rocket, mission);
+            eventPublisher.publish(new TransitionEvent.RocketAssigned(rocket.getName(), mission.getName()));
+        }
+        updateStatusIndex(rocket);
+    }
+
+    // Rocket's status does not affect the mission index
+    @Override
+    public void statusChanged(Rocket rocket, RocketStatus oldStatus) {
+        updateStatusIndex(rocket);
+        eventPublisher.publish(new TransitionEvent.RocketStatusChanged(rocket.getName(), oldStatus, rocket.getStatus()));
+    }
+
+    // Last mission decides whether an IN_REPAIR rocket is available
+    private void updateStatusIndex(Rocket rocket) {
+        RocketId rocketId = rocket.getId();
+        if (rocketId != null) {
+            statusIndex.update(rocketId.value(), rocket);
+        }
+    }
+
+    private void unindexStatus(Rocket rocket) {
+        RocketId rocketId = rocket.getId();
+        if (rocketId != null) {
+            statusIndex.remove(rocketId.value());
+        }
+    }
+
+    // Rockets removed in the meantime are left out
+    private List<Rocket> toRockets(int[] rocketIds) {
+        List<Rocket> rockets = new ArrayList<>(rocketIds.length);
+        for (int rocketId : rocketIds) {
+            Rocket rocket = rocketsById.get(rocketId);
+            if (rocket != null) {
+                rockets.add(rocket);
+            }
+        }
+        return rockets;
+    }
+
+    // Rocket added concurrently may be visible before it gets its id
+    private void clearId(Rocket rocket) {
+        RocketId rocketId = rocket.getId();
+        if (rocketId != null) {
+            rocketsById.clear(rocketId.value());
+            rocket.setId(null);
+        }
+    }
+
+    // Rocket joins and leaves a mission under the mission's lock, so its set cannot be dropped by another thread
+    // in between looking it up and changing it. Plain lookups take no capturing lambda, which would be allocated
+    // on every transition
+    private void indexRocket(Rocket rocket, Mission mission) {
+        Set<Rocket> missionRockets = rocketsByMission.get(mission.getKey());
+        if (missionRockets == null) {
+            missionRockets = missionRocketsFactory.get();
+            rocketsByMission.put(mission.getKey(), missionRockets);
+        }
+        missionRockets.add(rocket);
+    }
+
+    private void unindexRocket(Rocket rocket, Mission mission) {
+        Set<Rocket> missionRockets = rocketsByMission.get(mission.getKey());
+        if (missionRockets != null && missionRockets.remove(rocket) && missionRockets.isEmpty()) {
+            rocketsByMission.remove(mission.getKey());
+        }
     }
 }
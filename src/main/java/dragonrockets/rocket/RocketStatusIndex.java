@@ -0,0 +1,245 @@
+package dragonrockets.rocket;
+
+import java.util.Arrays;
+
+// Rocket ids by status, telling apart the available rockets, i.e. the ones which can be assigned to a mission.
+// Every rocket is in one of the doubly linked lists over the ids, one list per status and availability,
+// in the order rockets joined them. Adding, moving and removing a rocket, counting the rockets and finding
+// an available one take O(1), and the index takes 9 bytes per rocket. The byte keeping the list of a rocket also
+// tells whether it has ever flown, i.e. been IN_SPACE, while indexed.
+// Not thread-safe, StripedRocketStatusIndex spreads rockets changing concurrently over several of these
+class RocketStatusIndex implements StatusIndex {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int NONE = -1;
+    private static final byte NOT_INDEXED = -1;
+    private static final RocketStatus[] STATUSES = RocketStatus.values();
+    // List of status s holds the unavailable rockets at 2 * s and the available ones at 2 * s + 1
+    private static final int LISTS = STATUSES.length * 2;
+    private static final int FLOWN = 0x40;
+    private static final int LIST_MASK = FLOWN - 1;
+    private static final int ANY = -1;
+    private static final int ON_GROUND_AVAILABLE = 2 * RocketStatus.ON_GROUND.ordinal() + 1;
+    private static final int IN_REPAIR_AVAILABLE = 2 * RocketStatus.IN_REPAIR.ordinal() + 1;
+
+    private byte[] lists = new byte[INITIAL_CAPACITY];
+    private int[] next = new int[INITIAL_CAPACITY];
+    private int[] previous = new int[INITIAL_CAPACITY];
+    private final int[] heads = new int[LISTS];
+    private final int[] tails = new int[LISTS];
+    private final int[] counts = new int[LISTS];
+    // When the rockets joined their lists, in nanoTime, kept only when lists of several indexes are merged
+    private long[] joinedAt;
+
+    RocketStatusIndex() {
+        this(false);
+    }
+
+    RocketStatusIndex(boolean stamped) {
+        if (stamped) {
+            joinedAt = new long[INITIAL_CAPACITY];
+        }
+        clear();
+    }
+
+    @Override
+    public void ensureCapacity(int capacity) {
+        if (capacity > lists.length) {
+            grow(capacity);
+        }
+    }
+
+    @Override
+    public void add(int rocketId, Rocket rocket) {
+        if (rocketId >= lists.length) {
+            grow(Math.max(rocketId + 1, lists.length + (lists.length >> 1)));
+        }
+        move(rocketId, rocket);
+    }
+
+    // Rockets not indexed yet are skipped, they are indexed with their latest state once added
+    @Override
+    public void update(int rocketId, Rocket rocket) {
+        if (rocketId < lists.length && lists[rocketId] != NOT_INDEXED) {
+            move(rocketId, rocket);
+        }
+    }
+
+    @Override
+    public void remove(int rocketId) {
+        if (rocketId < lists.length && lists[rocketId] != NOT_INDEXED) {
+            unlink(rocketId);
+            lists[rocketId] = NOT_INDEXED;
+        }
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(lists, NOT_INDEXED);
+        Arrays.fill(heads, NONE);
+        Arrays.fill(tails, NONE);
+        Arrays.fill(counts, 0);
+    }
+
+    @Override
+    public int count(RocketStatus status) {
+        return counts[2 * status.ordinal()] + counts[2 * status.ordinal() + 1];
+    }
+
+    @Override
+    public int countAvailable() {
+        int available = 0;
+        for (int list = 1; list < LISTS; list += 2) {
+            available += counts[list];
+        }
+        return available;
+    }
+
+    // Rockets of statuses coming first are preferred, i.e. ON_GROUND ones before IN_REPAIR ones, and of a status
+    // the one which has been available for the longest time. NONE when there is no available rocket
+    @Override
+    public int firstAvailable() {
+        for (int list = 1; list < LISTS; list += 2) {
+            if (heads[list] != NONE) {
+                return heads[list];
+            }
+        }
+        return NONE;
+    }
+
+    // Copies, so the rockets can be looked up without holding the index
+    @Override
+    public int[] rocketIds(RocketStatus status) {
+        int[] rocketIds = new int[count(status)];
+        int size = collect(2 * status.ordinal(), rocketIds, 0);
+        collect(2 * status.ordinal() + 1, rocketIds, size);
+        return rocketIds;
+    }
+
+    // In the order firstAvailable() prefers them
+    @Override
+    public int[] availableRocketIds() {
+        int[] rocketIds = new int[countAvailable()];
+        int size = 0;
+        for (int list = 1; list < LISTS; list += 2) {
+            size = collect(list, rocketIds, size);
+        }
+        return rocketIds;
+    }
+
+    // At most count available rockets in the order the policy prefers them, walking only the lists it needs
+    @Override
+    public int[] selectAvailable(int count, AllocationPolicy policy) {
+        int[] rocketIds = new int[Math.min(count, countAvailable())];
+        int size = 0;
+        if (policy == AllocationPolicy.PREFER_IN_REPAIR) {
+            size = collect(IN_REPAIR_AVAILABLE, rocketIds, size, ANY);
+        }
+        if (policy == AllocationPolicy.LEAST_RECENTLY_FLOWN) {
+            // Rockets join the ON_GROUND list when created or landed, so the flown ones are already in landing order
+            size = collect(ON_GROUND_AVAILABLE, rocketIds, size, 0);
+            size = collect(ON_GROUND_AVAILABLE, rocketIds, size, FLOWN);
+        }
+        for (int list = 1; list < LISTS; list += 2) {
+            boolean collected = (policy == AllocationPolicy.PREFER_IN_REPAIR && list == IN_REPAIR_AVAILABLE)
+                    || (policy == AllocationPolicy.LEAST_RECENTLY_FLOWN && list == ON_GROUND_AVAILABLE);
+            if (!collected) {
+                size = collect(list, rocketIds, size, ANY);
+            }
+        }
+        return rocketIds;
+    }
+
+    // Estimated number of heap bytes retained by the index
+    long memoryFootprint() {
+        return lists.length + (long) Integer.BYTES * (next.length + previous.length)
+                + (joinedAt == null ? 0 : (long) Long.BYTES * joinedAt.length);
+    }
+
+    long joinedAt(int rocketId) {
+        return joinedAt[rocketId];
+    }
+
+    // Rank of the list of an indexed rocket in the order selectAvailable() walks the lists for the policy, lower
+    // first. For FIFO it is the list itself, which also orders the lists of rocketIds() and availableRocketIds()
+    int rank(int rocketId, AllocationPolicy policy) {
+        int list = lists[rocketId] & LIST_MASK;
+        if (policy == AllocationPolicy.PREFER_IN_REPAIR && list == IN_REPAIR_AVAILABLE) {
+            return -1;
+        }
+        if (policy == AllocationPolicy.LEAST_RECENTLY_FLOWN && list == ON_GROUND_AVAILABLE) {
+            return (lists[rocketId] & FLOWN) == 0 ? -2 : -1;
+        }
+        return list;
+    }
+
+    private void move(int rocketId, Rocket rocket) {
+        int list = 2 * rocket.getStatus().ordinal() + (rocket.isAssignable() ? 1 : 0);
+        int flown = rocket.getStatus() == RocketStatus.IN_SPACE ? FLOWN : 0;
+        if (lists[rocketId] != NOT_INDEXED) {
+            if ((lists[rocketId] & LIST_MASK) == list) {
+                return;
+            }
+            flown |= lists[rocketId] & FLOWN;
+            unlink(rocketId);
+        }
+        lists[rocketId] = (byte) (list | flown);
+        if (joinedAt != null) {
+            joinedAt[rocketId] = System.nanoTime();
+        }
+        // Rockets join a list at its tail
+        next[rocketId] = NONE;
+        previous[rocketId] = tails[list];
+        if (tails[list] == NONE) {
+            heads[list] = rocketId;
+        } else {
+            next[tails[list]] = rocketId;
+        }
+        tails[list] = rocketId;
+        counts[list]++;
+    }
+
+    private void unlink(int rocketId) {
+        int list = lists[rocketId] & LIST_MASK;
+        int before = previous[rocketId];
+        int after = next[rocketId];
+        if (before == NONE) {
+            heads[list] = after;
+        } else {
+            next[before] = after;
+        }
+        if (after == NONE) {
+            tails[list] = before;
+        } else {
+            previous[after] = before;
+        }
+        counts[list]--;
+    }
+
+    private int collect(int list, int[] rocketIds, int size) {
+        for (int rocketId = heads[list]; rocketId != NONE; rocketId = next[rocketId]) {
+            rocketIds[size++] = rocketId;
+        }
+        return size;
+    }
+
+    // Collects until the array is full, rockets having the given flown bit only unless any are wanted
+    private int collect(int list, int[] rocketIds, int size, int flown) {
+        for (int rocketId = heads[list]; rocketId != NONE && size < rocketIds.length; rocketId = next[rocketId]) {
+            if (flown == ANY || (lists[rocketId] & FLOWN) == flown) {
+                rocketIds[size++] = rocketId;
+            }
+        }
+        return size;
+    }
+
+    private void grow(int capacity) {
+        int oldCapacity = lists.length;
+        lists = Arrays.copyOf(lists, capacity);
+        Arrays.fill(lists, oldCapacity, capacity, NOT_INDEXED);
+        next = Arrays.copyOf(next, capacity);
+        previous = Arrays.copyOf(previous, capacity);
+        if (joinedAt != null) {
+            joinedAt = Arrays.copyOf(joinedAt, capacity);
+        }
+    }
+}
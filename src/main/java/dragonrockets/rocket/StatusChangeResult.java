@@ -0,0 +1,44 @@
+package dragonrockets.rocket;
+
+import dragonrockets.exception.MissionNotFoundException;
+import dragonrockets.exception.RocketAssignedToAnotherMissionException;
+import dragonrockets.exception.RocketNotAssignedToMissionException;
+import dragonrockets.exception.RocketNotFoundException;
+import dragonrockets.mission.Mission;
+
+public enum StatusChangeResult {
+    CHANGED,
+    // Rocket already had the requested status
+    UNCHANGED,
+    MISSION_NOT_FOUND,
+    ROCKET_NOT_FOUND,
+    ROCKET_NOT_ASSIGNED,
+    ROCKET_ASSIGNED_TO_ANOTHER_MISSION;
+
+    // Mission the rocket is assigned to is looked up, and exception messages are built, only when the change
+    // has failed
+    public void throwIfFailed(String rocketName, String missionName, Repository repository) {
+        String assignedMissionName = null;
+        if (this == ROCKET_ASSIGNED_TO_ANOTHER_MISSION) {
+            Rocket rocket = repository.getRocket(rocketName);
+            Mission lastMission = rocket == null ? null : rocket.getLastMissionOrNull();
+            assignedMissionName = lastMission == null ? null : lastMission.getName();
+        }
+        throwIfFailed(rocketName, missionName, assignedMissionName);
+    }
+
+    // Name of the mission the rocket is assigned to is only needed when the change has failed because of it
+    public void throwIfFailed(String rocketName, String missionName, String assignedMissionName) {
+        switch (this) {
+            case MISSION_NOT_FOUND -> throw new MissionNotFoundException("Mission " + missionName + " does not exist");
+            case ROCKET_NOT_FOUND -> throw new RocketNotFoundException("Rocket " + rocketName + " does not exist");
+            case ROCKET_NOT_ASSIGNED ->
+                    throw new RocketNotAssignedToMissionException("Rocket " + rocketName + " not assigned to any mission");
+            case ROCKET_ASSIGNED_TO_ANOTHER_MISSION -> throw new RocketAssignedToAnotherMissionException(
+                    String.format("Rocket %s assigned to mission '%s', not to mission '%s'",
+                            rocketName, assignedMissionName, missionName));
+            default -> {
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package dragonrockets.rocket;
+
+// Rocket ids by status and the ids of available rockets, following every change of the listened rockets
+interface StatusIndex {
+    void ensureCapacity(int capacity);
+
+    void add(int rocketId, Rocket rocket);
+
+    void update(int rocketId, Rocket rocket);
+
+    void remove(int rocketId);
+
+    void clear();
+
+    int count(RocketStatus status);
+
+    int countAvailable();
+
+    int firstAvailable();
+
+    int[] rocketIds(RocketStatus status);
+
+    int[] availableRocketIds();
+
+    int[] selectAvailable(int count, AllocationPolicy policy);
+}
@@ -0,0 +1,213 @@
+package dragonrockets.rocket;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+// Status index of a repository whose rockets change concurrently. Rocket ids are spread over stripes, each one
+// a RocketStatusIndex guarded by its own lock, so transitions of different rockets seldom meet on a lock.
+// Rockets are stamped when joining a list. Reads listing rockets lock all stripes and merge their lists back
+// in the order the rockets joined them, while counts add up the stripes one at a time. Rockets of different
+// stripes joining within the same nanoTime tick may come in either order
+class StripedRocketStatusIndex implements StatusIndex {
+    private static final int STRIPE_BITS = 4;
+    private static final int STRIPES = 1 << STRIPE_BITS;
+    private static final int STRIPE_MASK = STRIPES - 1;
+
+    private final RocketStatusIndex[] stripes = new RocketStatusIndex[STRIPES];
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    StripedRocketStatusIndex() {
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            stripes[stripe] = new RocketStatusIndex(true);
+            locks[stripe] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public void ensureCapacity(int capacity) {
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            locks[stripe].lock();
+            try {
+                stripes[stripe].ensureCapacity((capacity + STRIPE_MASK) >>> STRIPE_BITS);
+            } finally {
+                locks[stripe].unlock();
+            }
+        }
+    }
+
+    // Rocket's state is read while holding the stripe lock, so of a status change racing with adding the rocket,
+    // whichever comes last indexes the latest state
+    @Override
+    public void add(int rocketId, Rocket rocket) {
+        ReentrantLock lock = locks[rocketId & STRIPE_MASK];
+        lock.lock();
+        try {
+            stripes[rocketId & STRIPE_MASK].add(rocketId >>> STRIPE_BITS, rocket);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void update(int rocketId, Rocket rocket) {
+        ReentrantLock lock = locks[rocketId & STRIPE_MASK];
+        lock.lock();
+        try {
+            stripes[rocketId & STRIPE_MASK].update(rocketId >>> STRIPE_BITS, rocket);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void remove(int rocketId) {
+        ReentrantLock lock = locks[rocketId & STRIPE_MASK];
+        lock.lock();
+        try {
+            stripes[rocketId & STRIPE_MASK].remove(rocketId >>> STRIPE_BITS);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lockAll();
+        try {
+            for (RocketStatusIndex stripe : stripes) {
+                stripe.clear();
+            }
+        } finally {
+            unlockAll();
+        }
+    }
+
+    @Override
+    public int count(RocketStatus status) {
+        int count = 0;
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            locks[stripe].lock();
+            try {
+                count += stripes[stripe].count(status);
+            } finally {
+                locks[stripe].unlock();
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int countAvailable() {
+        int count = 0;
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            locks[stripe].lock();
+            try {
+                count += stripes[stripe].countAvailable();
+            } finally {
+                locks[stripe].unlock();
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int firstAvailable() {
+        lockAll();
+        try {
+            int[][] firstIds = new int[STRIPES][];
+            for (int stripe = 0; stripe < STRIPES; stripe++) {
+                int rocketId = stripes[stripe].firstAvailable();
+                firstIds[stripe] = rocketId < 0 ? new int[0] : new int[]{rocketId};
+            }
+            int[] rocketIds = merge(firstIds, AllocationPolicy.FIFO, 1);
+            return rocketIds.length == 0 ? -1 : rocketIds[0];
+        } finally {
+            unlockAll();
+        }
+    }
+
+    @Override
+    public int[] rocketIds(RocketStatus status) {
+        lockAll();
+        try {
+            int[][] stripeIds = new int[STRIPES][];
+            for (int stripe = 0; stripe < STRIPES; stripe++) {
+                stripeIds[stripe] = stripes[stripe].rocketIds(status);
+            }
+            return merge(stripeIds, AllocationPolicy.FIFO, Integer.MAX_VALUE);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    @Override
+    public int[] availableRocketIds() {
+        lockAll();
+        try {
+            int[][] stripeIds = new int[STRIPES][];
+            for (int stripe = 0; stripe < STRIPES; stripe++) {
+                stripeIds[stripe] = stripes[stripe].availableRocketIds();
+            }
+            return merge(stripeIds, AllocationPolicy.FIFO, Integer.MAX_VALUE);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    // Each stripe selects its count best rockets, which include its share of the overall count best ones
+    @Override
+    public int[] selectAvailable(int count, AllocationPolicy policy) {
+        lockAll();
+        try {
+            int[][] stripeIds = new int[STRIPES][];
+            for (int stripe = 0; stripe < STRIPES; stripe++) {
+                stripeIds[stripe] = stripes[stripe].selectAvailable(count, policy);
+            }
+            return merge(stripeIds, policy, count);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    // Merges the stripes' ids, each array already ordered by list rank and then by joining time, into at most
+    // limit rocket ids ordered the same way. Called while holding all stripe locks
+    private int[] merge(int[][] stripeIds, AllocationPolicy policy, int limit) {
+        int total = 0;
+        for (int[] ids : stripeIds) {
+            total += ids.length;
+        }
+        int[] rocketIds = new int[Math.min(limit, total)];
+        int[] positions = new int[STRIPES];
+        for (int size = 0; size < rocketIds.length; size++) {
+            int best = -1;
+            int bestRank = 0;
+            long bestJoinedAt = 0;
+            for (int stripe = 0; stripe < STRIPES; stripe++) {
+                if (positions[stripe] == stripeIds[stripe].length) {
+                    continue;
+                }
+                int localId = stripeIds[stripe][positions[stripe]];
+                int rank = stripes[stripe].rank(localId, policy);
+                long joinedAt = stripes[stripe].joinedAt(localId);
+                if (best < 0 || rank < bestRank || (rank == bestRank && joinedAt - bestJoinedAt < 0)) {
+                    best = stripe;
+                    bestRank = rank;
+                    bestJoinedAt = joinedAt;
+                }
+            }
+            rocketIds[size] = stripeIds[best][positions[best]++] << STRIPE_BITS | best;
+        }
+        return rocketIds;
+    }
+
+    private void lockAll() {
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+    }
+
+    private void unlockAll() {
+        for (int stripe = STRIPES - 1; stripe >= 0; stripe--) {
+            locks[stripe].unlock();
+        }
+    }
+}
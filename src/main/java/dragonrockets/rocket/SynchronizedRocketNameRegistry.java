@@ -0,0 +1,29 @@
+package dragonrockets.rocket;
+
+class SynchronizedRocketNameRegistry implements RocketNameRegistry {
+    private final RocketNameRegistry registry;
+
+    SynchronizedRocketNameRegistry(RocketNameRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public synchronized boolean register(String rocketName) {
+        return registry.register(rocketName);
+    }
+
+    @Override
+    public synchronized boolean contains(String rocketName) {
+        return registry.contains(rocketName);
+    }
+
+    @Override
+    public synchronized long size() {
+        return registry.size();
+    }
+
+    @Override
+    public synchronized long memoryFootprint() {
+        return registry.memoryFootprint();
+    }
+}
@@ -0,0 +1,128 @@
+package dragonrockets.shard;
+
+import dragonrockets.event.TransitionEventPublisher;
+import dragonrockets.mission.AssignmentResult;
+import dragonrockets.mission.ConcurrentMissionManager;
+import dragonrockets.mission.Mission;
+import dragonrockets.mission.MissionLocks;
+import dragonrockets.mission.MissionStatus;
+import dragonrockets.mission.MissionSummary;
+import dragonrockets.mission.SummaryCursor;
+import dragonrockets.mission.SummaryPage;
+import dragonrockets.rocket.ConcurrentRocketRepository;
+import dragonrockets.rocket.Rocket;
+import dragonrockets.rocket.RocketStatus;
+import dragonrockets.rocket.StatusChangeResult;
+
+import java.util.List;
+
+// Shard kept in this JVM, a concurrent main repository and mission manager sharing their lock stripes
+public class LocalShard implements Shard {
+    private static final int DEFAULT_LOCK_STRIPES = 64;
+
+    private final MissionLocks missionLocks;
+    private final ConcurrentRocketRepository repository;
+    private final ConcurrentMissionManager missionManager;
+
+    public LocalShard() {
+        this(DEFAULT_LOCK_STRIPES, TransitionEventPublisher.NONE);
+    }
+
+    public LocalShard(int lockStripes, TransitionEventPublisher eventPublisher) {
+        this.missionLocks = new MissionLocks(lockStripes);
+        this.repository = new ConcurrentRocketRepository(missionLocks, eventPublisher);
+        this.missionManager = new ConcurrentMissionManager(repository, missionLocks, eventPublisher);
+    }
+
+    // Rockets are not produced here, as a rocket moved away may come back to this shard later
+    @Override
+    public boolean addRocket(String rocketName, RocketStatus status) {
+        Rocket rocket = new Rocket(rocketName);
+        rocket.setStatus(status);
+        return repository.addRocket(rocket);
+    }
+
+    @Override
+    public RocketStatus releaseRocket(String rocketName) {
+        while (true) {
+            Rocket rocket = repository.getRocket(rocketName);
+            if (rocket == null) {
+                return null;
+            }
+            Mission lastMission = rocket.getLastMissionOrNull();
+            if (lastMission != null) {
+                missionLocks.lock(lastMission.getName());
+            }
+            try {
+                // Rockets without last mission are guarded by the rocket itself, as in ConcurrentMissionManager
+                synchronized (rocket) {
+                    if (rocket.getLastMissionOrNull() == lastMission) {
+                        if (!rocket.isAssignable()) {
+                            return null;
+                        }
+                        RocketStatus status = rocket.getStatus();
+                        rocket.setLastMission(null);
+                        repository.removeRocket(rocket);
+                        return status;
+                    }
+                }
+            } finally {
+                if (lastMission != null) {
+                    missionLocks.unlock(lastMission.getName());
+                }
+            }
+            // Rocket's last mission changed before the lock was taken
+        }
+    }
+
+    @Override
+    public String getLastMissionName(String rocketName) {
+        Rocket rocket = repository.getRocket(rocketName);
+        Mission lastMission = rocket == null ? null : rocket.getLastMissionOrNull();
+        return lastMission == null ? null : lastMission.getName();
+    }
+
+    @Override
+    public boolean addMission(String missionName) {
+        return missionManager.addMission(missionName);
+    }
+
+    @Override
+    public boolean containsMission(String missionName) {
+        return missionManager.containsMission(missionName);
+    }
+
+    @Override
+    public AssignmentResult tryAssignRocketToMission(String rocketName, String missionName) {
+        Rocket rocket = repository.getRocket(rocketName);
+        if (rocket == null) {
+            return AssignmentResult.ROCKET_NOT_FOUND;
+        }
+        return missionManager.tryAssignRocketToMission(rocket, missionName);
+    }
+
+    @Override
+    public StatusChangeResult trySetRocketStatus(String rocketName, String missionName, RocketStatus newStatus) {
+        return repository.trySetRocketStatus(rocketName, missionName, newStatus, missionManager);
+    }
+
+    @Override
+    public boolean setMissionStatus(String missionName, MissionStatus newStatus) {
+        return missionManager.setMissionStatus(missionName, newStatus);
+    }
+
+    @Override
+    public List<MissionSummary> getSummary(int limit) {
+        return missionManager.getSummary(limit);
+    }
+
+    @Override
+    public SummaryPage getSummaryPage(SummaryCursor cursor, int pageSize) {
+        return missionManager.getSummaryPage(cursor, pageSize);
+    }
+
+    // Nothing to release when the state is kept in memory only
+    @Override
+    public void close() {
+    }
+}
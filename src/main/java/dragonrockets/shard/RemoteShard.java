@@ -0,0 +1,175 @@
+package dragonrockets.shard;
+
+import dragonrockets.exception.MissionNotFoundException;
+import dragonrockets.mission.AssignmentResult;
+import dragonrockets.mission.MissionStatus;
+import dragonrockets.mission.MissionSummary;
+import dragonrockets.mission.SummaryCursor;
+import dragonrockets.mission.SummaryPage;
+import dragonrockets.rocket.RocketStatus;
+import dragonrockets.rocket.StatusChangeResult;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.List;
+
+// Client of a shard served by ShardServer on the loopback interface. Calls share one connection and are therefore
+// serialized, a failing connection is reported by UncheckedIOException
+public class RemoteShard implements Shard {
+    private final Socket socket;
+    private final DataInputStream input;
+    private final DataOutputStream output;
+
+    public RemoteShard(int port) throws IOException {
+        this.socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        socket.setTcpNoDelay(true);
+        this.input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        this.output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+
+    @Override
+    public synchronized boolean addRocket(String rocketName, RocketStatus status) {
+        try {
+            ShardProtocol.writeOperation(output, ShardProtocol.Operation.ADD_ROCKET);
+            output.writeUTF(rocketName);
+            ShardProtocol.writeEnum(output, status);
+            return call().readBoolean();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized RocketStatus releaseRocket(String rocketName) {
+        try {
+            ShardProtocol.writeOperation(output, ShardProtocol.Operation.RELEASE_ROCKET);
+            output.writeUTF(rocketName);
+            return ShardProtocol.readRocketStatus(call());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized String getLastMissionName(String rocketName) {
+        try {
+            ShardProtocol.writeOperation(output, ShardProtocol.Operation.GET_LAST_MISSION_NAME);
+            output.writeUTF(rocketName);
+            return ShardProtocol.readNullableString(call());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized boolean addMission(String missionName) {
+        try {
+            ShardProtocol.writeOperation(output, ShardProtocol.Operation.ADD_MISSION);
+            output.writeUTF(missionName);
+            return call().readBoolean();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized boolean containsMission(String missionName) {
+        try {
+            ShardProtocol.writeOperation(output, ShardProtocol.Operation.CONTAINS_MISSION);
+            output.writeUTF(missionName);
+            return call().readBoolean();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized AssignmentResult tryAssignRocketToMission(String rocketName, String missionName) {
+        try {
+            ShardProtocol.writeOperation(output, ShardProtocol.Operation.ASSIGN_ROCKET);
+            output.writeUTF(rocketName);
+            output.writeUTF(missionName);
+            return ShardProtocol.readAssignmentResult(call());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized StatusChangeResult trySetRocketStatus(String rocketName, String missionName,
+                                                              RocketStatus newStatus) {
+        try {
+            ShardProtocol.writeOperation(output, ShardProtocol.Operation.SET_ROCKET_STATUS);
+            output.writeUTF(rocketName);
+            output.writeUTF(missionName);
+            ShardProtocol.writeEnum(output, newStatus);
+            return ShardProtocol.readStatusChangeResult(call());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized boolean setMissionStatus(String missionName, MissionStatus newStatus) {
+        try {
+            ShardProtocol.writeOperation(output, ShardProtocol.Operation.SET_MISSION_STATUS);
+            output.writeUTF(missionName);
+            ShardProtocol.writeEnum(output, newStatus);
+            return call().readBoolean();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized List<MissionSummary> getSummary(int limit) {
+        try {
+            ShardProtocol.writeOperation(output, ShardProtocol.Operation.GET_SUMMARY);
+            output.writeInt(limit);
+            return ShardProtocol.readSummaries(call());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized SummaryPage getSummaryPage(SummaryCursor cursor, int pageSize) {
+        try {
+            ShardProtocol.writeOperation(output, ShardProtocol.Operation.GET_SUMMARY_PAGE);
+            ShardProtocol.writeCursor(output, cursor);
+            output.writeInt(pageSize);
+            return ShardProtocol.readPage(call());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Sends the request and returns the input positioned at the result, rethrowing what the shard has thrown
+    private DataInput call() throws IOException {
+        output.flush();
+        byte status = input.readByte();
+        if (status == ShardProtocol.MISSION_NOT_FOUND) {
+            throw new MissionNotFoundException(input.readUTF());
+        }
+        if (status == ShardProtocol.FAILURE) {
+            throw new IllegalStateException("Shard on port " + socket.getPort() + " failed: " + input.readUTF());
+        }
+        return input;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
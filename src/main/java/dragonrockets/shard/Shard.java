@@ -0,0 +1,42 @@
+package dragonrockets.shard;
+
+import dragonrockets.mission.AssignmentResult;
+import dragonrockets.mission.MissionStatus;
+import dragonrockets.mission.MissionSummary;
+import dragonrockets.mission.SummaryCursor;
+import dragonrockets.mission.SummaryPage;
+import dragonrockets.rocket.RocketStatus;
+import dragonrockets.rocket.StatusChangeResult;
+
+import java.util.List;
+
+// Part of the fleet owning some of the missions together with the rockets assigned to them. Rocket names are
+// unique across shards, which is up to the coordinator. Shards are thread-safe
+public interface Shard extends AutoCloseable {
+    boolean addRocket(String rocketName, RocketStatus status);
+
+    // Removes the rocket if it could be assigned to a mission, i.e. it is ON_GROUND or IN_REPAIR without a mission,
+    // unassigning it from its last mission first. Returns its status, null when not removed or not found
+    RocketStatus releaseRocket(String rocketName);
+
+    // Null when the rocket has no last mission or is not found
+    String getLastMissionName(String rocketName);
+
+    boolean addMission(String missionName);
+
+    boolean containsMission(String missionName);
+
+    AssignmentResult tryAssignRocketToMission(String rocketName, String missionName);
+
+    StatusChangeResult trySetRocketStatus(String rocketName, String missionName, RocketStatus newStatus);
+
+    // Throws MissionNotFoundException when there is no such mission
+    boolean setMissionStatus(String missionName, MissionStatus newStatus);
+
+    List<MissionSummary> getSummary(int limit);
+
+    SummaryPage getSummaryPage(SummaryCursor cursor, int pageSize);
+
+    @Override
+    void close();
+}
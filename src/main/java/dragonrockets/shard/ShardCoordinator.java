@@ -0,0 +1,241 @@
+package dragonrockets.shard;
+
+import dragonrockets.exception.MissionNotFoundException;
+import dragonrockets.exception.RocketNotFoundException;
+import dragonrockets.mission.AssignmentResult;
+import dragonrockets.mission.MissionLocks;
+import dragonrockets.mission.MissionStatus;
+import dragonrockets.mission.MissionSummary;
+import dragonrockets.mission.SummaryCursor;
+import dragonrockets.mission.SummaryPage;
+import dragonrockets.rocket.RocketStatus;
+import dragonrockets.rocket.StatusChangeResult;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Front end of a fleet partitioned across shards. Missions are placed by consistent hashing of their names and
+// a rocket lives in the shard of the mission it was last assigned to, so all transitions but cross-shard
+// assignments touch a single shard. New rockets are placed by their own names until they get a mission.
+// The coordinator keeps the directory of the shards rockets live in, which also makes rocket names unique.
+// Fleet is meant to be changed through a single coordinator. Moving a rocket between shards is not atomic: it is
+// released by one shard and then added to the other one, so a shard failing in between loses the rocket
+public class ShardCoordinator implements AutoCloseable {
+    private static final int ROCKET_LOCK_STRIPES = 256;
+    private static final Comparator<MissionSummary> SUMMARY_ORDER = Comparator.comparing(ShardCoordinator::cursorOf);
+
+    private final List<Shard> shards;
+    private final ShardRing ring;
+    private final Map<String, Integer> rocketShards = new ConcurrentHashMap<>();
+    // Striped by rocket name, keeps the directory entry of a rocket in line with the shard it lives in
+    private final MissionLocks rocketLocks = new MissionLocks(ROCKET_LOCK_STRIPES);
+
+    public ShardCoordinator(List<? extends Shard> shards) {
+        this.shards = List.copyOf(shards);
+        this.ring = new ShardRing(shards.size());
+    }
+
+    public static ShardCoordinator inProcess(int shardCount) {
+        List<Shard> shards = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new LocalShard());
+        }
+        return new ShardCoordinator(shards);
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    public boolean addNewRocketToRepository(String rocketName) {
+        int shard = ring.shardOf(rocketName);
+        rocketLocks.lock(rocketName);
+        try {
+            if (rocketShards.putIfAbsent(rocketName, shard) != null) {
+                return false;
+            }
+            shards.get(shard).addRocket(rocketName, RocketStatus.ON_GROUND);
+            return true;
+        } finally {
+            rocketLocks.unlock(rocketName);
+        }
+    }
+
+    public boolean addNewMission(String missionName) {
+        return missionShard(missionName).addMission(missionName);
+    }
+
+    public boolean assignRocketToMission(String rocketName, String missionName) {
+        AssignmentResult result = tryAssignRocketToMission(rocketName, missionName);
+        if (result == AssignmentResult.ROCKET_NOT_FOUND) {
+            throw new RocketNotFoundException("Rocket " + rocketName + " does not exist");
+        }
+        if (result == AssignmentResult.MISSION_NOT_FOUND) {
+            throw new MissionNotFoundException("Mission " + missionName + " does not exist");
+        }
+        return result == AssignmentResult.ASSIGNED;
+    }
+
+    // Rocket living in another shard than the mission is moved to the mission's shard first, provided that it
+    // could be assigned at all
+    public AssignmentResult tryAssignRocketToMission(String rocketName, String missionName) {
+        int targetShard = ring.shardOf(missionName);
+        rocketLocks.lock(rocketName);
+        try {
+            Integer rocketShard = rocketShards.get(rocketName);
+            if (rocketShard == null) {
+                return AssignmentResult.ROCKET_NOT_FOUND;
+            }
+            Shard target = shards.get(targetShard);
+            if (rocketShard != targetShard) {
+                if (!target.containsMission(missionName)) {
+                    return AssignmentResult.MISSION_NOT_FOUND;
+                }
+                RocketStatus status = shards.get(rocketShard).releaseRocket(rocketName);
+                if (status == null) {
+                    return AssignmentResult.NOT_ASSIGNABLE;
+                }
+                target.addRocket(rocketName, status);
+                rocketShards.put(rocketName, targetShard);
+            }
+            return target.tryAssignRocketToMission(rocketName, missionName);
+        } finally {
+            rocketLocks.unlock(rocketName);
+        }
+    }
+
+    public void setRocketStatus(String rocketName, String missionName, RocketStatus newStatus) {
+        StatusChangeResult result = trySetRocketStatus(rocketName, missionName, newStatus);
+        String assignedMissionName = result == StatusChangeResult.ROCKET_ASSIGNED_TO_ANOTHER_MISSION
+                ? getLastMissionName(rocketName)
+                : null;
+        result.throwIfFailed(rocketName, missionName, assignedMissionName);
+    }
+
+    // Rocket assigned to the mission always lives in the mission's shard, so a rocket living elsewhere is only
+    // asked whether it is assigned to any mission
+    public StatusChangeResult trySetRocketStatus(String rocketName, String missionName, RocketStatus newStatus) {
+        int missionShard = ring.shardOf(missionName);
+        rocketLocks.lock(rocketName);
+        try {
+            Integer rocketShard = rocketShards.get(rocketName);
+            Shard shard = shards.get(missionShard);
+            if (rocketShard == null || rocketShard == missionShard) {
+                return shard.trySetRocketStatus(rocketName, missionName, newStatus);
+            }
+            if (!shard.containsMission(missionName)) {
+                return StatusChangeResult.MISSION_NOT_FOUND;
+            }
+            return shards.get(rocketShard).getLastMissionName(rocketName) != null
+                    ? StatusChangeResult.ROCKET_ASSIGNED_TO_ANOTHER_MISSION
+                    : StatusChangeResult.ROCKET_NOT_ASSIGNED;
+        } finally {
+            rocketLocks.unlock(rocketName);
+        }
+    }
+
+    public boolean setMissionStatus(String missionName, MissionStatus newStatus) {
+        return missionShard(missionName).setMissionStatus(missionName, newStatus);
+    }
+
+    // Summaries of the shards are merged in the summary order, each of them is already sorted
+    public List<MissionSummary> getSummary() {
+        return getSummary(Integer.MAX_VALUE);
+    }
+
+    // Every shard returns at most limit missions, as all of them may come from a single shard
+    public List<MissionSummary> getSummary(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Summary limit must not be negative, got " + limit);
+        }
+        List<List<MissionSummary>> shardSummaries = new ArrayList<>(shards.size());
+        for (Shard shard : shards) {
+            shardSummaries.add(shard.getSummary(limit));
+        }
+        return merge(shardSummaries, limit);
+    }
+
+    public SummaryPage getSummaryPage(int pageSize) {
+        return getSummaryPage(null, pageSize);
+    }
+
+    // Cursor is the position in the summary order, so it is the same for every shard
+    public SummaryPage getSummaryPage(SummaryCursor cursor, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Summary page size must be positive, got " + pageSize);
+        }
+        List<List<MissionSummary>> shardPages = new ArrayList<>(shards.size());
+        int total = 0;
+        boolean shardHasNext = false;
+        for (Shard shard : shards) {
+            SummaryPage page = shard.getSummaryPage(cursor, pageSize);
+            shardPages.add(page.missionSummaries());
+            total += page.missionSummaries().size();
+            shardHasNext |= page.hasNext();
+        }
+        List<MissionSummary> summaries = merge(shardPages, pageSize);
+        SummaryCursor nextCursor = null;
+        if (summaries.size() == pageSize && (total > pageSize || shardHasNext)) {
+            nextCursor = cursorOf(summaries.get(pageSize - 1));
+        }
+        return new SummaryPage(summaries, nextCursor);
+    }
+
+    private Shard missionShard(String missionName) {
+        return shards.get(ring.shardOf(missionName));
+    }
+
+    private String getLastMissionName(String rocketName) {
+        Integer rocketShard = rocketShards.get(rocketName);
+        return rocketShard == null ? null : shards.get(rocketShard).getLastMissionName(rocketName);
+    }
+
+    // K-way merge taking the first missions of the sorted lists, one list per shard
+    private static List<MissionSummary> merge(List<List<MissionSummary>> sortedSummaries, int limit) {
+        int total = 0;
+        for (List<MissionSummary> summaries : sortedSummaries) {
+            total += summaries.size();
+        }
+        List<MissionSummary> merged = new ArrayList<>(Math.min(limit, total));
+        PriorityQueue<MergeHead> heads = new PriorityQueue<>(Math.max(1, sortedSummaries.size()));
+        for (List<MissionSummary> summaries : sortedSummaries) {
+            if (!summaries.isEmpty()) {
+                heads.add(new MergeHead(summaries, 0));
+            }
+        }
+        while (!heads.isEmpty() && merged.size() < limit) {
+            MergeHead head = heads.poll();
+            merged.add(head.summary());
+            if (head.index() + 1 < head.summaries().size()) {
+                heads.add(new MergeHead(head.summaries(), head.index() + 1));
+            }
+        }
+        return merged;
+    }
+
+    private static SummaryCursor cursorOf(MissionSummary summary) {
+        return new SummaryCursor(summary.getRocketNumber(), summary.name());
+    }
+
+    @Override
+    public void close() {
+        for (Shard shard : shards) {
+            shard.close();
+        }
+    }
+
+    private record MergeHead(List<MissionSummary> summaries, int index) implements Comparable<MergeHead> {
+        MissionSummary summary() {
+            return summaries.get(index);
+        }
+
+        @Override
+        public int compareTo(MergeHead other) {
+            return SUMMARY_ORDER.compare(summary(), other.summary());
+        }
+    }
+}
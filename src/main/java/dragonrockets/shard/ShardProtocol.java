@@ -0,0 +1,145 @@
+package dragonrockets.shard;
+
+import dragonrockets.mission.AssignmentResult;
+import dragonrockets.mission.MissionStatus;
+import dragonrockets.mission.MissionSummary;
+import dragonrockets.mission.SummaryCursor;
+import dragonrockets.mission.SummaryPage;
+import dragonrockets.rocket.RocketStatus;
+import dragonrockets.rocket.RocketSummary;
+import dragonrockets.rocket.StatusChangeResult;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Wire format between RemoteShard and ShardServer. Every request is its operation byte followed by the arguments,
+// every response a status byte followed by the result, or by the error message when the shard has thrown
+final class ShardProtocol {
+    static final byte OK = 0;
+    static final byte MISSION_NOT_FOUND = 1;
+    static final byte FAILURE = 2;
+
+    enum Operation {
+        ADD_ROCKET,
+        RELEASE_ROCKET,
+        GET_LAST_MISSION_NAME,
+        ADD_MISSION,
+        CONTAINS_MISSION,
+        ASSIGN_ROCKET,
+        SET_ROCKET_STATUS,
+        SET_MISSION_STATUS,
+        GET_SUMMARY,
+        GET_SUMMARY_PAGE
+    }
+
+    private static final Operation[] OPERATIONS = Operation.values();
+    private static final RocketStatus[] ROCKET_STATUSES = RocketStatus.values();
+    private static final MissionStatus[] MISSION_STATUSES = MissionStatus.values();
+    private static final AssignmentResult[] ASSIGNMENT_RESULTS = AssignmentResult.values();
+    private static final StatusChangeResult[] STATUS_CHANGE_RESULTS = StatusChangeResult.values();
+
+    private ShardProtocol() {
+    }
+
+    static Operation readOperation(DataInput input) throws IOException {
+        int operation = input.readUnsignedByte();
+        if (operation >= OPERATIONS.length) {
+            throw new IOException("Unknown shard operation " + operation);
+        }
+        return OPERATIONS[operation];
+    }
+
+    static void writeOperation(DataOutput output, Operation operation) throws IOException {
+        output.writeByte(operation.ordinal());
+    }
+
+    // Enums are written by their ordinals, -1 standing for null
+    static void writeEnum(DataOutput output, Enum<?> value) throws IOException {
+        output.writeByte(value == null ? -1 : value.ordinal());
+    }
+
+    static RocketStatus readRocketStatus(DataInput input) throws IOException {
+        int ordinal = input.readByte();
+        return ordinal < 0 ? null : ROCKET_STATUSES[ordinal];
+    }
+
+    static MissionStatus readMissionStatus(DataInput input) throws IOException {
+        return MISSION_STATUSES[input.readByte()];
+    }
+
+    static AssignmentResult readAssignmentResult(DataInput input) throws IOException {
+        return ASSIGNMENT_RESULTS[input.readByte()];
+    }
+
+    static StatusChangeResult readStatusChangeResult(DataInput input) throws IOException {
+        return STATUS_CHANGE_RESULTS[input.readByte()];
+    }
+
+    static void writeNullableString(DataOutput output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    static String readNullableString(DataInput input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    static void writeCursor(DataOutput output, SummaryCursor cursor) throws IOException {
+        output.writeBoolean(cursor != null);
+        if (cursor != null) {
+            output.writeInt(cursor.rocketNumber());
+            output.writeUTF(cursor.missionName());
+        }
+    }
+
+    static SummaryCursor readCursor(DataInput input) throws IOException {
+        if (!input.readBoolean()) {
+            return null;
+        }
+        return new SummaryCursor(input.readInt(), input.readUTF());
+    }
+
+    static void writeSummaries(DataOutput output, List<MissionSummary> summaries) throws IOException {
+        output.writeInt(summaries.size());
+        for (MissionSummary summary : summaries) {
+            output.writeUTF(summary.name());
+            output.writeUTF(summary.status());
+            output.writeInt(summary.getRocketNumber());
+            for (RocketSummary rocketSummary : summary.rocketSummaries()) {
+                output.writeUTF(rocketSummary.name());
+                output.writeUTF(rocketSummary.status());
+            }
+        }
+    }
+
+    static List<MissionSummary> readSummaries(DataInput input) throws IOException {
+        int size = input.readInt();
+        List<MissionSummary> summaries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String name = input.readUTF();
+            String status = input.readUTF();
+            int rocketNumber = input.readInt();
+            List<RocketSummary> rocketSummaries = new ArrayList<>(rocketNumber);
+            for (int j = 0; j < rocketNumber; j++) {
+                rocketSummaries.add(new RocketSummary(input.readUTF(), input.readUTF()));
+            }
+            summaries.add(new MissionSummary(name, status, List.copyOf(rocketSummaries)));
+        }
+        return summaries;
+    }
+
+    static void writePage(DataOutput output, SummaryPage page) throws IOException {
+        writeSummaries(output, page.missionSummaries());
+        writeCursor(output, page.nextCursor());
+    }
+
+    static SummaryPage readPage(DataInput input) throws IOException {
+        List<MissionSummary> summaries = readSummaries(input);
+        return new SummaryPage(summaries, readCursor(input));
+    }
+}
@@ -0,0 +1,62 @@
+package dragonrockets.shard;
+
+import dragonrockets.mission.MissionLocks;
+
+import java.util.Arrays;
+
+// Consistent hashing of names onto shards. Every shard owns many points of a hash ring and a name belongs to the shard
+// owning the first point at or after the name's hash, so growing from N to N + 1 shards moves only about 1/(N + 1)
+// of the names, all of them to the new shard. Names are hashed like MissionLocks does, case-insensitively, so
+// missions matched case-insensitively by the main repository always end up on the same shard
+public class ShardRing {
+    private static final int POINTS_PER_SHARD = 128;
+
+    private final int shardCount;
+    private final int[] points;
+    private final int[] pointShards;
+
+    public ShardRing(int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Number of shards must be positive, got " + shardCount);
+        }
+        this.shardCount = shardCount;
+        long[] sortedPoints = new long[shardCount * POINTS_PER_SHARD];
+        for (int shard = 0; shard < shardCount; shard++) {
+            for (int point = 0; point < POINTS_PER_SHARD; point++) {
+                int hash = mix(shard * 0x9E3779B9 + point * 0x85EBCA6B + 1);
+                // Point hash in the upper half and shard in the lower one, so sorting keeps them together
+                sortedPoints[shard * POINTS_PER_SHARD + point] = ((long) hash << 32) | shard;
+            }
+        }
+        Arrays.sort(sortedPoints);
+        this.points = new int[sortedPoints.length];
+        this.pointShards = new int[sortedPoints.length];
+        for (int i = 0; i < sortedPoints.length; i++) {
+            points[i] = (int) (sortedPoints[i] >> 32);
+            pointShards[i] = (int) sortedPoints[i];
+        }
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public int shardOf(String name) {
+        int hash = mix(MissionLocks.missionHash(name));
+        int position = Arrays.binarySearch(points, hash);
+        if (position < 0) {
+            position = -position - 1;
+        }
+        return pointShards[position == points.length ? 0 : position];
+    }
+
+    // Murmur3 finalizer, the string hash alone leaves similar names close to each other on the ring
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+}
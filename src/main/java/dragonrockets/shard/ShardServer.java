@@ -0,0 +1,179 @@
+package dragonrockets.shard;
+
+import dragonrockets.exception.MissionNotFoundException;
+import dragonrockets.mission.MissionStatus;
+import dragonrockets.mission.SummaryCursor;
+import dragonrockets.rocket.RocketStatus;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Serves a shard over the loopback interface, so shards can run as separate JVMs on one box. Every connection
+// gets its own thread and its requests are handled one by one, in the order they were sent
+public class ShardServer implements AutoCloseable {
+    private final Shard shard;
+    private final ServerSocket serverSocket;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private final Thread acceptor;
+
+    // Port 0 binds any free port, see getPort()
+    public ShardServer(Shard shard, int port) throws IOException {
+        this.shard = shard;
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.acceptor = new Thread(this::acceptConnections, "shard-server-" + serverSocket.getLocalPort());
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    // Runs a local shard until the JVM is killed. The port it listens on is printed as the only line of output
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        ShardServer server = new ShardServer(new LocalShard(), port);
+        System.out.println(server.getPort());
+        System.out.flush();
+        server.acceptor.join();
+    }
+
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connections.add(socket);
+                Thread handler = new Thread(() -> serve(socket), "shard-connection-" + socket.getPort());
+                handler.setDaemon(true);
+                handler.start();
+            } catch (SocketException e) {
+                // Server socket closed
+                return;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            while (true) {
+                ShardProtocol.Operation operation;
+                try {
+                    operation = ShardProtocol.readOperation(input);
+                } catch (EOFException e) {
+                    // Client closed the connection
+                    return;
+                }
+                handle(operation, input, output);
+                output.flush();
+            }
+        } catch (IOException e) {
+            // Connection broken or closed together with the server, nothing to answer to
+        } finally {
+            connections.remove(socket);
+        }
+    }
+
+    // Arguments are read in full before the shard is called, so a failing call leaves the stream in sync
+    private void handle(ShardProtocol.Operation operation, DataInputStream input, DataOutputStream output)
+            throws IOException {
+        switch (operation) {
+            case ADD_ROCKET -> {
+                String rocketName = input.readUTF();
+                RocketStatus status = ShardProtocol.readRocketStatus(input);
+                respond(output, () -> shard.addRocket(rocketName, status), DataOutput::writeBoolean);
+            }
+            case RELEASE_ROCKET -> {
+                String rocketName = input.readUTF();
+                respond(output, () -> shard.releaseRocket(rocketName), ShardProtocol::writeEnum);
+            }
+            case GET_LAST_MISSION_NAME -> {
+                String rocketName = input.readUTF();
+                respond(output, () -> shard.getLastMissionName(rocketName), ShardProtocol::writeNullableString);
+            }
+            case ADD_MISSION -> {
+                String missionName = input.readUTF();
+                respond(output, () -> shard.addMission(missionName), DataOutput::writeBoolean);
+            }
+            case CONTAINS_MISSION -> {
+                String missionName = input.readUTF();
+                respond(output, () -> shard.containsMission(missionName), DataOutput::writeBoolean);
+            }
+            case ASSIGN_ROCKET -> {
+                String rocketName = input.readUTF();
+                String missionName = input.readUTF();
+                respond(output, () -> shard.tryAssignRocketToMission(rocketName, missionName),
+                        ShardProtocol::writeEnum);
+            }
+            case SET_ROCKET_STATUS -> {
+                String rocketName = input.readUTF();
+                String missionName = input.readUTF();
+                RocketStatus status = ShardProtocol.readRocketStatus(input);
+                respond(output, () -> shard.trySetRocketStatus(rocketName, missionName, status),
+                        ShardProtocol::writeEnum);
+            }
+            case SET_MISSION_STATUS -> {
+                String missionName = input.readUTF();
+                MissionStatus status = ShardProtocol.readMissionStatus(input);
+                respond(output, () -> shard.setMissionStatus(missionName, status), DataOutput::writeBoolean);
+            }
+            case GET_SUMMARY -> {
+                int limit = input.readInt();
+                respond(output, () -> shard.getSummary(limit), ShardProtocol::writeSummaries);
+            }
+            case GET_SUMMARY_PAGE -> {
+                SummaryCursor cursor = ShardProtocol.readCursor(input);
+                int pageSize = input.readInt();
+                respond(output, () -> shard.getSummaryPage(cursor, pageSize), ShardProtocol::writePage);
+            }
+        }
+    }
+
+    private static <T> void respond(DataOutputStream output, Supplier<T> call, ResultWriter<T> resultWriter)
+            throws IOException {
+        T result;
+        try {
+            result = call.get();
+        } catch (MissionNotFoundException e) {
+            output.writeByte(ShardProtocol.MISSION_NOT_FOUND);
+            output.writeUTF(String.valueOf(e.getMessage()));
+            return;
+        } catch (RuntimeException e) {
+            output.writeByte(ShardProtocol.FAILURE);
+            output.writeUTF(String.valueOf(e));
+            return;
+        }
+        output.writeByte(ShardProtocol.OK);
+        resultWriter.write(output, result);
+    }
+
+    private interface ResultWriter<T> {
+        void write(DataOutput output, T result) throws IOException;
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Socket connection : connections) {
+            connection.close();
+        }
+        shard.close();
+    }
+}
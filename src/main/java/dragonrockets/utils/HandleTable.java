@@ -0,0 +1,65 @@
+package dragonrockets.utils;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Objects by dense int handles, in the order they have been registered. Handles are claimed by one atomic increment
+// and objects are kept in chunks which are never copied, so registering and clearing take no lock. Only adding
+// a chunk, once per CHUNK_SIZE handles, is synchronized. Resolving a handle is a plain read of the current chunks
+public class HandleTable<T> {
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final VarHandle ENTRIES = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private final AtomicInteger size = new AtomicInteger();
+    private volatile Object[][] chunks = new Object[1][];
+
+    public int register(T object) {
+        int handle = size.getAndIncrement();
+        // Release write publishes the object to threads resolving the handle
+        ENTRIES.setRelease(chunk(handle >>> CHUNK_BITS), handle & CHUNK_MASK, object);
+        return handle;
+    }
+
+    // Cleared handles are not reused, so a stale handle resolves to null rather than to another object
+    public void clear(int handle) {
+        ENTRIES.setRelease(chunks[handle >>> CHUNK_BITS], handle & CHUNK_MASK, null);
+    }
+
+    // Null when the handle has been cleared or has never been given out. Handle being registered concurrently
+    // may still resolve to null
+    @SuppressWarnings("unchecked")
+    public T get(int handle) {
+        if (handle < 0) {
+            return null;
+        }
+        Object[][] table = chunks;
+        int chunk = handle >>> CHUNK_BITS;
+        if (chunk >= table.length || table[chunk] == null) {
+            return null;
+        }
+        return (T) ENTRIES.getAcquire(table[chunk], handle & CHUNK_MASK);
+    }
+
+    private Object[] chunk(int index) {
+        Object[][] table = chunks;
+        if (index < table.length && table[index] != null) {
+            return table[index];
+        }
+        synchronized (this) {
+            table = chunks;
+            if (index >= table.length) {
+                table = Arrays.copyOf(table, Math.max(index + 1, table.length * 2));
+            }
+            if (table[index] == null) {
+                table[index] = new Object[CHUNK_SIZE];
+            }
+            // Writing the volatile field publishes the new chunk
+            chunks = table;
+            return table[index];
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package dragonrockets.utils;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+// Spliterator over objects stored by dense int index, produced on demand. Indexes resolving to null (e.g. removed
+// entries) are skipped. Ranges are split in halves, so parallel streams get balanced partitions without copying
+public class IndexSpliterator<T> implements Spliterator<T> {
+    private static final int MIN_SPLIT_SIZE = 1024;
+
+    private final IntFunction<T> objectAt;
+    private int index;
+    private final int end;
+    private final int characteristics;
+
+    public IndexSpliterator(IntFunction<T> objectAt, int from, int to, boolean sized) {
+        this.objectAt = objectAt;
+        this.index = from;
+        this.end = to;
+        this.characteristics = NONNULL | ORDERED | (sized ? SIZED | SUBSIZED : 0);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        while (index < end) {
+            T object = objectAt.apply(index++);
+            if (object != null) {
+                action.accept(object);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        for (; index < end; index++) {
+            T object = objectAt.apply(index);
+            if (object != null) {
+                action.accept(object);
+            }
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        int size = end - index;
+        if (size < MIN_SPLIT_SIZE) {
+            return null;
+        }
+        int middle = index + size / 2;
+        Spliterator<T> prefix = new IndexSpliterator<>(objectAt, index, middle, (characteristics & SIZED) != 0);
+        index = middle;
+        return prefix;
+    }
+
+    // Exact when sized, an upper bound otherwise
+    @Override
+    public long estimateSize() {
+        return end - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
+}
@@ -0,0 +1,237 @@
+package dragonrockets.utils;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+// Immutable sorted map. Putting or removing a key copies only the O(log n) nodes on the path to it and shares
+// the rest with the previous version, so any version can be read by many threads while newer ones are being built.
+// It is a treap whose node priorities are derived from the keys' hashes, which keeps it balanced (in expectation)
+// without ever rotating a node another version can see
+public final class PersistentSortedMap<K extends Comparable<K>, V> {
+    private static final PersistentSortedMap<?, ?> EMPTY = new PersistentSortedMap<>(null);
+
+    private final Node<K, V> root;
+
+    private PersistentSortedMap(Node<K, V> root) {
+        this.root = root;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K extends Comparable<K>, V> PersistentSortedMap<K, V> empty() {
+        return (PersistentSortedMap<K, V>) EMPTY;
+    }
+
+    public int size() {
+        return sizeOf(root);
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    public PersistentSortedMap<K, V> put(K key, V value) {
+        return new PersistentSortedMap<>(put(root, key, value, priorityOf(key)));
+    }
+
+    // Same version when there is no such key
+    public PersistentSortedMap<K, V> remove(K key) {
+        Node<K, V> newRoot = remove(root, key);
+        return newRoot == root ? this : new PersistentSortedMap<>(newRoot);
+    }
+
+    public boolean hasKeyAfter(K key) {
+        Node<K, V> node = root;
+        while (node != null) {
+            if (node.key.compareTo(key) > 0) {
+                return true;
+            }
+            node = node.right;
+        }
+        return false;
+    }
+
+    // Values in key order, as a view of this version
+    public List<V> values() {
+        return new Values<>(root);
+    }
+
+    // At most limit values of keys following the given one in key order, from the first key when it is null
+    public List<V> valuesAfter(K key, int limit) {
+        List<V> values = new ArrayList<>(Math.min(limit, size()));
+        Deque<Node<K, V>> path = new ArrayDeque<>();
+        Node<K, V> node = root;
+        while (node != null) {
+            if (key == null || node.key.compareTo(key) > 0) {
+                path.push(node);
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        while (!path.isEmpty() && values.size() < limit) {
+            Node<K, V> next = path.pop();
+            values.add(next.value);
+            pushLeftSpine(path, next.right);
+        }
+        return values;
+    }
+
+    private static <K extends Comparable<K>, V> Node<K, V> put(Node<K, V> node, K key, V value, int priority) {
+        if (node == null) {
+            return new Node<>(key, value, priority, null, null);
+        }
+        int comparison = key.compareTo(node.key);
+        if (comparison == 0) {
+            return new Node<>(key, value, node.priority, node.left, node.right);
+        }
+        if (priority > node.priority) {
+            // New node becomes the root of this subtree, the old subtree is split around its key. The key cannot be
+            // in the subtree, as the priority it would have there is the same and higher than the subtree root's
+            return new Node<>(key, value, priority, splitBelow(node, key), splitAbove(node, key));
+        }
+        if (comparison < 0) {
+            return new Node<>(node.key, node.value, node.priority, put(node.left, key, value, priority), node.right);
+        }
+        return new Node<>(node.key, node.value, node.priority, node.left, put(node.right, key, value, priority));
+    }
+
+    private static <K extends Comparable<K>, V> Node<K, V> remove(Node<K, V> node, K key) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = key.compareTo(node.key);
+        if (comparison == 0) {
+            return merge(node.left, node.right);
+        }
+        if (comparison < 0) {
+            Node<K, V> left = remove(node.left, key);
+            return left == node.left ? node : new Node<>(node.key, node.value, node.priority, left, node.right);
+        }
+        Node<K, V> right = remove(node.right, key);
+        return right == node.right ? node : new Node<>(node.key, node.value, node.priority, node.left, right);
+    }
+
+    // Keys lower than the given one
+    private static <K extends Comparable<K>, V> Node<K, V> splitBelow(Node<K, V> node, K key) {
+        if (node == null) {
+            return null;
+        }
+        if (node.key.compareTo(key) < 0) {
+            return new Node<>(node.key, node.value, node.priority, node.left, splitBelow(node.right, key));
+        }
+        return splitBelow(node.left, key);
+    }
+
+    // Keys higher than the given one
+    private static <K extends Comparable<K>, V> Node<K, V> splitAbove(Node<K, V> node, K key) {
+        if (node == null) {
+            return null;
+        }
+        if (node.key.compareTo(key) > 0) {
+            return new Node<>(node.key, node.value, node.priority, splitAbove(node.left, key), node.right);
+        }
+        return splitAbove(node.right, key);
+    }
+
+    // All keys of the left subtree are lower than the ones of the right subtree
+    private static <K extends Comparable<K>, V> Node<K, V> merge(Node<K, V> left, Node<K, V> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            return new Node<>(left.key, left.value, left.priority, left.left, merge(left.right, right));
+        }
+        return new Node<>(right.key, right.value, right.priority, merge(left, right.left), right.right);
+    }
+
+    private static <K extends Comparable<K>, V> void pushLeftSpine(Deque<Node<K, V>> path, Node<K, V> node) {
+        while (node != null) {
+            path.push(node);
+            node = node.left;
+        }
+    }
+
+    private static int sizeOf(Node<?, ?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    // Murmur3 finalizer spreading the key's hash, so similar keys do not get similar priorities
+    private static int priorityOf(Object key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    private record Node<K, V>(K key, V value, int priority, Node<K, V> left, Node<K, V> right, int size) {
+        Node(K key, V value, int priority, Node<K, V> left, Node<K, V> right) {
+            this(key, value, priority, left, right, sizeOf(left) + sizeOf(right) + 1);
+        }
+    }
+
+    private static final class Values<K extends Comparable<K>, V> extends AbstractList<V> {
+        private final Node<K, V> root;
+
+        private Values(Node<K, V> root) {
+            this.root = root;
+        }
+
+        @Override
+        public int size() {
+            return sizeOf(root);
+        }
+
+        // Finds the value by the sizes of the subtrees in O(log n)
+        @Override
+        public V get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size());
+            }
+            Node<K, V> node = root;
+            while (true) {
+                int leftSize = sizeOf(node.left);
+                if (index < leftSize) {
+                    node = node.left;
+                } else if (index == leftSize) {
+                    return node.value;
+                } else {
+                    index -= leftSize + 1;
+                    node = node.right;
+                }
+            }
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            Deque<Node<K, V>> path = new ArrayDeque<>();
+            pushLeftSpine(path, root);
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return !path.isEmpty();
+                }
+
+                @Override
+                public V next() {
+                    if (path.isEmpty()) {
+                        throw new NoSuchElementException();
+                    }
+                    Node<K, V> next = path.pop();
+                    pushLeftSpine(path, next.right);
+                    return next.value;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package dragonrockets.utils;
+
+import dragonrockets.mission.Manager;
+import dragonrockets.mission.Mission;
+import dragonrockets.mission.MissionSummary;
+import dragonrockets.rocket.Rocket;
+import dragonrockets.rocket.RocketSummary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+// Writes the mission summary in the printMissionSummary() format, line by line, straight from the missions.
+// Lines are appended to a reusable buffer which is passed on whenever it fills up, so memory use does not depend
+// on the number of missions and rockets. Rockets give their lines pre-rendered, cached until they change.
+// Output channels get the summary encoded in UTF-8
+public class SummaryWriter {
+    private static final int BUFFER_CHARS = 8 * 1024;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final Appendable appendable;
+    private final WritableByteChannel channel;
+    private final CharsetEncoder encoder;
+    private final ByteBuffer bytes;
+    private final StringBuilder buffer = new StringBuilder(BUFFER_CHARS + 256);
+    // Missions are visited by a callback that cannot throw IOException, the first failure is rethrown afterwards
+    private IOException failure;
+
+    public SummaryWriter(Appendable appendable) {
+        this.appendable = appendable;
+        this.channel = null;
+        this.encoder = null;
+        this.bytes = null;
+    }
+
+    public SummaryWriter(WritableByteChannel channel) {
+        this.appendable = null;
+        this.channel = channel;
+        this.encoder = StandardCharsets.UTF_8.newEncoder();
+        this.bytes = ByteBuffer.allocate(BUFFER_CHARS * 3);
+    }
+
+    public void write(Manager missionManager) throws IOException {
+        failure = null;
+        missionManager.forEachSummaryMission(this::writeMission);
+        finish();
+    }
+
+    public void write(List<MissionSummary> summaries) throws IOException {
+        failure = null;
+        for (MissionSummary summary : summaries) {
+            appendMissionLine(summary.name(), summary.status(), summary.getRocketNumber());
+            for (RocketSummary rocketSummary : summary.rocketSummaries()) {
+                appendRocketLine(rocketSummary.name(), rocketSummary.status());
+            }
+            buffer.append(LINE_SEPARATOR);
+        }
+        finish();
+    }
+
+    private void writeMission(Mission mission) {
+        if (failure != null) {
+            return;
+        }
+        appendMissionLine(mission.getName(), mission.getStatus().getSummaryForm(), mission.getSummaryRocketNumber());
+        mission.forEachSummaryRocket(this::writeRocket);
+        buffer.append(LINE_SEPARATOR);
+    }
+
+    private void writeRocket(Rocket rocket) {
+        if (failure == null) {
+            buffer.append(rocket.getSummaryLine());
+            flushIfFull();
+        }
+    }
+
+    private void appendMissionLine(String name, String status, int rocketNumber) {
+        buffer.append("\u2022 ").append(name).append(" - ").append(status)
+                .append(" - Dragons: ").append(rocketNumber).append(LINE_SEPARATOR);
+        flushIfFull();
+    }
+
+    private void appendRocketLine(String name, String status) {
+        buffer.append("\t\u25E6 ").append(name).append(" - ").append(status).append(LINE_SEPARATOR);
+        flushIfFull();
+    }
+
+    // Buffer is passed on only after whole lines, so a character is never split between two flushes
+    private void flushIfFull() {
+        if (buffer.length() >= BUFFER_CHARS) {
+            try {
+                flush();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+    }
+
+    private void finish() throws IOException {
+        if (failure == null) {
+            flush();
+        }
+        buffer.setLength(0);
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void flush() throws IOException {
+        if (appendable != null) {
+            appendable.append(buffer);
+        } else {
+            CharBuffer chars = CharBuffer.wrap(buffer);
+            encoder.reset();
+            CoderResult result;
+            do {
+                result = encoder.encode(chars, bytes, true);
+                if (result.isError()) {
+                    result.throwException();
+                }
+                drainBytes();
+            } while (result.isOverflow());
+            while (encoder.flush(bytes).isOverflow()) {
+                drainBytes();
+            }
+            drainBytes();
+        }
+        buffer.setLength(0);
+    }
+
+    private void drainBytes() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
+}
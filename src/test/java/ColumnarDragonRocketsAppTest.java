@@ -0,0 +1,107 @@
+import dragonrockets.DragonRocketsApp;
+import dragonrockets.mission.Mission;
+import dragonrockets.rocket.ColumnarRocketRepository;
+import dragonrockets.rocket.Rocket;
+import dragonrockets.rocket.RocketStatus;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Runs all DragonRocketsAppTest scenarios against the columnar main repository
+public class ColumnarDragonRocketsAppTest extends DragonRocketsAppTest {
+
+    private static final int ROCKETS = 100_000;
+
+    @Override
+    protected DragonRocketsApp createApp() {
+        return DragonRocketsApp.builder().columnarRepository().build();
+    }
+
+    @Test
+    void shouldKeepUnassignedRocketsInColumnsOnly() {
+        // given
+        ColumnarRocketRepository repository = new ColumnarRocketRepository();
+        repository.ensureCapacity(ROCKETS);
+
+        // when
+        for (int i = 0; i < ROCKETS; i++) {
+            repository.addRocket(new Rocket("Dragon" + i));
+        }
+
+        // then
+        assertThat(repository.getNumberOfRockets()).isEqualTo(ROCKETS);
+        assertThat(repository.findRocket("Dragon" + (ROCKETS - 1))).isPresent();
+        assertThat(repository.findRocket("Dragon" + ROCKETS)).isEmpty();
+        assertThat((double) repository.memoryFootprint() / ROCKETS).isLessThan(64);
+    }
+
+    @Test
+    void shouldTrackRocketsOfMission() {
+        // given
+        ColumnarRocketRepository repository = new ColumnarRocketRepository();
+        Mission mission = new Mission("Luna");
+        for (int i = 0; i < 3; i++) {
+            repository.addRocket(new Rocket("Dragon" + i));
+        }
+
+        // when
+        Rocket first = repository.findRocket("Dragon0").orElseThrow();
+        first.setLastMission(mission);
+        first.setStatus(RocketStatus.IN_SPACE);
+        Rocket second = repository.findRocket("Dragon1").orElseThrow();
+        second.setLastMission(mission);
+        repository.removeRocket(repository.findRocket("Dragon2").orElseThrow());
+
+        // then
+        assertThat(repository.findRocket("Dragon0")).containsSame(first);
+        assertThat(repository.findRocketsByMission(new Mission("LUNA"))).containsExactlyInAnyOrder(first, second);
+        assertThat(repository.getRockets(RocketStatus.IN_SPACE)).containsExactly(first);
+        assertThat(repository.getNumberOfRockets()).isEqualTo(2);
+        assertThat(repository.findRocket("Dragon2")).isEmpty();
+
+        repository.wipeOutRocketsLastMission(mission);
+        assertThat(repository.findRocketsByMission(mission)).isEmpty();
+        assertThat(repository.findRocket("Dragon0").orElseThrow().getStatus()).isEqualTo(RocketStatus.IN_SPACE);
+    }
+
+    @Test
+    void shouldHandOutSameInstanceOfRocketWithoutMissionWhileItIsHeld() {
+        // given
+        ColumnarRocketRepository repository = new ColumnarRocketRepository();
+        Rocket added = new Rocket("Dragon1");
+        repository.addRocket(added);
+        repository.addRocket(new Rocket("Dragon2"));
+        Mission mission = new Mission("Luna");
+
+        // when
+        Rocket lookedUp = repository.findRocket("Dragon2").orElseThrow();
+        lookedUp.setLastMission(mission);
+        lookedUp.setLastMission(null);
+        lookedUp.setStatus(RocketStatus.IN_REPAIR);
+
+        // then
+        assertThat(repository.findRocket("Dragon1")).containsSame(added);
+        assertThat(repository.getRocket(repository.getRocketId("Dragon1"))).isSameAs(added);
+        assertThat(repository.findRocket("Dragon2")).containsSame(lookedUp);
+        assertThat(repository.getAvailableRockets()).containsExactlyInAnyOrder(added, lookedUp);
+        assertThat(repository.getRockets(RocketStatus.IN_REPAIR)).containsExactly(lookedUp);
+    }
+
+    @Test
+    void shouldStopFollowingHandedOutRocketRemovedThroughAnotherInstance() {
+        // given
+        ColumnarRocketRepository repository = new ColumnarRocketRepository();
+        repository.addRocket(new Rocket("Dragon1"));
+        repository.addRocket(new Rocket("Dragon2"));
+        Rocket handedOut = repository.findRocket("Dragon1").orElseThrow();
+
+        // when
+        repository.removeRocket(new Rocket("Dragon1"));
+        handedOut.setStatus(RocketStatus.IN_REPAIR);
+
+        // then
+        assertThat(repository.findRocket("Dragon1")).isEmpty();
+        assertThat(repository.getRockets(RocketStatus.IN_REPAIR)).isEmpty();
+        assertThat(repository.getRockets()).extracting(Rocket::getName).containsExactly("Dragon2");
+    }
+}
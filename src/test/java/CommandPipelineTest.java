@@ -0,0 +1,171 @@
+import dragonrockets.DragonRocketsApp;
+import dragonrockets.command.CommandPipeline;
+import dragonrockets.exception.RocketNotFoundException;
+import dragonrockets.mission.MissionStatus;
+import dragonrockets.rocket.RocketStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class CommandPipelineTest {
+
+    private static final int PRODUCERS = 32;
+    private static final int LANES = 8;
+
+    private final DragonRocketsApp app = DragonRocketsApp.builder().concurrent(LANES).build();
+    private final CommandPipeline pipeline = new CommandPipeline(app, LANES);
+
+    @Test
+    void shouldEndUpInTheSameStateAsSequentialAppWhenManyProducersSubmitCommands() throws Exception {
+        // given
+        DragonRocketsApp sequentialApp = new DragonRocketsApp();
+        for (int producer = 0; producer < PRODUCERS; producer++) {
+            String missionName = "Mission" + producer;
+            sequentialApp.addNewMission(missionName);
+            for (int rocket = 0; rocket < 3; rocket++) {
+                String rocketName = missionName + "-Dragon" + rocket;
+                sequentialApp.addNewRocketToRepository(rocketName);
+                sequentialApp.assignRocketToMission(rocketName, missionName);
+            }
+            sequentialApp.setRocketStatus(missionName + "-Dragon0", missionName, RocketStatus.IN_REPAIR);
+            if (producer % 4 == 0) {
+                sequentialApp.setMissionStatus(missionName, MissionStatus.ENDED);
+            }
+        }
+
+        // when
+        ExecutorService producers = Executors.newVirtualThreadPerTaskExecutor();
+        List<Future<List<CompletableFuture<?>>>> submissions = new ArrayList<>();
+        for (int producer = 0; producer < PRODUCERS; producer++) {
+            int producerNumber = producer;
+            submissions.add(producers.submit(() -> submitMissionScenario(producerNumber)));
+        }
+        List<CompletableFuture<?>> results = new ArrayList<>();
+        for (Future<List<CompletableFuture<?>>> submission : submissions) {
+            results.addAll(submission.get(30, TimeUnit.SECONDS));
+        }
+        CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).get(30, TimeUnit.SECONDS);
+        producers.shutdown();
+        pipeline.close();
+
+        // then
+        assertThat(app.getSummary()).isEqualTo(sequentialApp.getSummary());
+    }
+
+    @Test
+    void shouldCompleteFutureExceptionallyAndGoOnWhenCommandFails() throws Exception {
+        // given
+        pipeline.addNewMission("Luna");
+
+        // when
+        CompletableFuture<Boolean> failedAssignment = pipeline.assignRocketToMission("Dragon2", "Luna");
+        pipeline.addNewRocketToRepository("Dragon1").get(30, TimeUnit.SECONDS);
+        CompletableFuture<Boolean> assignment = pipeline.assignRocketToMission("Dragon1", "Luna");
+
+        // then
+        assertThatThrownBy(() -> failedAssignment.get(30, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RocketNotFoundException.class);
+        assertThat(assignment.get(30, TimeUnit.SECONDS)).isTrue();
+        pipeline.close();
+    }
+
+    @Test
+    void shouldExecuteAcceptedCommandsAndRejectNewOnesAfterClose() throws Exception {
+        // given
+        CompletableFuture<Boolean> acceptedCommand = pipeline.addNewMission("Luna");
+
+        // when
+        pipeline.close();
+        CompletableFuture<Boolean> rejectedCommand = pipeline.addNewMission("Mars");
+
+        // then
+        assertThat(acceptedCommand.get(30, TimeUnit.SECONDS)).isTrue();
+        assertThatThrownBy(() -> rejectedCommand.get(30, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(app.getSummary()).hasSize(1);
+    }
+
+    @Test
+    void shouldCompleteFutureExceptionallyAndKeepLaneRunningWhenCommandThrowsError() throws Exception {
+        // given
+        DragonRocketsApp failingApp = new DragonRocketsApp() {
+            @Override
+            public boolean addNewMission(String missionName) {
+                if (missionName.equals("Broken")) {
+                    throw new StackOverflowError();
+                }
+                return super.addNewMission(missionName);
+            }
+        };
+        CommandPipeline singleLanePipeline = new CommandPipeline(failingApp, 1, Executors.defaultThreadFactory());
+
+        // when
+        CompletableFuture<Boolean> failedCommand = singleLanePipeline.addNewMission("Broken");
+        CompletableFuture<Boolean> laterCommand = singleLanePipeline.addNewMission("Luna");
+
+        // then
+        assertThatThrownBy(() -> failedCommand.get(30, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(StackOverflowError.class);
+        assertThat(laterCommand.get(30, TimeUnit.SECONDS)).isTrue();
+        singleLanePipeline.close();
+        pipeline.close();
+    }
+
+    @Test
+    void shouldWaitForLanesOnEveryCloseWhenClosedRepeatedly() throws Exception {
+        // given
+        List<Thread> workers = new CopyOnWriteArrayList<>();
+        CommandPipeline recordedPipeline = new CommandPipeline(app, LANES, runnable -> {
+            Thread worker = new Thread(runnable);
+            workers.add(worker);
+            return worker;
+        });
+        CompletableFuture<Boolean> acceptedCommand = recordedPipeline.addNewMission("Luna");
+        ExecutorService closers = Executors.newFixedThreadPool(4);
+
+        // when
+        List<Future<Boolean>> lanesEndedOnClose = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            lanesEndedOnClose.add(closers.submit(() -> {
+                recordedPipeline.close();
+                return workers.stream().noneMatch(Thread::isAlive);
+            }));
+        }
+        recordedPipeline.close();
+
+        // then
+        for (Future<Boolean> lanesEnded : lanesEndedOnClose) {
+            assertThat(lanesEnded.get(30, TimeUnit.SECONDS)).isTrue();
+        }
+        assertThat(workers).hasSize(LANES).noneMatch(Thread::isAlive);
+        assertThat(acceptedCommand.get(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(recordedPipeline.addNewMission("Mars")).isCompletedExceptionally();
+        closers.shutdown();
+        pipeline.close();
+    }
+
+    // Commands of one mission are not awaited, the pipeline runs them in submission order
+    private List<CompletableFuture<?>> submitMissionScenario(int producerNumber) {
+        List<CompletableFuture<?>> results = new ArrayList<>();
+        String missionName = "Mission" + producerNumber;
+        results.add(pipeline.addNewMission(missionName));
+        for (int rocket = 0; rocket < 3; rocket++) {
+            String rocketName = missionName + "-Dragon" + rocket;
+            results.add(pipeline.addNewRocketToRepository(rocketName).join()
+                    ? pipeline.assignRocketToMission(rocketName, missionName)
+                    : CompletableFuture.completedFuture(false));
+        }
+        results.add(pipeline.setRocketStatus(missionName + "-Dragon0", missionName, RocketStatus.IN_REPAIR));
+        if (producerNumber % 4 == 0) {
+            results.add(pipeline.setMissionStatus(missionName, MissionStatus.ENDED));
+        }
+        return results;
+    }
+}
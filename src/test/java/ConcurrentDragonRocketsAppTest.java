@@ -0,0 +1,133 @@
+import dragonrockets.DragonRocketsApp;
+import dragonrockets.mission.MissionStatus;
+import dragonrockets.mission.MissionSummary;
+import dragonrockets.rocket.RocketStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class ConcurrentDragonRocketsAppTest {
+
+    private static final int THREADS = 8;
+
+    private final DragonRocketsApp app = DragonRocketsApp.builder().concurrent(4).build();
+
+    @Test
+    void shouldEndUpInTheSameStateAsSequentialAppWhenMissionsAreHandledByDifferentThreads() throws Exception {
+        // given
+        DragonRocketsApp sequentialApp = new DragonRocketsApp();
+        for (int thread = 0; thread < THREADS; thread++) {
+            runMissionScenario(sequentialApp, thread);
+        }
+
+        // when
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            int threadNumber = thread;
+            futures.add(executor.submit(() -> runMissionScenario(app, threadNumber)));
+            futures.add(executor.submit(() -> app.getSummary()));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(app.getSummary()).isEqualTo(sequentialApp.getSummary());
+    }
+
+    @Test
+    void shouldAssignRocketToOnlyOneMissionWhenManyThreadsCompeteForIt() throws Exception {
+        // given
+        app.addNewRocketToRepository("Dragon1");
+        for (int thread = 0; thread < THREADS; thread++) {
+            app.addNewMission("Mission" + thread);
+        }
+        AtomicInteger successfulAssignments = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        // when
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            String missionName = "Mission" + thread;
+            futures.add(executor.submit(() -> {
+                start.await();
+                if (app.assignRocketToMission("Dragon1", missionName)) {
+                    successfulAssignments.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(successfulAssignments.get()).isEqualTo(1);
+        List<MissionSummary> summaries = app.getSummary();
+        assertThat(summaries.get(0).getRocketNumber()).isEqualTo(1);
+        assertThat(summaries.get(0).status()).isEqualTo("In progress");
+        assertThat(summaries.stream().mapToInt(MissionSummary::getRocketNumber).sum()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldListSummaryLikeSequentialAppWhenReadBetweenTransitions() {
+        // given
+        DragonRocketsApp sequentialApp = new DragonRocketsApp();
+        List<List<MissionSummary>> summaries = new ArrayList<>();
+        List<List<MissionSummary>> sequentialSummaries = new ArrayList<>();
+        for (DragonRocketsApp dragonRocketsApp : List.of(app, sequentialApp)) {
+            for (int mission = 0; mission < 7; mission++) {
+                dragonRocketsApp.addNewMission("Mission" + mission);
+            }
+        }
+
+        // when
+        for (int rocket = 0; rocket < 40; rocket++) {
+            for (DragonRocketsApp dragonRocketsApp : List.of(app, sequentialApp)) {
+                String rocketName = "Dragon" + rocket;
+                String missionName = "Mission" + (rocket * 3 % 7);
+                dragonRocketsApp.addNewRocketToRepository(rocketName);
+                dragonRocketsApp.assignRocketToMission(rocketName, missionName);
+                if (rocket % 4 == 0) {
+                    dragonRocketsApp.setRocketStatus(rocketName, missionName, RocketStatus.IN_REPAIR);
+                }
+            }
+            summaries.add(app.getSummary(3));
+            sequentialSummaries.add(sequentialApp.getSummary(3));
+        }
+
+        // then
+        assertThat(summaries).isEqualTo(sequentialSummaries);
+        assertThat(app.getSummary()).isEqualTo(sequentialApp.getSummary());
+    }
+
+    private static void runMissionScenario(DragonRocketsApp app, int thread) {
+        for (int round = 0; round < 50; round++) {
+            String missionName = "Mission" + thread + "-" + round;
+            app.addNewMission(missionName);
+            for (int rocket = 0; rocket < 5; rocket++) {
+                String rocketName = "Dragon" + thread + "-" + round + "-" + rocket;
+                app.addNewRocketToRepository(rocketName);
+                app.assignRocketToMission(rocketName, missionName);
+            }
+            app.setRocketStatus("Dragon" + thread + "-" + round + "-0", missionName, RocketStatus.IN_REPAIR);
+            app.setRocketStatus("Dragon" + thread + "-" + round + "-1", missionName, RocketStatus.ON_GROUND);
+            if (round % 3 == 0) {
+                app.setRocketStatus("Dragon" + thread + "-" + round + "-0", missionName, RocketStatus.IN_SPACE);
+            }
+            if (round % 5 == 0) {
+                app.setMissionStatus(missionName, MissionStatus.ENDED);
+            }
+        }
+    }
+}
@@ -3,19 +3,34 @@ import dragonrockets.exception.MissionNotFoundException;
 import dragonrockets.exception.RocketAssignedToAnotherMissionException;
 import dragonrockets.exception.RocketNotAssignedToMissionException;
 import dragonrockets.exception.RocketNotFoundException;
+import dragonrockets.mission.AssignmentResult;
+import dragonrockets.mission.MissionId;
 import dragonrockets.mission.MissionStatus;
 import dragonrockets.mission.MissionSummary;
+import dragonrockets.mission.SummaryPage;
+import dragonrockets.rocket.AllocationPolicy;
+import dragonrockets.rocket.RocketId;
 import dragonrockets.rocket.RocketStatus;
 import dragonrockets.rocket.RocketSummary;
+import dragonrockets.rocket.StatusChangeResult;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
 
 public class DragonRocketsAppTest {
 
-    private final DragonRocketsApp app = new DragonRocketsApp();
+    private final DragonRocketsApp app = createApp();
+
+    protected DragonRocketsApp createApp() {
+        return new DragonRocketsApp();
+    }
 
     @Test
     void shouldAssignProperRocketToProperMission() {
@@ -142,7 +157,8 @@ public class DragonRocketsAppTest {
         // then
         assertThatThrownBy(
                 () -> app.setRocketStatus("Dragon1", "Transit", RocketStatus.IN_SPACE))
-                .isInstanceOf(RocketAssignedToAnotherMissionException.class);
+                .isInstanceOf(RocketAssignedToAnotherMissionException.class)
+                .hasMessage("Rocket Dragon1 assigned to mission 'Luna', not to mission 'Transit'");
     }
 
     @Test
@@ -666,4 +682,355 @@ public class DragonRocketsAppTest {
         assertThat(summaries.get(1).getRocketNumber()).isEqualTo(2);
         assertThat(summaries.get(1).status()).isEqualTo("In progress");
     }
+
+    @Test
+    void shouldListEndedMissionOnlyOnceWithNoRocketsEvenIfSomeOfItsRocketsHadBeenGroundedBefore() {
+        // given
+        app.addNewMission("Luna");
+        app.addNewRocketToRepository("Dragon1");
+        app.addNewRocketToRepository("Dragon2");
+        app.assignRocketToMission("Dragon1", "Luna");
+        app.assignRocketToMission("Dragon2", "Luna");
+        app.setRocketStatus("Dragon1", "Luna", RocketStatus.ON_GROUND);
+
+        // when
+        app.setMissionStatus("Luna", MissionStatus.ENDED);
+
+        // then
+        List<MissionSummary> summaries = app.getSummary();
+
+        assertThat(summaries.size()).isEqualTo(1);
+        assertThat(summaries.get(0).name()).isEqualTo("Luna");
+        assertThat(summaries.get(0).status()).isEqualTo("Ended");
+        assertThat(summaries.get(0).getRocketNumber()).isEqualTo(0);
+    }
+
+    @Test
+    void shouldRescheduleMissionWhenItsLastRocketIsGroundedAfterAnotherRocketWasReassignedInRepairAndGrounded() {
+        // given
+        app.addNewMission("Luna");
+        app.addNewRocketToRepository("Dragon1");
+        app.addNewRocketToRepository("Dragon2");
+        app.assignRocketToMission("Dragon1", "Luna");
+        app.setRocketStatus("Dragon1", "Luna", RocketStatus.IN_REPAIR);
+        app.setRocketStatus("Dragon1", "Luna", RocketStatus.ON_GROUND);
+        app.assignRocketToMission("Dragon1", "Luna");
+        app.setRocketStatus("Dragon1", "Luna", RocketStatus.ON_GROUND);
+        app.assignRocketToMission("Dragon2", "Luna");
+
+        // when
+        app.setRocketStatus("Dragon2", "Luna", RocketStatus.ON_GROUND);
+
+        // then
+        List<MissionSummary> summaries = app.getSummary();
+
+        assertThat(summaries.size()).isEqualTo(1);
+        assertThat(summaries.get(0).status()).isEqualTo("Scheduled");
+        assertThat(summaries.get(0).getRocketNumber()).isEqualTo(0);
+    }
+
+    @Test
+    void shouldKeepSummaryUpToDateAfterEachTransition() {
+        // given
+        app.addNewMission("Luna");
+        app.addNewMission("Transit");
+        app.addNewRocketToRepository("Dragon1");
+        app.addNewRocketToRepository("Dragon2");
+        app.addNewRocketToRepository("Dragon3");
+        app.assignRocketToMission("Dragon1", "Luna");
+        app.assignRocketToMission("Dragon2", "Transit");
+        app.assignRocketToMission("Dragon3", "Transit");
+        assertThat(app.getSummary().get(0).name()).isEqualTo("Transit");
+
+        // when
+        app.setRocketStatus("Dragon2", "Transit", RocketStatus.IN_REPAIR);
+        app.setRocketStatus("Dragon3", "Transit", RocketStatus.IN_REPAIR);
+
+        // then
+        List<MissionSummary> summaries = app.getSummary();
+
+        assertThat(summaries.size()).isEqualTo(1);
+        assertThat(summaries.get(0).name()).isEqualTo("Luna");
+        assertThat(summaries.get(0).rocketSummaries().get(0).name()).isEqualTo("Dragon1");
+    }
+
+    @Test
+    void shouldAddNewRocketsInBatchSkippingDuplicates() {
+        // given
+        app.addNewRocketToRepository("Dragon1");
+
+        // when
+        boolean[] added = app.addNewRockets(List.of("Dragon1", "Dragon2", "Dragon3", "Dragon2"));
+
+        // then
+        assertThat(added).containsExactly(false, true, true, false);
+        assertThat(app.addNewRocketToRepository("Dragon3")).isFalse();
+    }
+
+    @Test
+    void shouldAssignRocketsToMissionInBatchAndReportResultForEachRocket() {
+        // given
+        app.addNewMission("Luna");
+        app.addNewMission("Transit");
+        app.addNewRockets(List.of("Dragon1", "Dragon2", "Dragon3", "Dragon4"));
+        app.assignRocketToMission("Dragon3", "Transit");
+
+        // when
+        AssignmentResult[] results = app.assignRocketsToMission(
+                List.of("Dragon2", "Dragon1", "Dragon3", "Dragon5", "Dragon4"), "Luna");
+
+        // then
+        assertThat(results).containsExactly(
+                AssignmentResult.ASSIGNED,
+                AssignmentResult.ASSIGNED,
+                AssignmentResult.NOT_ASSIGNABLE,
+                AssignmentResult.ROCKET_NOT_FOUND,
+                AssignmentResult.ASSIGNED);
+
+        MissionSummary missionSummary = app.getSummary().get(0);
+        assertThat(missionSummary.name()).isEqualTo("Luna");
+        assertThat(missionSummary.status()).isEqualTo("In progress");
+        assertThat(missionSummary.rocketSummaries())
+                .extracting(RocketSummary::name)
+                .containsExactly("Dragon1", "Dragon2", "Dragon4");
+    }
+
+    @Test
+    void shouldNotAssignRocketsInBatchToNonExistentMission() {
+        // given, when
+        app.addNewRockets(List.of("Dragon1", "Dragon2"));
+
+        // then
+        assertThatThrownBy(() -> app.assignRocketsToMission(List.of("Dragon1", "Dragon2"), "Luna"))
+                .isInstanceOf(MissionNotFoundException.class);
+    }
+
+    @Test
+    void shouldStreamSummaryExactlyAsItIsPrinted() throws IOException {
+        // given
+        app.addNewMission("Luna");
+        app.addNewMission("Mars");
+        app.addNewMission("Titan");
+        app.addNewRockets(List.of("Dragon1", "Dragon2", "Dragon3", "\u017Buraw"));
+        app.assignRocketsToMission(List.of("Dragon1", "Dragon2", "\u017Buraw"), "Luna");
+        app.assignRocketToMission("Dragon3", "Mars");
+        app.setRocketStatus("Dragon2", "Luna", RocketStatus.ON_GROUND);
+        StringBuilder expected = new StringBuilder();
+        for (MissionSummary summary : app.getSummary()) {
+            expected.append(summary).append(System.lineSeparator());
+        }
+
+        // when
+        StringBuilder written = new StringBuilder();
+        app.writeSummary(written);
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        app.writeSummary(Channels.newChannel(encoded));
+
+        // then
+        assertThat(written.toString()).isEqualTo(expected.toString());
+        assertThat(encoded.toString(StandardCharsets.UTF_8)).isEqualTo(expected.toString());
+    }
+
+    @Test
+    void shouldReturnFirstMissionsOfSummaryAndWholeSummaryPageByPage() {
+        // given
+        for (int i = 0; i < 7; i++) {
+            app.addNewMission("Mission" + i);
+            app.addNewRocketToRepository("Dragon" + i);
+            app.assignRocketToMission("Dragon" + i, "Mission" + (i % 3));
+        }
+        List<MissionSummary> summary = app.getSummary();
+
+        // when
+        List<MissionSummary> firstMissions = app.getSummary(4);
+        SummaryPage firstPage = app.getSummaryPage(3);
+        SummaryPage secondPage = app.getSummaryPage(firstPage.nextCursor(), 3);
+        SummaryPage lastPage = app.getSummaryPage(secondPage.nextCursor(), 3);
+
+        // then
+        assertThat(firstMissions).isEqualTo(summary.subList(0, 4));
+        assertThat(firstPage.missionSummaries()).isEqualTo(summary.subList(0, 3));
+        assertThat(secondPage.missionSummaries()).isEqualTo(summary.subList(3, 6));
+        assertThat(lastPage.missionSummaries()).isEqualTo(summary.subList(6, 7));
+        assertThat(secondPage.hasNext()).isTrue();
+        assertThat(lastPage.hasNext()).isFalse();
+        assertThat(app.getSummary(10)).isEqualTo(summary);
+    }
+
+    @Test
+    void shouldReportRejectedTransitionsByResultInsteadOfThrowing() {
+        // given
+        app.addNewMission("Luna");
+        app.addNewMission("Mars");
+        app.addNewRocketToRepository("Dragon1");
+        app.addNewRocketToRepository("Dragon2");
+
+        // when, then
+        assertThat(app.tryAssignRocketToMission("Dragon3", "Luna")).isEqualTo(AssignmentResult.ROCKET_NOT_FOUND);
+        assertThat(app.tryAssignRocketToMission("Dragon1", "Venus")).isEqualTo(AssignmentResult.MISSION_NOT_FOUND);
+        assertThat(app.tryAssignRocketToMission("Dragon1", "Luna")).isEqualTo(AssignmentResult.ASSIGNED);
+        assertThat(app.tryAssignRocketToMission("Dragon1", "Mars")).isEqualTo(AssignmentResult.NOT_ASSIGNABLE);
+
+        assertThat(app.trySetRocketStatus("Dragon1", "Venus", RocketStatus.IN_REPAIR))
+                .isEqualTo(StatusChangeResult.MISSION_NOT_FOUND);
+        assertThat(app.trySetRocketStatus("Dragon3", "Luna", RocketStatus.IN_REPAIR))
+                .isEqualTo(StatusChangeResult.ROCKET_NOT_FOUND);
+        assertThat(app.trySetRocketStatus("Dragon2", "Luna", RocketStatus.IN_REPAIR))
+                .isEqualTo(StatusChangeResult.ROCKET_NOT_ASSIGNED);
+        assertThat(app.trySetRocketStatus("Dragon1", "Mars", RocketStatus.IN_REPAIR))
+                .isEqualTo(StatusChangeResult.ROCKET_ASSIGNED_TO_ANOTHER_MISSION);
+        assertThat(app.trySetRocketStatus("Dragon1", "Luna", RocketStatus.IN_SPACE))
+                .isEqualTo(StatusChangeResult.UNCHANGED);
+        assertThat(app.trySetRocketStatus("Dragon1", "Luna", RocketStatus.IN_REPAIR))
+                .isEqualTo(StatusChangeResult.CHANGED);
+        // PENDING mission with IN_REPAIR rocket only is left out of the summary
+        assertThat(app.getSummary()).extracting(MissionSummary::name).containsExactly("Mars");
+    }
+
+    @Test
+    void shouldApplyTransitionsByHandlesLikeByNames() {
+        // given
+        DragonRocketsApp appUsingNames = createApp();
+        for (DragonRocketsApp anyApp : List.of(app, appUsingNames)) {
+            anyApp.addNewMission("Luna");
+            anyApp.addNewMission("Mars");
+            anyApp.addNewRocketToRepository("Dragon1");
+            anyApp.addNewRocketToRepository("Dragon2");
+        }
+        RocketId dragon1 = app.getRocketId("Dragon1");
+        RocketId dragon2 = app.getRocketId("Dragon2");
+        MissionId luna = app.getMissionId("Luna");
+        MissionId mars = app.getMissionId("Mars");
+
+        // when
+        AssignmentResult firstAssignment = app.tryAssignRocketToMission(dragon1, luna);
+        AssignmentResult secondAssignment = app.tryAssignRocketToMission(dragon2, luna);
+        StatusChangeResult repair = app.trySetRocketStatus(dragon2, luna, RocketStatus.IN_REPAIR);
+        StatusChangeResult wrongMission = app.trySetRocketStatus(dragon1, mars, RocketStatus.ON_GROUND);
+        boolean ended = app.setMissionStatus(mars, MissionStatus.ENDED);
+        appUsingNames.assignRocketToMission("Dragon1", "Luna");
+        appUsingNames.assignRocketToMission("Dragon2", "Luna");
+        appUsingNames.setRocketStatus("Dragon2", "Luna", RocketStatus.IN_REPAIR);
+        appUsingNames.setMissionStatus("Mars", MissionStatus.ENDED);
+
+        // then
+        assertThat(firstAssignment).isEqualTo(AssignmentResult.ASSIGNED);
+        assertThat(secondAssignment).isEqualTo(AssignmentResult.ASSIGNED);
+        assertThat(repair).isEqualTo(StatusChangeResult.CHANGED);
+        assertThat(wrongMission).isEqualTo(StatusChangeResult.ROCKET_ASSIGNED_TO_ANOTHER_MISSION);
+        assertThat(ended).isTrue();
+        assertThat(app.getSummary()).isEqualTo(appUsingNames.getSummary());
+        assertThat(app.getRocketId("Dragon3")).isNull();
+        assertThat(app.getMissionId("Venus")).isNull();
+        assertThat(app.tryAssignRocketToMission(null, luna)).isEqualTo(AssignmentResult.ROCKET_NOT_FOUND);
+        assertThat(app.trySetRocketStatus(dragon1, null, RocketStatus.ON_GROUND))
+                .isEqualTo(StatusChangeResult.MISSION_NOT_FOUND);
+    }
+
+    @Test
+    void shouldAllocateAvailableRocketsToMissionUpToRequestedNumber() {
+        // given
+        app.addNewMission("Mars");
+        app.addNewMission("Luna");
+        app.addNewRockets(List.of("Dragon1", "Dragon2", "Dragon3", "Dragon4", "Dragon5"));
+        app.assignRocketToMission("Dragon1", "Mars");
+
+        // when
+        List<String> firstAllocation = app.allocateRockets("Luna", 3);
+        List<String> secondAllocation = app.allocateRockets("Luna", 5);
+
+        // then
+        assertThat(firstAllocation).containsExactly("Dragon2", "Dragon3", "Dragon4");
+        assertThat(secondAllocation).containsExactly("Dragon5");
+        assertThat(app.allocateRockets("Luna", 1)).isEmpty();
+        assertThat(app.allocateRockets("Luna", Integer.MAX_VALUE)).isEmpty();
+        assertThat(app.getSummary()).containsExactly(
+                new MissionSummary("Luna", "In progress", List.of(
+                        new RocketSummary("Dragon2", "In space"),
+                        new RocketSummary("Dragon3", "In space"),
+                        new RocketSummary("Dragon4", "In space"),
+                        new RocketSummary("Dragon5", "In space"))),
+                new MissionSummary("Mars", "In progress", List.of(new RocketSummary("Dragon1", "In space"))));
+        assertThatThrownBy(() -> app.allocateRockets("Venus", 1)).isInstanceOf(MissionNotFoundException.class);
+        assertThatThrownBy(() -> app.allocateRockets("Luna", -1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldAllocateAllAvailableRocketsWhenAskedForMoreThanThereAre() {
+        // given
+        app.addNewMission("Luna");
+        app.addNewRockets(List.of("Dragon1", "Dragon2", "Dragon3"));
+        app.assignRocketToMission("Dragon1", "Luna");
+
+        // when
+        List<String> allocated = app.allocateRockets("Luna", Integer.MAX_VALUE);
+
+        // then
+        assertThat(allocated).containsExactly("Dragon2", "Dragon3");
+        assertThat(app.allocateRockets("Luna", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldAllocateRocketsInOrderGivenByAllocationPolicy() {
+        // given
+        app.addNewMission("Mars");
+        app.addNewMission("Luna");
+        app.addNewRockets(List.of("Dragon1", "Dragon2", "Dragon3", "Dragon4"));
+        app.assignRocketToMission("Dragon1", "Mars");
+        app.assignRocketToMission("Dragon2", "Mars");
+        app.setRocketStatus("Dragon2", "Mars", RocketStatus.IN_REPAIR);
+        app.setRocketStatus("Dragon2", "Mars", RocketStatus.ON_GROUND);
+        app.setRocketStatus("Dragon1", "Mars", RocketStatus.ON_GROUND);
+        app.addNewRocketToRepository("Dragon5");
+
+        // when
+        List<String> preferInRepair = app.allocateRockets("Luna", 1, AllocationPolicy.PREFER_IN_REPAIR);
+        List<String> leastRecentlyFlown = app.allocateRockets("Luna", 2, AllocationPolicy.LEAST_RECENTLY_FLOWN);
+        List<String> fifo = app.allocateRockets("Luna", 2, AllocationPolicy.FIFO);
+
+        // then
+        assertThat(preferInRepair).containsExactly("Dragon2");
+        assertThat(leastRecentlyFlown).containsExactly("Dragon3", "Dragon4");
+        assertThat(fifo).containsExactly("Dragon1", "Dragon5");
+        assertThat(app.getSummary().get(0)).isEqualTo(new MissionSummary("Luna", "Pending", List.of(
+                new RocketSummary("Dragon1", "In space"),
+                new RocketSummary("Dragon3", "In space"),
+                new RocketSummary("Dragon4", "In space"),
+                new RocketSummary("Dragon5", "In space"))));
+    }
+
+    @Test
+    void shouldReuseSummariesOfMissionsAndRocketsNotChangedSinceLastSummary() throws IOException {
+        // given
+        app.addNewMission("Luna");
+        app.addNewMission("Mars");
+        List<String> lunaRocketNames = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            lunaRocketNames.add("Dragon" + i);
+        }
+        app.addNewRockets(lunaRocketNames);
+        app.addNewRockets(List.of("Falcon1", "Falcon2"));
+        app.assignRocketsToMission(lunaRocketNames, "Luna");
+        app.assignRocketsToMission(List.of("Falcon1", "Falcon2"), "Mars");
+        List<MissionSummary> firstSummary = app.getSummary();
+
+        // when
+        app.setRocketStatus("Falcon2", "Mars", RocketStatus.ON_GROUND);
+        List<MissionSummary> secondSummary = app.getSummary();
+        StringBuilder written = new StringBuilder();
+        app.writeSummary(written);
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        app.writeSummary(Channels.newChannel(encoded));
+
+        // then
+        assertThat(secondSummary.get(0)).isSameAs(firstSummary.get(0));
+        assertThat(secondSummary.get(1)).isNotSameAs(firstSummary.get(1));
+        assertThat(secondSummary.get(1).rocketSummaries())
+                .containsExactly(new RocketSummary("Falcon2", "On ground"), new RocketSummary("Falcon1", "In space"));
+        assertThat(secondSummary.get(1).rocketSummaries().get(1))
+                .isSameAs(firstSummary.get(1).rocketSummaries().get(0));
+        String expected = secondSummary.get(0) + System.lineSeparator() + secondSummary.get(1) + System.lineSeparator();
+        assertThat(written.toString()).isEqualTo(expected);
+        assertThat(encoded.toString(StandardCharsets.UTF_8)).isEqualTo(expected);
+    }
 }
@@ -0,0 +1,118 @@
+import dragonrockets.DragonRocketsApp;
+import dragonrockets.metrics.DragonRocketsMetrics;
+import dragonrockets.metrics.LatencyHistogram;
+import dragonrockets.metrics.MetricsSnapshot;
+import dragonrockets.metrics.Operation;
+import dragonrockets.mission.MissionStatus;
+import dragonrockets.rocket.RocketStatus;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class MetricsTest {
+
+    @Test
+    void shouldCountAndTimeOperationsOfApp() {
+        // given
+        DragonRocketsMetrics metrics = new DragonRocketsMetrics();
+        DragonRocketsApp app = DragonRocketsApp.builder().metrics(metrics).build();
+
+        // when
+        app.addNewMission("Luna");
+        app.addNewRocketToRepository("Dragon1");
+        app.addNewRocketToRepository("Dragon2");
+        app.assignRocketToMission("Dragon1", "Luna");
+        app.setRocketStatus("Dragon1", "Luna", RocketStatus.IN_REPAIR);
+        app.trySetRocketStatus("Dragon2", "Luna", RocketStatus.IN_SPACE);
+        app.getSummary();
+
+        // then
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertThat(snapshot.operations().get(Operation.ADD_MISSION).count()).isEqualTo(1);
+        assertThat(snapshot.operations().get(Operation.ADD_ROCKET).count()).isEqualTo(2);
+        assertThat(snapshot.operations().get(Operation.ASSIGN_ROCKET).count()).isEqualTo(1);
+        assertThat(snapshot.operations().get(Operation.SET_ROCKET_STATUS).count()).isEqualTo(2);
+        assertThat(snapshot.operations().get(Operation.SET_MISSION_STATUS).count()).isZero();
+        assertThat(snapshot.operations().get(Operation.GET_SUMMARY).count()).isEqualTo(1);
+        assertThat(snapshot.operations().get(Operation.ADD_ROCKET).maxNanos()).isPositive();
+    }
+
+    @Test
+    void shouldTrackNumbersOfRocketsAndMissionsByStatus() {
+        // given
+        DragonRocketsMetrics metrics = new DragonRocketsMetrics();
+        DragonRocketsApp app = DragonRocketsApp.builder().concurrent().metrics(metrics).build();
+
+        // when
+        app.addNewMission("Luna");
+        app.addNewMission("Mars");
+        app.addNewRocketToRepository("Dragon1");
+        app.addNewRocketToRepository("Dragon2");
+        app.assignRocketToMission("Dragon1", "Luna");
+        app.setRocketStatus("Dragon1", "Luna", RocketStatus.IN_REPAIR);
+        app.setMissionStatus("Mars", MissionStatus.ENDED);
+
+        // then
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertThat(snapshot.rocketsByStatus()).containsEntry(RocketStatus.ON_GROUND, 1L)
+                .containsEntry(RocketStatus.IN_SPACE, 0L)
+                .containsEntry(RocketStatus.IN_REPAIR, 1L);
+        assertThat(snapshot.missionsByStatus()).containsEntry(MissionStatus.SCHEDULED, 0L)
+                .containsEntry(MissionStatus.PENDING, 1L)
+                .containsEntry(MissionStatus.IN_PROGRESS, 0L)
+                .containsEntry(MissionStatus.ENDED, 1L);
+    }
+
+    @Test
+    void shouldReadPercentilesWithinHistogramPrecision() {
+        // given
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // when
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value);
+        }
+
+        // then
+        assertThat(histogram.getCount()).isEqualTo(100_000);
+        assertThat(histogram.getMean()).isEqualTo(50_000);
+        assertThat(histogram.getMax()).isEqualTo(100_000);
+        assertThat(histogram.getValueAtPercentile(50)).isBetween(50_000L, 50_000L + 50_000L / 16);
+        assertThat(histogram.getValueAtPercentile(99)).isBetween(99_000L, 100_000L);
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(100_000);
+        assertThat(new LatencyHistogram().getValueAtPercentile(99)).isZero();
+    }
+
+    @Test
+    void shouldExposeMetricsAsMBeansAndReportThemPeriodically() throws Exception {
+        // given
+        DragonRocketsMetrics metrics = new DragonRocketsMetrics();
+        DragonRocketsApp app = DragonRocketsApp.builder().metrics(metrics).build();
+        app.addNewMission("Luna");
+        app.addNewRocketToRepository("Dragon1");
+        CompletableFuture<MetricsSnapshot> reported = new CompletableFuture<>();
+
+        // when
+        metrics.registerMBeans("test");
+        metrics.startReporting(reported::complete, Duration.ofMillis(10));
+
+        // then
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName addRocket = new ObjectName("dragonrockets:type=Operation,app=\"test\",name=ADD_ROCKET");
+        ObjectName statusCounts = new ObjectName("dragonrockets:type=StatusCounts,app=\"test\"");
+        assertThat(server.getAttribute(addRocket, "Count")).isEqualTo(1L);
+        assertThat(server.getAttribute(statusCounts, "OnGroundRockets")).isEqualTo(1L);
+        assertThat(server.getAttribute(statusCounts, "ScheduledMissions")).isEqualTo(1L);
+        assertThat(reported.get(10, TimeUnit.SECONDS).operations().get(Operation.ADD_MISSION).count()).isEqualTo(1);
+
+        metrics.close();
+        assertThat(server.isRegistered(addRocket)).isFalse();
+    }
+}
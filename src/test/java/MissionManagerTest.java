@@ -0,0 +1,29 @@
+import dragonrockets.mission.Mission;
+import dragonrockets.mission.MissionManager;
+import dragonrockets.rocket.RocketRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class MissionManagerTest {
+
+    @Test
+    void shouldSplitMissionsForParallelStreams() {
+        // given
+        MissionManager missionManager = new MissionManager(new RocketRepository());
+        for (int i = 0; i < 100; i++) {
+            missionManager.addMission("Mission" + i);
+        }
+
+        // when
+        List<String> missionNames = StreamSupport.stream(missionManager.missionSpliterator(), true)
+                .map(Mission::getName)
+                .toList();
+
+        // then
+        assertThat(missionNames).hasSize(100).contains("Mission0", "Mission99");
+    }
+}
@@ -0,0 +1,193 @@
+import dragonrockets.DragonRocketsApp;
+import dragonrockets.mission.MissionId;
+import dragonrockets.mission.MissionStatus;
+import dragonrockets.mission.MissionSummary;
+import dragonrockets.persistence.LogRecord;
+import dragonrockets.persistence.PersistenceOptions;
+import dragonrockets.persistence.SyncMode;
+import dragonrockets.persistence.WriteAheadLog;
+import dragonrockets.rocket.RocketId;
+import dragonrockets.rocket.RocketStatus;
+import dragonrockets.rocket.StatusChangeResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class PersistentDragonRocketsAppTest {
+
+    private final Path directory;
+
+    public PersistentDragonRocketsAppTest() throws IOException {
+        directory = Files.createTempDirectory("dragon-rockets");
+    }
+
+    @AfterEach
+    void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    void shouldRecoverStateFromLogAfterRestart() {
+        // given
+        List<MissionSummary> summaryBeforeRestart;
+        try (DragonRocketsApp app = DragonRocketsApp.builder().persistence(directory).build()) {
+            runScenario(app);
+            summaryBeforeRestart = app.getSummary();
+        }
+
+        // when
+        try (DragonRocketsApp app = DragonRocketsApp.builder().persistence(directory).build()) {
+
+            // then
+            assertThat(app.getSummary()).isEqualTo(summaryBeforeRestart);
+            assertThat(app.addNewRocketToRepository("Dragon1")).isFalse();
+            assertThat(app.addNewMission("Mars")).isFalse();
+        }
+    }
+
+    @Test
+    void shouldLogTransitionsAppliedByHandles() {
+        // given
+        List<MissionSummary> summaryBeforeRestart;
+        try (DragonRocketsApp app = DragonRocketsApp.builder().persistence(directory).build()) {
+            app.addNewMission("Luna");
+            app.addNewRocketToRepository("Dragon1");
+            MissionId luna = app.getMissionId("Luna");
+            RocketId dragon1 = app.getRocketId("Dragon1");
+            app.tryAssignRocketToMission(dragon1, luna);
+            app.trySetRocketStatus(dragon1, luna, RocketStatus.IN_REPAIR);
+            summaryBeforeRestart = app.getSummary();
+        }
+
+        // when
+        try (DragonRocketsApp app = DragonRocketsApp.builder().persistence(directory).build()) {
+
+            // then
+            assertThat(app.getSummary()).isEqualTo(summaryBeforeRestart);
+            assertThat(app.trySetRocketStatus(app.getRocketId("Dragon1"), app.getMissionId("Luna"), RocketStatus.IN_REPAIR))
+                    .isEqualTo(StatusChangeResult.UNCHANGED);
+        }
+    }
+
+    @Test
+    void shouldRecoverStateFromSnapshotAndLogWrittenAfterIt() throws IOException {
+        // given
+        PersistenceOptions options = PersistenceOptions.defaults(directory).withSnapshotEveryRecords(5);
+        List<MissionSummary> summaryBeforeRestart;
+        try (DragonRocketsApp app = DragonRocketsApp.builder().persistence(options).build()) {
+            runScenario(app);
+            summaryBeforeRestart = app.getSummary();
+        }
+
+        // when
+        try (DragonRocketsApp app = DragonRocketsApp.builder().persistence(options).build()) {
+
+            // then
+            assertThat(filesStartingWith("snapshot-")).hasSize(1);
+            assertThat(app.getSummary()).isEqualTo(summaryBeforeRestart);
+            app.setRocketStatus("Dragon3", "Luna", RocketStatus.IN_SPACE);
+            assertThat(app.getSummary().get(0).rocketSummaries()).hasSize(2);
+        }
+    }
+
+    @Test
+    void shouldIgnoreTornRecordAtTheEndOfLog() throws IOException {
+        // given
+        try (DragonRocketsApp app = DragonRocketsApp.builder().persistence(directory).build()) {
+            app.addNewMission("Mars");
+            app.addNewRocketToRepository("Dragon1");
+            app.assignRocketToMission("Dragon1", "Mars");
+        }
+        Path segment = filesStartingWith("wal-").get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        // when
+        try (DragonRocketsApp app = DragonRocketsApp.builder().persistence(directory).build()) {
+
+            // then
+            assertThat(app.getSummary()).hasSize(1);
+            assertThat(app.getSummary().get(0).rocketSummaries()).isEmpty();
+            assertThat(app.assignRocketToMission("Dragon1", "Mars")).isTrue();
+        }
+
+        try (DragonRocketsApp app = DragonRocketsApp.builder().persistence(directory).build()) {
+            assertThat(app.getSummary().get(0).rocketSummaries()).hasSize(1);
+        }
+    }
+
+    @Test
+    void shouldSyncEverythingAppendedInAsyncModeWhenClosedWhileSyncerRuns() throws IOException {
+        for (int run = 0; run < 300; run++) {
+            // given
+            Path logDirectory = Files.createDirectory(directory.resolve("run-" + run));
+            WriteAheadLog writeAheadLog = new WriteAheadLog(logDirectory, 0, SyncMode.ASYNC, 1);
+            for (int i = 0; i < 100; i++) {
+                writeAheadLog.append(LogRecord.rocketAdded("Dragon" + i));
+            }
+
+            // when
+            writeAheadLog.close();
+
+            // then
+            List<LogRecord> replayed = new ArrayList<>();
+            assertThat(WriteAheadLog.replay(logDirectory, 0, replayed::add)).isEqualTo(100);
+            assertThat(replayed).last().isEqualTo(LogRecord.rocketAdded("Dragon99"));
+        }
+    }
+
+    @Test
+    void shouldFailAppendAndCloseOnceSyncingInAsyncModeHasFailed() throws IOException {
+        // given
+        WriteAheadLog writeAheadLog = new WriteAheadLog(directory, 0, SyncMode.ASYNC, 60_000);
+        long lsn = writeAheadLog.append(LogRecord.rocketAdded("Dragon1"));
+
+        // when
+        // Interrupted write closes the segment channel, as any failed sync would leave records unsynced
+        Thread.currentThread().interrupt();
+        Throwable syncFailure = catchThrowable(() -> writeAheadLog.awaitDurable(lsn));
+        Thread.interrupted();
+
+        // then
+        assertThat(syncFailure).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> writeAheadLog.append(LogRecord.rocketAdded("Dragon2")))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasRootCause(syncFailure);
+        assertThatThrownBy(() -> writeAheadLog.awaitDurable(lsn)).hasCause(syncFailure);
+        assertThatThrownBy(writeAheadLog::close).hasCause(syncFailure);
+    }
+
+    private void runScenario(DragonRocketsApp app) {
+        app.addNewMission("Mars");
+        app.addNewMission("Luna");
+        app.addNewRockets(List.of("Dragon1", "Dragon2", "Dragon3"));
+        app.assignRocketToMission("Dragon1", "Mars");
+        app.assignRocketsToMission(List.of("Dragon2", "Dragon3"), "Luna");
+        app.setRocketStatus("Dragon1", "Mars", RocketStatus.IN_REPAIR);
+        app.setRocketStatus("Dragon2", "Luna", RocketStatus.IN_SPACE);
+        app.setMissionStatus("Mars", MissionStatus.ENDED);
+    }
+
+    private List<Path> filesStartingWith(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(prefix)).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+import dragonrockets.rocket.BloomFilterRocketNameRegistry;
+import dragonrockets.rocket.FingerprintRocketNameRegistry;
+import dragonrockets.rocket.HashSetRocketNameRegistry;
+import dragonrockets.rocket.RocketNameRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class RocketNameRegistryTest {
+
+    private static final int NAMES = 100_000;
+
+    @Test
+    void shouldRegisterEveryNameOnlyOnceInFingerprintRegistry() {
+        // given, when, then
+        assertRegistersEveryNameOnlyOnce(new FingerprintRocketNameRegistry(16));
+    }
+
+    @Test
+    void shouldRegisterEveryNameOnlyOnceInBloomFilterRegistry() {
+        // given, when, then
+        assertRegistersEveryNameOnlyOnce(new BloomFilterRocketNameRegistry(NAMES / 10));
+    }
+
+    @Test
+    void shouldRegisterEveryNameOnlyOnceInHashSetRegistry() {
+        // given, when, then
+        assertRegistersEveryNameOnlyOnce(new HashSetRocketNameRegistry());
+    }
+
+    @Test
+    void shouldUseSeveralTimesLessMemoryPerNameWithFingerprintRegistriesThanWithHashSetRegistry() {
+        // given
+        RocketNameRegistry hashSetRegistry = new HashSetRocketNameRegistry();
+        RocketNameRegistry fingerprintRegistry = new FingerprintRocketNameRegistry();
+        RocketNameRegistry bloomFilterRegistry = new BloomFilterRocketNameRegistry(NAMES);
+
+        // when
+        for (int i = 0; i < NAMES; i++) {
+            hashSetRegistry.register("Dragon" + i);
+            fingerprintRegistry.register("Dragon" + i);
+            bloomFilterRegistry.register("Dragon" + i);
+        }
+
+        // then
+        assertThat(fingerprintRegistry.bytesPerName()).isLessThan(hashSetRegistry.bytesPerName() / 4);
+        assertThat(bloomFilterRegistry.bytesPerName()).isLessThan(hashSetRegistry.bytesPerName() / 4);
+    }
+
+    private static void assertRegistersEveryNameOnlyOnce(RocketNameRegistry registry) {
+        for (int i = 0; i < NAMES; i++) {
+            assertThat(registry.register("Dragon" + i)).isTrue();
+        }
+        for (int i = 0; i < NAMES; i++) {
+            assertThat(registry.register("Dragon" + i)).isFalse();
+            assertThat(registry.contains("Dragon" + i)).isTrue();
+        }
+        assertThat(registry.contains("Falcon")).isFalse();
+        assertThat(registry.size()).isEqualTo(NAMES);
+    }
+}
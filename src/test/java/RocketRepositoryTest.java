@@ -0,0 +1,88 @@
+import dragonrockets.event.TransitionEvent;
+import dragonrockets.mission.Mission;
+import dragonrockets.rocket.ColumnarRocketRepository;
+import dragonrockets.rocket.Repository;
+import dragonrockets.rocket.Rocket;
+import dragonrockets.rocket.RocketRepository;
+import dragonrockets.rocket.RocketStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class RocketRepositoryTest {
+
+    private static final int ROCKETS = 10_000;
+
+    @Test
+    void shouldTraverseColumnarRocketsWithoutCopiesSkippingRemovedOnes() {
+        // given
+        Repository repository = createRepository(new ColumnarRocketRepository());
+        repository.removeRocket(repository.getRocket("Dragon0"));
+
+        // when
+        List<String> rocketNames = new ArrayList<>();
+        repository.forEachRocket(rocket -> rocketNames.add(rocket.getName()));
+        Spliterator<Rocket> spliterator = repository.rocketSpliterator();
+        Spliterator<Rocket> prefix = spliterator.trySplit();
+
+        // then
+        assertThat(rocketNames).hasSize(ROCKETS - 1).doesNotContain("Dragon0").contains("Dragon9999");
+        assertThat(prefix).isNotNull();
+        assertThat(prefix.estimateSize() + spliterator.estimateSize()).isEqualTo(ROCKETS);
+        assertThat(StreamSupport.stream(repository.rocketSpliterator(), true).count()).isEqualTo(ROCKETS - 1);
+    }
+
+    @Test
+    void shouldSplitRocketsForParallelStreams() {
+        // given
+        Repository repository = createRepository(new RocketRepository());
+
+        // when
+        long rocketsOnGround = StreamSupport.stream(repository.rocketSpliterator(), true)
+                .filter(rocket -> rocket.getStatus() == RocketStatus.ON_GROUND)
+                .count();
+
+        // then
+        assertThat(rocketsOnGround).isEqualTo(ROCKETS);
+    }
+
+    @Test
+    void shouldStopListeningToRocketsWhenAllRocketsAreRemoved() {
+        // given
+        List<TransitionEvent> events = new ArrayList<>();
+        RocketRepository repository = new RocketRepository(events::add);
+        RocketRepository otherRepository = new RocketRepository();
+        Rocket rocket = new Rocket("Dragon0");
+        Mission mission = new Mission("Luna");
+        repository.addRocket(rocket);
+        rocket.setLastMission(mission);
+        repository.unassignAndRemoveAllRockets();
+        events.clear();
+
+        // when
+        rocket.setLastMission(mission);
+        rocket.setStatus(RocketStatus.IN_SPACE);
+        boolean added = otherRepository.addRocket(rocket);
+        rocket.setStatus(RocketStatus.IN_REPAIR);
+
+        // then
+        assertThat(repository.findRocketsByMission(mission)).isEmpty();
+        assertThat(events).isEmpty();
+        assertThat(added).isTrue();
+        assertThat(otherRepository.findRocketsByMission(mission)).containsExactly(rocket);
+        assertThat(otherRepository.getNumberOfRockets(RocketStatus.IN_REPAIR)).isEqualTo(1);
+        assertThat(otherRepository.getNumberOfRockets(RocketStatus.IN_SPACE)).isZero();
+    }
+
+    private static Repository createRepository(Repository repository) {
+        for (int i = 0; i < ROCKETS; i++) {
+            repository.addRocket(new Rocket("Dragon" + i));
+        }
+        return repository;
+    }
+}
@@ -0,0 +1,140 @@
+import dragonrockets.mission.MissionLocks;
+import dragonrockets.mission.MissionManager;
+import dragonrockets.rocket.AllocationPolicy;
+import dragonrockets.rocket.ColumnarRocketRepository;
+import dragonrockets.rocket.ConcurrentRocketRepository;
+import dragonrockets.rocket.Repository;
+import dragonrockets.rocket.Rocket;
+import dragonrockets.rocket.RocketRepository;
+import dragonrockets.rocket.RocketStatus;
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Status index of every repository implementation, rockets Dragon0..Dragon4 starting ON_GROUND
+public class RocketStatusIndexTest {
+
+    static Stream<Named<Repository>> repositories() {
+        return Stream.of(
+                Named.of("RocketRepository", new RocketRepository()),
+                Named.of("ConcurrentRocketRepository", new ConcurrentRocketRepository(new MissionLocks(4))),
+                Named.of("ColumnarRocketRepository", new ColumnarRocketRepository()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("repositories")
+    void shouldIndexRocketsByStatus(Repository repository) {
+        // given
+        MissionManager missionManager = createMissionManager(repository);
+
+        // when
+        missionManager.assignRocketToMission(repository.getRocket("Dragon0"), "Luna");
+        missionManager.assignRocketToMission(repository.getRocket("Dragon1"), "Luna");
+        missionManager.setRocketStatus(repository.getRocket("Dragon1"), "Luna", RocketStatus.IN_REPAIR);
+        repository.removeRocket(repository.getRocket("Dragon2"));
+
+        // then
+        assertThat(repository.getNumberOfRockets(RocketStatus.ON_GROUND)).isEqualTo(2);
+        assertThat(repository.getNumberOfRockets(RocketStatus.IN_SPACE)).isEqualTo(1);
+        assertThat(repository.getRockets(RocketStatus.IN_REPAIR)).extracting(Rocket::getName)
+                .containsExactly("Dragon1");
+    }
+
+    @ParameterizedTest
+    @MethodSource("repositories")
+    void shouldPreferLongestAvailableRockets(Repository repository) {
+        // given
+        MissionManager missionManager = createMissionManager(repository);
+        missionManager.assignRocketToMission(repository.getRocket("Dragon1"), "Luna");
+        missionManager.setRocketStatus(repository.getRocket("Dragon1"), "Luna", RocketStatus.IN_REPAIR);
+        missionManager.setRocketStatus(repository.getRocket("Dragon1"), "Luna", RocketStatus.ON_GROUND);
+
+        // when
+        Rocket first = repository.pollAvailable();
+        missionManager.assignRocketToMission(first, "Luna");
+
+        // then
+        assertThat(first.getName()).isEqualTo("Dragon0");
+        assertThat(repository.getNumberOfAvailableRockets()).isEqualTo(4);
+        assertThat(repository.getAvailableRockets()).extracting(Rocket::getName)
+                .containsExactly("Dragon2", "Dragon3", "Dragon4", "Dragon1");
+    }
+
+    @ParameterizedTest
+    @MethodSource("repositories")
+    void shouldRunOutOfAvailableRocketsOnceAllAreAssigned(Repository repository) {
+        // given
+        MissionManager missionManager = createMissionManager(repository);
+        missionManager.assignRocketToMission(repository.getRocket("Dragon0"), "Luna");
+        missionManager.setRocketStatus(repository.getRocket("Dragon0"), "Luna", RocketStatus.IN_REPAIR);
+
+        // when
+        for (Rocket rocket = repository.pollAvailable(); rocket != null; rocket = repository.pollAvailable()) {
+            missionManager.assignRocketToMission(rocket, "Luna");
+        }
+
+        // then
+        assertThat(repository.getNumberOfAvailableRockets()).isZero();
+        assertThat(repository.getNumberOfRockets(RocketStatus.IN_SPACE)).isEqualTo(4);
+        assertThat(repository.getNumberOfRockets(RocketStatus.IN_REPAIR)).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @MethodSource("repositories")
+    void shouldClearIndexWhenAllRocketsAreRemoved(Repository repository) {
+        // given
+        MissionManager missionManager = createMissionManager(repository);
+        missionManager.assignRocketToMission(repository.getRocket("Dragon0"), "Luna");
+
+        // when
+        repository.unassignAndRemoveAllRockets();
+
+        // then
+        assertThat(repository.getNumberOfRockets(RocketStatus.IN_SPACE)).isZero();
+        assertThat(repository.getNumberOfRockets(RocketStatus.ON_GROUND)).isZero();
+        assertThat(repository.getNumberOfAvailableRockets()).isZero();
+        assertThat(repository.pollAvailable()).isNull();
+    }
+
+    @ParameterizedTest
+    @MethodSource("repositories")
+    void shouldListAvailableRocketsInTheOrderTheyLanded(Repository repository) {
+        // given
+        MissionManager missionManager = createMissionManager(repository);
+        for (int i = 5; i < 40; i++) {
+            repository.addRocket(new Rocket("Dragon" + i));
+        }
+        List<String> landingOrder = new ArrayList<>();
+        for (int i = 39; i >= 0; i--) {
+            missionManager.assignRocketToMission(repository.getRocket("Dragon" + i), "Luna");
+        }
+
+        // when
+        for (int i = 0; i < 40; i++) {
+            String rocketName = "Dragon" + (i * 7 % 40);
+            missionManager.setRocketStatus(repository.getRocket(rocketName), "Luna", RocketStatus.ON_GROUND);
+            landingOrder.add(rocketName);
+        }
+
+        // then
+        assertThat(repository.getAvailableRockets()).extracting(Rocket::getName).containsExactlyElementsOf(landingOrder);
+        assertThat(repository.selectAvailableRockets(3, AllocationPolicy.LEAST_RECENTLY_FLOWN))
+                .extracting(Rocket::getName).containsExactlyElementsOf(landingOrder.subList(0, 3));
+        assertThat(repository.pollAvailable().getName()).isEqualTo(landingOrder.get(0));
+    }
+
+    private static MissionManager createMissionManager(Repository repository) {
+        MissionManager missionManager = new MissionManager(repository);
+        missionManager.addMission("Luna");
+        for (int i = 0; i < 5; i++) {
+            repository.addRocket(new Rocket("Dragon" + i));
+        }
+        return missionManager;
+    }
+}
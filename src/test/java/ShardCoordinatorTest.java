@@ -0,0 +1,220 @@
+import dragonrockets.DragonRocketsApp;
+import dragonrockets.exception.MissionNotFoundException;
+import dragonrockets.exception.RocketAssignedToAnotherMissionException;
+import dragonrockets.mission.AssignmentResult;
+import dragonrockets.mission.MissionStatus;
+import dragonrockets.mission.MissionSummary;
+import dragonrockets.mission.SummaryCursor;
+import dragonrockets.mission.SummaryPage;
+import dragonrockets.rocket.RocketStatus;
+import dragonrockets.rocket.StatusChangeResult;
+import dragonrockets.shard.LocalShard;
+import dragonrockets.shard.RemoteShard;
+import dragonrockets.shard.ShardCoordinator;
+import dragonrockets.shard.ShardRing;
+import dragonrockets.shard.ShardServer;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class ShardCoordinatorTest {
+
+    @Test
+    void shouldBehaveLikeSingleAppWhenRocketsMoveAcrossShards() {
+        // given
+        DragonRocketsApp app = new DragonRocketsApp();
+        ShardCoordinator coordinator = ShardCoordinator.inProcess(4);
+
+        // when
+        runSameScenario(app, coordinator, new Random(42), 2_000);
+
+        // then
+        assertThat(coordinator.getSummary()).isEqualTo(app.getSummary());
+        assertThat(coordinator.getSummary(7)).isEqualTo(app.getSummary(7));
+        assertThat(readAllPages(coordinator, 5)).isEqualTo(app.getSummary());
+        coordinator.close();
+    }
+
+    @Test
+    void shouldMoveRocketToMissionsShardAndRejectItWhileStillAssigned() {
+        // given
+        ShardCoordinator coordinator = ShardCoordinator.inProcess(8);
+        List<String> missions = List.of("Luna", "Mars", "Titan", "Europa", "Vesta", "Ceres", "Io", "Pluto");
+        missions.forEach(coordinator::addNewMission);
+        coordinator.addNewRocketToRepository("Dragon1");
+
+        // when
+        boolean assigned = coordinator.assignRocketToMission("Dragon1", "Luna");
+        AssignmentResult reassigned = coordinator.tryAssignRocketToMission("Dragon1", "Mars");
+        StatusChangeResult changedInOtherMission = coordinator.trySetRocketStatus("Dragon1", "Mars", RocketStatus.IN_REPAIR);
+        coordinator.setRocketStatus("Dragon1", "Luna", RocketStatus.ON_GROUND);
+        AssignmentResult movedAgain = coordinator.tryAssignRocketToMission("Dragon1", "Mars");
+
+        // then
+        assertThat(assigned).isTrue();
+        assertThat(reassigned).isEqualTo(AssignmentResult.NOT_ASSIGNABLE);
+        assertThat(changedInOtherMission).isEqualTo(StatusChangeResult.ROCKET_ASSIGNED_TO_ANOTHER_MISSION);
+        assertThatThrownBy(() -> coordinator.setRocketStatus("Dragon1", "Titan", RocketStatus.IN_REPAIR))
+                .isInstanceOf(RocketAssignedToAnotherMissionException.class)
+                .hasMessage("Rocket Dragon1 assigned to mission 'Mars', not to mission 'Titan'");
+        assertThat(movedAgain).isEqualTo(AssignmentResult.ASSIGNED);
+        assertThat(coordinator.getSummary()).filteredOn(summary -> summary.name().equals("Mars"))
+                .singleElement().satisfies(summary -> {
+                    assertThat(summary.status()).isEqualTo(MissionStatus.IN_PROGRESS.getSummaryForm());
+                    assertThat(summary.getRocketNumber()).isEqualTo(1);
+                });
+        assertThat(coordinator.tryAssignRocketToMission("Dragon2", "Mars")).isEqualTo(AssignmentResult.ROCKET_NOT_FOUND);
+        assertThat(coordinator.addNewRocketToRepository("Dragon1")).isFalse();
+        coordinator.close();
+    }
+
+    @Test
+    void shouldRunShardsBehindLoopbackTransport() throws IOException {
+        // given
+        DragonRocketsApp app = new DragonRocketsApp();
+        List<ShardServer> servers = new ArrayList<>();
+        List<RemoteShard> shards = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ShardServer server = new ShardServer(new LocalShard(), 0);
+            servers.add(server);
+            shards.add(new RemoteShard(server.getPort()));
+        }
+        ShardCoordinator coordinator = new ShardCoordinator(shards);
+
+        // when
+        runSameScenario(app, coordinator, new Random(7), 500);
+
+        // then
+        assertThat(coordinator.getSummary()).isEqualTo(app.getSummary());
+        assertThat(readAllPages(coordinator, 3)).isEqualTo(app.getSummary());
+        assertThatThrownBy(() -> coordinator.setMissionStatus("Unknown", MissionStatus.ENDED))
+                .isInstanceOf(MissionNotFoundException.class);
+        coordinator.addNewMission("Phobos");
+        coordinator.addNewMission("Deimos");
+        coordinator.addNewRocketToRepository("Remote-Dragon");
+        coordinator.assignRocketToMission("Remote-Dragon", "Phobos");
+        assertThatThrownBy(() -> coordinator.setRocketStatus("Remote-Dragon", "Deimos", RocketStatus.IN_REPAIR))
+                .isInstanceOf(RocketAssignedToAnotherMissionException.class)
+                .hasMessage("Rocket Remote-Dragon assigned to mission 'Phobos', not to mission 'Deimos'");
+        coordinator.close();
+        for (ShardServer server : servers) {
+            server.close();
+        }
+    }
+
+    @Test
+    void shouldRunShardsAsSeparateJvms() throws Exception {
+        // given
+        List<Process> processes = new ArrayList<>();
+        List<RemoteShard> shards = new ArrayList<>();
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        try {
+            for (int i = 0; i < 2; i++) {
+                Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                        ShardServer.class.getName()).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+                processes.add(process);
+                BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+                shards.add(new RemoteShard(Integer.parseInt(reader.readLine().trim())));
+            }
+            DragonRocketsApp app = new DragonRocketsApp();
+            ShardCoordinator coordinator = new ShardCoordinator(shards);
+
+            // when
+            runSameScenario(app, coordinator, new Random(3), 200);
+
+            // then
+            assertThat(coordinator.getSummary()).isEqualTo(app.getSummary());
+            coordinator.close();
+        } finally {
+            for (Process process : processes) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    @Test
+    void shouldMoveOnlyNamesTakenOverByAddedShard() {
+        // given
+        ShardRing eightShards = new ShardRing(8);
+        ShardRing nineShards = new ShardRing(9);
+        int names = 10_000;
+
+        // when
+        int moved = 0;
+        int[] perShard = new int[9];
+        for (int i = 0; i < names; i++) {
+            String name = "Mission" + i;
+            int newShard = nineShards.shardOf(name);
+            perShard[newShard]++;
+            if (eightShards.shardOf(name) != newShard) {
+                assertThat(newShard).isEqualTo(8);
+                moved++;
+            }
+        }
+
+        // then
+        assertThat(moved).isBetween(names / 9 / 2, names / 9 * 2);
+        for (int count : perShard) {
+            assertThat(count).isBetween(names / 9 / 2, names / 9 * 2);
+        }
+        assertThat(eightShards.shardOf("LUNA")).isEqualTo(eightShards.shardOf("luna"));
+    }
+
+    // Applies the same random transitions to both and verifies that every one of them has the same result
+    private static void runSameScenario(DragonRocketsApp app, ShardCoordinator coordinator, Random random, int steps) {
+        int rockets = 40;
+        int missions = 12;
+        for (int i = 0; i < missions; i++) {
+            assertThat(coordinator.addNewMission("Mission" + i)).isEqualTo(app.addNewMission("Mission" + i));
+        }
+        for (int i = 0; i < rockets; i++) {
+            assertThat(coordinator.addNewRocketToRepository("Dragon" + i))
+                    .isEqualTo(app.addNewRocketToRepository("Dragon" + i));
+        }
+        RocketStatus[] rocketStatuses = RocketStatus.values();
+        for (int step = 0; step < steps; step++) {
+            String rocketName = "Dragon" + random.nextInt(rockets + 1);
+            String missionName = "Mission" + random.nextInt(missions + 1);
+            int operation = random.nextInt(20);
+            if (operation < 9) {
+                assertThat(coordinator.tryAssignRocketToMission(rocketName, missionName))
+                        .isEqualTo(app.tryAssignRocketToMission(rocketName, missionName));
+            } else if (operation < 19) {
+                RocketStatus status = rocketStatuses[random.nextInt(rocketStatuses.length)];
+                assertThat(coordinator.trySetRocketStatus(rocketName, missionName, status))
+                        .isEqualTo(app.trySetRocketStatus(rocketName, missionName, status));
+            } else {
+                MissionStatus status = random.nextBoolean() ? MissionStatus.SCHEDULED : MissionStatus.ENDED;
+                boolean appMissionFound = app.getMissionId(missionName) != null;
+                if (appMissionFound) {
+                    assertThat(coordinator.setMissionStatus(missionName, status))
+                            .isEqualTo(app.setMissionStatus(missionName, status));
+                } else {
+                    assertThatThrownBy(() -> coordinator.setMissionStatus(missionName, status))
+                            .isInstanceOf(MissionNotFoundException.class);
+                }
+            }
+        }
+    }
+
+    private static List<MissionSummary> readAllPages(ShardCoordinator coordinator, int pageSize) {
+        List<MissionSummary> summaries = new ArrayList<>();
+        SummaryCursor cursor = null;
+        do {
+            SummaryPage page = coordinator.getSummaryPage(cursor, pageSize);
+            summaries.addAll(page.missionSummaries());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return summaries;
+    }
+}
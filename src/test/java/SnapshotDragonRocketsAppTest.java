@@ -0,0 +1,170 @@
+import dragonrockets.DragonRocketsApp;
+import dragonrockets.mission.Mission;
+import dragonrockets.mission.MissionStatus;
+import dragonrockets.mission.MissionSummary;
+import dragonrockets.mission.SummaryPage;
+import dragonrockets.persistence.MappedRocketRepository;
+import dragonrockets.persistence.MappedSnapshot;
+import dragonrockets.persistence.SnapshotDragonRocketsApp;
+import dragonrockets.rocket.Rocket;
+import dragonrockets.rocket.RocketStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class SnapshotDragonRocketsAppTest {
+
+    private final Path snapshotPath;
+
+    public SnapshotDragonRocketsAppTest() throws IOException {
+        snapshotPath = Files.createTempFile("dragon-rockets", ".bin");
+    }
+
+    @AfterEach
+    void deleteSnapshot() throws IOException {
+        Files.deleteIfExists(snapshotPath);
+    }
+
+    @Test
+    void shouldDecodeLargeSummaryInParallelInTheSameOrder() throws IOException {
+        // given
+        DragonRocketsApp app = new DragonRocketsApp();
+        for (int mission = 0; mission < 50; mission++) {
+            app.addNewMission("Mission" + mission);
+        }
+        // One large mission and many small ones, so partitions are split both by missions and by rockets
+        for (int rocket = 0; rocket < 60_000; rocket++) {
+            String rocketName = "Dragon" + rocket;
+            app.addNewRocketToRepository(rocketName);
+            app.assignRocketToMission(rocketName, rocket % 2 == 0 ? "Mission0" : "Mission" + rocket % 50);
+            if (rocket % 7 == 0) {
+                app.setRocketStatus(rocketName, rocket % 2 == 0 ? "Mission0" : "Mission" + rocket % 50,
+                        RocketStatus.ON_GROUND);
+            }
+        }
+        app.exportSnapshot(snapshotPath);
+        MappedSnapshot snapshot = MappedSnapshot.open(snapshotPath);
+
+        // when
+        ForkJoinPool parallelPool = new ForkJoinPool(4);
+        ForkJoinPool sequentialPool = new ForkJoinPool(1);
+        List<MissionSummary> parallelSummary = snapshot.getSummary(parallelPool);
+        List<MissionSummary> sequentialSummary = snapshot.getSummary(sequentialPool);
+        parallelPool.shutdown();
+        sequentialPool.shutdown();
+
+        // then
+        assertThat(parallelSummary).isEqualTo(app.getSummary());
+        assertThat(sequentialSummary).isEqualTo(parallelSummary);
+    }
+
+    @Test
+    void shouldServeSummaryAndRocketsFromSnapshotWithoutLoadingIt() throws IOException {
+        // given
+        DragonRocketsApp app = new DragonRocketsApp();
+        runScenario(app);
+        app.exportSnapshot(snapshotPath);
+
+        // when
+        MappedRocketRepository repository = MappedRocketRepository.open(snapshotPath);
+
+        // then
+        assertThat(repository.getSummary()).isEqualTo(app.getSummary());
+        assertThat(repository.getSummary(2)).isEqualTo(app.getSummary(2));
+        SummaryPage firstPage = repository.getSummaryPage(null, 2);
+        assertThat(firstPage).isEqualTo(app.getSummaryPage(2));
+        assertThat(repository.getSummaryPage(firstPage.nextCursor(), 2))
+                .isEqualTo(app.getSummaryPage(firstPage.nextCursor(), 2));
+        assertThat(repository.getNumberOfRockets()).isEqualTo(4);
+        Rocket rocket = repository.findRocket("Dragon2").orElseThrow();
+        assertThat(rocket.getStatus()).isEqualTo(RocketStatus.IN_SPACE);
+        assertThat(rocket.getLastMission().map(Mission::getName)).contains("Luna");
+        assertThat(repository.findRocket("Dragon5")).isEmpty();
+        assertThat(repository.findRocketsByMission(new Mission("luna")))
+                .extracting(Rocket::getName)
+                .containsExactlyInAnyOrder("Dragon2", "Dragon3");
+        assertThatThrownBy(() -> repository.addRocket(new Rocket("Dragon5")))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void shouldFindRocketsOfEveryMissionNamedAlikeInSnapshot() throws IOException {
+        // given
+        DragonRocketsApp app = new DragonRocketsApp();
+        app.addNewMission("MISSION-0");
+        app.addNewMission("Empty-Mission");
+        for (int mission = 0; mission < 100; mission++) {
+            app.addNewMission("Mission-" + mission);
+        }
+        List<String> missionZeroRockets = new ArrayList<>();
+        for (int rocket = 0; rocket < 1000; rocket++) {
+            String rocketName = "Dragon" + rocket;
+            String missionName = rocket % 250 == 0 ? "MISSION-0" : "Mission-" + rocket % 100;
+            app.addNewRocketToRepository(rocketName);
+            app.assignRocketToMission(rocketName, missionName);
+            if (missionName.equalsIgnoreCase("Mission-0")) {
+                missionZeroRockets.add(rocketName);
+            }
+        }
+        app.exportSnapshot(snapshotPath);
+
+        // when
+        MappedRocketRepository repository = MappedRocketRepository.open(snapshotPath);
+
+        // then
+        assertThat(repository.findRocketsByMission(new Mission("mission-0")))
+                .extracting(Rocket::getName)
+                .containsExactlyInAnyOrderElementsOf(missionZeroRockets);
+        assertThat(repository.findRocketsByMission(new Mission("Mission-42")))
+                .extracting(Rocket::getName)
+                .containsExactlyInAnyOrder("Dragon42", "Dragon142", "Dragon242", "Dragon342", "Dragon442",
+                        "Dragon542", "Dragon642", "Dragon742", "Dragon842", "Dragon942");
+        assertThat(repository.findRocketsByMission(new Mission("Empty-Mission"))).isEmpty();
+        assertThat(repository.findRocketsByMission(new Mission("Unknown"))).isEmpty();
+    }
+
+    @Test
+    void shouldContinueFromSnapshotOnceWarmedUp() {
+        // given
+        DragonRocketsApp app = new DragonRocketsApp();
+        runScenario(app);
+        app.exportSnapshot(snapshotPath);
+        List<MissionSummary> summary = app.getSummary();
+
+        // when
+        SnapshotDragonRocketsApp startedApp =
+                (SnapshotDragonRocketsApp) DragonRocketsApp.builder().fromSnapshot(snapshotPath).build();
+
+        // then
+        assertThat(startedApp.getSummary()).isEqualTo(summary);
+        assertThat(startedApp.addNewRocketToRepository("Dragon1")).isFalse();
+        assertThat(startedApp.isWarmedUp()).isTrue();
+        assertThat(startedApp.getSummary()).isEqualTo(summary);
+
+        startedApp.setRocketStatus("Dragon3", "Luna", RocketStatus.IN_SPACE);
+        app.setRocketStatus("Dragon3", "Luna", RocketStatus.IN_SPACE);
+        assertThat(startedApp.assignRocketToMission("Dragon4", "Mars")).isTrue();
+        app.assignRocketToMission("Dragon4", "Mars");
+        assertThat(startedApp.getSummary()).isEqualTo(app.getSummary());
+    }
+
+    private void runScenario(DragonRocketsApp app) {
+        app.addNewMission("Mars");
+        app.addNewMission("Luna");
+        app.addNewMission("Titan");
+        app.addNewRockets(List.of("Dragon1", "Dragon2", "Dragon3", "Dragon4"));
+        app.assignRocketToMission("Dragon1", "Mars");
+        app.assignRocketsToMission(List.of("Dragon2", "Dragon3"), "Luna");
+        app.setRocketStatus("Dragon1", "Mars", RocketStatus.IN_REPAIR);
+        app.setRocketStatus("Dragon2", "Luna", RocketStatus.IN_SPACE);
+        app.setMissionStatus("Titan", MissionStatus.ENDED);
+    }
+}
@@ -0,0 +1,106 @@
+import dragonrockets.DragonRocketsApp;
+import dragonrockets.mission.MissionSummary;
+import dragonrockets.rocket.RocketStatus;
+import dragonrockets.rocket.RocketSummary;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Runs all DragonRocketsAppTest scenarios against the summary read from published versions
+public class SnapshotReadsDragonRocketsAppTest extends DragonRocketsAppTest {
+
+    private static final int ROCKETS = 16;
+
+    @Override
+    protected DragonRocketsApp createApp() {
+        return DragonRocketsApp.builder().snapshotReads().build();
+    }
+
+    @Test
+    void shouldKeepReadSummaryUnchangedByLaterTransitions() {
+        // given
+        DragonRocketsApp app = createApp();
+        app.addNewMission("Luna");
+        app.addNewRocketToRepository("Dragon1");
+        app.assignRocketToMission("Dragon1", "Luna");
+        List<MissionSummary> summaryBefore = app.getSummary();
+
+        // when
+        app.setRocketStatus("Dragon1", "Luna", RocketStatus.ON_GROUND);
+        app.addNewMission("Mars");
+
+        // then
+        assertThat(summaryBefore).containsExactly(new MissionSummary("Luna", "In progress",
+                List.of(new RocketSummary("Dragon1", "In space"))));
+        assertThat(app.getSummary()).containsExactly(
+                new MissionSummary("Mars", "Scheduled", List.of()),
+                new MissionSummary("Luna", "Scheduled", List.of()));
+    }
+
+    @Test
+    void shouldNeverShowRocketInTwoMissionsOrInNoneWhileRocketsMoveBetweenMissions() throws Exception {
+        // given
+        DragonRocketsApp app = createApp();
+        app.addNewMission("Luna");
+        app.addNewMission("Mars");
+        // Rockets staying IN_SPACE keep both missions IN_PROGRESS, so grounded rockets are not unassigned
+        for (String missionName : List.of("Luna", "Mars")) {
+            app.addNewRocketToRepository("Anchor" + missionName);
+            app.assignRocketToMission("Anchor" + missionName, missionName);
+        }
+        for (int rocket = 0; rocket < ROCKETS; rocket++) {
+            app.addNewRocketToRepository("Dragon" + rocket);
+            app.assignRocketToMission("Dragon" + rocket, "Luna");
+        }
+        AtomicBoolean moving = new AtomicBoolean(true);
+
+        // when
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int writer = 0; writer < 2; writer++) {
+            int firstRocket = writer * ROCKETS / 2;
+            writers.add(executor.submit(() -> {
+                for (int round = 0; round < 2_000; round++) {
+                    String from = round % 2 == 0 ? "Luna" : "Mars";
+                    String to = round % 2 == 0 ? "Mars" : "Luna";
+                    for (int rocket = firstRocket; rocket < firstRocket + ROCKETS / 2; rocket++) {
+                        app.setRocketStatus("Dragon" + rocket, from, RocketStatus.ON_GROUND);
+                        app.assignRocketToMission("Dragon" + rocket, to);
+                    }
+                }
+            }));
+        }
+        List<Future<Integer>> readers = new ArrayList<>();
+        for (int reader = 0; reader < 2; reader++) {
+            readers.add(executor.submit(() -> {
+                int reads = 0;
+                while (moving.get()) {
+                    List<String> rocketNames = new ArrayList<>();
+                    for (MissionSummary missionSummary : app.getSummary()) {
+                        missionSummary.rocketSummaries().forEach(rocketSummary -> rocketNames.add(rocketSummary.name()));
+                    }
+                    assertThat(rocketNames).doesNotHaveDuplicates().hasSize(ROCKETS + 2);
+                    reads++;
+                }
+                return reads;
+            }));
+        }
+        for (Future<?> writer : writers) {
+            writer.get(60, TimeUnit.SECONDS);
+        }
+        moving.set(false);
+
+        // then
+        for (Future<Integer> reader : readers) {
+            assertThat(reader.get(30, TimeUnit.SECONDS)).isPositive();
+        }
+        executor.shutdown();
+        assertThat(app.getSummary()).extracting(MissionSummary::name).containsExactly("Luna", "Mars");
+        assertThat(app.getSummary().get(0).getRocketNumber()).isEqualTo(ROCKETS + 1);
+    }
+}
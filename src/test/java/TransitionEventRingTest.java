@@ -0,0 +1,198 @@
+import dragonrockets.DragonRocketsApp;
+import dragonrockets.event.OverflowPolicy;
+import dragonrockets.event.TransitionEvent;
+import dragonrockets.event.TransitionEventRing;
+import dragonrockets.mission.MissionStatus;
+import dragonrockets.rocket.RocketStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class TransitionEventRingTest {
+
+    @Test
+    void shouldPublishEveryTransitionOfAppInOrder() {
+        // given
+        TransitionEventRing ring = new TransitionEventRing(64, OverflowPolicy.DROP);
+        TransitionEventRing.Subscription subscription = ring.subscribe();
+        DragonRocketsApp app = DragonRocketsApp.builder().eventPublisher(ring).build();
+
+        // when
+        app.addNewMission("Luna");
+        app.addNewRocketToRepository("Dragon1");
+        app.assignRocketToMission("Dragon1", "Luna");
+        app.setRocketStatus("Dragon1", "Luna", RocketStatus.IN_REPAIR);
+        app.setMissionStatus("Luna", MissionStatus.ENDED);
+
+        // then
+        List<TransitionEvent> events = new ArrayList<>();
+        subscription.drain(events::add, Integer.MAX_VALUE);
+        assertThat(events).containsExactly(
+                new TransitionEvent.MissionCreated("Luna"),
+                new TransitionEvent.RocketCreated("Dragon1", RocketStatus.ON_GROUND),
+                new TransitionEvent.RocketAssigned("Dragon1", "Luna"),
+                new TransitionEvent.RocketStatusChanged("Dragon1", RocketStatus.ON_GROUND, RocketStatus.IN_SPACE),
+                new TransitionEvent.MissionStatusChanged("Luna", MissionStatus.SCHEDULED, MissionStatus.IN_PROGRESS),
+                new TransitionEvent.RocketStatusChanged("Dragon1", RocketStatus.IN_SPACE, RocketStatus.IN_REPAIR),
+                new TransitionEvent.MissionStatusChanged("Luna", MissionStatus.IN_PROGRESS, MissionStatus.PENDING),
+                new TransitionEvent.RocketUnassigned("Dragon1", "Luna"),
+                new TransitionEvent.MissionStatusChanged("Luna", MissionStatus.PENDING, MissionStatus.ENDED));
+        assertThat(subscription.poll()).isNull();
+    }
+
+    @Test
+    void shouldDropEventsNotFittingIntoRingUntilSlowestSubscriberCatchesUp() {
+        // given
+        TransitionEventRing ring = new TransitionEventRing(4, OverflowPolicy.DROP);
+        TransitionEventRing.Subscription slowSubscription = ring.subscribe();
+
+        // when
+        for (int i = 0; i < 6; i++) {
+            ring.publish(new TransitionEvent.MissionCreated("Mission" + i));
+        }
+        TransitionEvent firstEvent = slowSubscription.poll();
+        ring.publish(new TransitionEvent.MissionCreated("Mission6"));
+
+        // then
+        assertThat(ring.getDroppedEvents()).isEqualTo(2);
+        assertThat(firstEvent).isEqualTo(new TransitionEvent.MissionCreated("Mission0"));
+        List<TransitionEvent> events = new ArrayList<>();
+        slowSubscription.drain(events::add, Integer.MAX_VALUE);
+        assertThat(events).containsExactly(
+                new TransitionEvent.MissionCreated("Mission1"),
+                new TransitionEvent.MissionCreated("Mission2"),
+                new TransitionEvent.MissionCreated("Mission3"),
+                new TransitionEvent.MissionCreated("Mission6"));
+    }
+
+    @Test
+    void shouldKeepSpilledEventsForSubscribersInOrder() {
+        // given
+        TransitionEventRing ring = new TransitionEventRing(4, OverflowPolicy.SPILL);
+        TransitionEventRing.Subscription subscription = ring.subscribe();
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            ring.publish(new TransitionEvent.MissionCreated("Mission" + i));
+        }
+
+        // then
+        List<TransitionEvent> events = new ArrayList<>();
+        subscription.drain(events::add, Integer.MAX_VALUE);
+        assertThat(events).hasSize(10);
+        for (int i = 0; i < 10; i++) {
+            assertThat(events.get(i)).isEqualTo(new TransitionEvent.MissionCreated("Mission" + i));
+        }
+        assertThat(ring.getDroppedEvents()).isZero();
+    }
+
+    @Test
+    void shouldBlockPublishersUntilEverySubscriberReadsAllEvents() throws Exception {
+        // given
+        int publishers = 4;
+        int eventsPerPublisher = 1_000;
+        TransitionEventRing ring = new TransitionEventRing(8, OverflowPolicy.BLOCK);
+        List<TransitionEventRing.Subscription> subscriptions = List.of(ring.subscribe(), ring.subscribe());
+
+        // when
+        ExecutorService executor = Executors.newFixedThreadPool(publishers + subscriptions.size());
+        List<Future<?>> publishing = new ArrayList<>();
+        for (int publisher = 0; publisher < publishers; publisher++) {
+            String missionPrefix = "Mission" + publisher + "-";
+            publishing.add(executor.submit(() -> {
+                for (int i = 0; i < eventsPerPublisher; i++) {
+                    ring.publish(new TransitionEvent.MissionCreated(missionPrefix + i));
+                }
+            }));
+        }
+        List<Future<List<TransitionEvent>>> consuming = new ArrayList<>();
+        for (TransitionEventRing.Subscription subscription : subscriptions) {
+            consuming.add(executor.submit(() -> {
+                List<TransitionEvent> events = new ArrayList<>();
+                while (events.size() < publishers * eventsPerPublisher) {
+                    if (subscription.drain(events::add, 16) == 0) {
+                        Thread.onSpinWait();
+                    }
+                }
+                return events;
+            }));
+        }
+        for (Future<?> future : publishing) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+
+        // then
+        for (Future<List<TransitionEvent>> future : consuming) {
+            List<TransitionEvent> events = future.get(30, TimeUnit.SECONDS);
+            assertThat(events).doesNotHaveDuplicates().hasSize(publishers * eventsPerPublisher);
+            assertThat(events).contains(new TransitionEvent.MissionCreated("Mission3-999"));
+        }
+        executor.shutdown();
+        assertThat(ring.getDroppedEvents()).isZero();
+    }
+
+    @Test
+    void shouldNotLetPublishersOutrunSubscriptionsRegisteredWhilePublishing() throws Exception {
+        // given
+        int subscribers = 4;
+        int subscriptionsPerSubscriber = 500;
+        TransitionEventRing ring = new TransitionEventRing(4, OverflowPolicy.BLOCK);
+        AtomicInteger subscribersDone = new AtomicInteger();
+
+        // when
+        ExecutorService executor = Executors.newFixedThreadPool(subscribers + 1);
+        Future<?> publishing = executor.submit(() -> {
+            for (int i = 0; subscribersDone.get() < subscribers; i++) {
+                ring.publish(new TransitionEvent.MissionCreated("Mission" + i));
+            }
+        });
+        List<Future<List<String>>> gaps = new ArrayList<>();
+        for (int subscriber = 0; subscriber < subscribers; subscriber++) {
+            gaps.add(executor.submit(() -> {
+                List<String> subscriberGaps = new ArrayList<>();
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+                for (int subscription = 0; subscription < subscriptionsPerSubscriber; subscription++) {
+                    try (TransitionEventRing.Subscription newSubscription = ring.subscribe()) {
+                        int previous = -1;
+                        for (int read = 0; read < 2; ) {
+                            TransitionEvent event = newSubscription.poll();
+                            if (event == null) {
+                                if (System.nanoTime() > deadline) {
+                                    subscriberGaps.add("no event after " + previous);
+                                    break;
+                                }
+                                Thread.yield();
+                                continue;
+                            }
+                            int number = Integer.parseInt(((TransitionEvent.MissionCreated) event).missionName()
+                                    .substring("Mission".length()));
+                            if (previous != -1 && number != previous + 1) {
+                                subscriberGaps.add(previous + " -> " + number);
+                            }
+                            previous = number;
+                            read++;
+                        }
+                    }
+                }
+                subscribersDone.incrementAndGet();
+                return subscriberGaps;
+            }));
+        }
+
+        // then
+        for (Future<List<String>> future : gaps) {
+            assertThat(future.get(30, TimeUnit.SECONDS)).isEmpty();
+        }
+        publishing.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+        assertThat(ring.getDroppedEvents()).isZero();
+    }
+}
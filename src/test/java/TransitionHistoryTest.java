@@ -0,0 +1,158 @@
+import dragonrockets.DragonRocketsApp;
+import dragonrockets.event.TransitionEvent;
+import dragonrockets.history.MissionStatusDuration;
+import dragonrockets.history.MissionTransition;
+import dragonrockets.history.RocketTransition;
+import dragonrockets.history.TransitionHistory;
+import dragonrockets.mission.MissionStatus;
+import dragonrockets.rocket.RocketStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class TransitionHistoryTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final TransitionHistory history = new TransitionHistory(clock);
+    private final DragonRocketsApp app = DragonRocketsApp.builder().history(history).build();
+
+    @Test
+    void shouldRecordTimestampedTransitionsOfRocketsAndMissions() {
+        // given
+        app.addNewMission("Luna");
+        app.addNewRocketToRepository("Dragon1");
+        clock.advanceSeconds(10);
+        app.assignRocketToMission("Dragon1", "Luna");
+        clock.advanceSeconds(10);
+        app.setRocketStatus("Dragon1", "Luna", RocketStatus.IN_REPAIR);
+
+        // when
+        List<RocketTransition> rocketTransitions = history.getRocketTransitions("Dragon1", Instant.EPOCH, clock.instant().plusSeconds(1));
+        List<RocketTransition> missionRocketTransitions = history.getRocketTransitionsOfMission("Luna", time(5), time(25));
+        List<MissionTransition> missionTransitions = history.getMissionTransitions("Luna", time(10), time(11));
+
+        // then
+        assertThat(rocketTransitions).containsExactly(
+                new RocketTransition("Dragon1", null, null, RocketStatus.ON_GROUND, time(0)),
+                new RocketTransition("Dragon1", "Luna", RocketStatus.ON_GROUND, RocketStatus.IN_SPACE, time(10)),
+                new RocketTransition("Dragon1", "Luna", RocketStatus.IN_SPACE, RocketStatus.IN_REPAIR, time(20)));
+        assertThat(missionRocketTransitions).containsExactlyElementsOf(rocketTransitions.subList(1, 3));
+        assertThat(missionTransitions).containsExactly(
+                new MissionTransition("Luna", MissionStatus.SCHEDULED, MissionStatus.IN_PROGRESS, time(10)));
+        assertThat(history.getRocketTransitions("Dragon2", Instant.EPOCH, time(100))).isEmpty();
+    }
+
+    @Test
+    void shouldMeasureTimeSpentInStatusWithinWindow() {
+        // given
+        app.addNewMission("Luna");
+        app.addNewRocketToRepository("Dragon1");
+        app.assignRocketToMission("Dragon1", "Luna");
+        clock.advanceSeconds(100);
+        app.setRocketStatus("Dragon1", "Luna", RocketStatus.IN_REPAIR);
+        clock.advanceSeconds(30);
+        app.setRocketStatus("Dragon1", "Luna", RocketStatus.IN_SPACE);
+        clock.advanceSeconds(50);
+        app.setRocketStatus("Dragon1", "Luna", RocketStatus.IN_REPAIR);
+        clock.advanceSeconds(20);
+
+        // when
+        Duration wholeRepair = history.getRocketTimeInStatus("Dragon1", RocketStatus.IN_REPAIR, Instant.EPOCH, time(1_000));
+        Duration repairInWindow = history.getRocketTimeInStatus("Dragon1", RocketStatus.IN_REPAIR, time(110), time(190));
+        Duration spaceBeforeFirstRepair = history.getRocketTimeInStatus("Dragon1", RocketStatus.IN_SPACE, time(50), time(100));
+        Duration pending = history.getMissionTimeInStatus("Luna", MissionStatus.PENDING, Instant.EPOCH, time(1_000));
+
+        // then
+        assertThat(wholeRepair).isEqualTo(Duration.ofSeconds(50));
+        assertThat(repairInWindow).isEqualTo(Duration.ofSeconds(30));
+        assertThat(spaceBeforeFirstRepair).isEqualTo(Duration.ofSeconds(50));
+        assertThat(pending).isEqualTo(Duration.ofSeconds(50));
+    }
+
+    @Test
+    void shouldRankMissionsByTimeSpentPending() {
+        // given
+        for (String missionName : List.of("Luna", "Mars", "Titan")) {
+            app.addNewMission(missionName);
+            app.addNewRocketToRepository("Dragon" + missionName);
+            app.assignRocketToMission("Dragon" + missionName, missionName);
+            app.setRocketStatus("Dragon" + missionName, missionName, RocketStatus.IN_REPAIR);
+        }
+        clock.advanceSeconds(10);
+        app.setRocketStatus("DragonLuna", "Luna", RocketStatus.IN_SPACE);
+        clock.advanceSeconds(20);
+        app.setRocketStatus("DragonTitan", "Titan", RocketStatus.IN_SPACE);
+        clock.advanceSeconds(40);
+
+        // when
+        List<MissionStatusDuration> longest = history.getLongestMissionsInStatus(MissionStatus.PENDING, Instant.EPOCH, time(1_000), 2);
+
+        // then
+        assertThat(longest).containsExactly(
+                new MissionStatusDuration("Mars", Duration.ofSeconds(70)),
+                new MissionStatusDuration("Titan", Duration.ofSeconds(30)));
+    }
+
+    @Test
+    void shouldQueryTimeWindowsOfTransitionsSpanningManyChunks() {
+        // given
+        int rockets = 1_000;
+        int transitions = 50_000;
+        for (int i = 0; i < rockets; i++) {
+            history.publish(new TransitionEvent.RocketCreated("Dragon" + i, RocketStatus.ON_GROUND));
+        }
+        for (int i = 0; i < transitions; i++) {
+            clock.advanceSeconds(1);
+            RocketStatus from = i / rockets % 2 == 0 ? RocketStatus.ON_GROUND : RocketStatus.IN_REPAIR;
+            RocketStatus to = from == RocketStatus.ON_GROUND ? RocketStatus.IN_REPAIR : RocketStatus.ON_GROUND;
+            history.publish(new TransitionEvent.RocketStatusChanged("Dragon" + i % rockets, from, to));
+        }
+
+        // when
+        List<RocketTransition> window = history.getRocketTransitions(null, time(20_001), time(30_001));
+        List<RocketTransition> rocketWindow = history.getRocketTransitions("Dragon7", time(20_001), time(30_001));
+        Duration repair = history.getRocketTimeInStatus("Dragon7", RocketStatus.IN_REPAIR, Instant.EPOCH, time(50_000));
+
+        // then
+        assertThat(history.getNumberOfRocketTransitions()).isEqualTo(rockets + transitions);
+        assertThat(window).hasSize(10_000);
+        assertThat(window.get(0).time()).isEqualTo(time(20_001));
+        assertThat(window.get(9_999).time()).isEqualTo(time(30_000));
+        assertThat(rocketWindow).hasSize(10).allSatisfy(transition -> assertThat(transition.rocketName()).isEqualTo("Dragon7"));
+        assertThat(repair).isEqualTo(Duration.ofSeconds(25L * rockets));
+    }
+
+    private static Instant time(long seconds) {
+        return Instant.EPOCH.plusSeconds(seconds);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.EPOCH;
+
+        void advanceSeconds(long seconds) {
+            now = now.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}